@@ -0,0 +1,64 @@
+package com.example.quizapp.benchmark;
+
+import com.example.quizapp.service.interfaces.AnswerService;
+import com.example.quizapp.service.interfaces.QuestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code submitAnswer}: grading, the group-committed response insert and the session
+ * counter and summary updates. Every thread answers its own session's current question
+ * over and over, so the numbers include the batch writer's linger time; run with
+ * {@code -t} to see batching at work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AnswerBenchmark {
+
+    private QuizBenchmarkContext context;
+    private AnswerService answerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new QuizBenchmarkContext();
+        context.seedQuestions(1000);
+        answerService = context.bean(AnswerService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        private Long sessionId;
+
+        @Setup(Level.Trial)
+        public void setUp(AnswerBenchmark benchmark) {
+            sessionId = benchmark.context.startSession();
+            benchmark.context.bean(QuestionService.class).getNextQuestion(sessionId);
+        }
+    }
+
+    @Benchmark
+    public boolean submitAnswer(Session session) {
+        return answerService.submitAnswer(session.sessionId, "B");
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.quizapp.benchmark;
+
+import com.example.quizapp.codec.CompactFormatModule;
+import com.example.quizapp.dto.LatencyPercentilesDTO;
+import com.example.quizapp.dto.QuestionDTO;
+import com.example.quizapp.dto.QuizDashboardDTO;
+import com.example.quizapp.dto.QuizStatsDTO;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing the question, stats and dashboard responses as JSON (the default) and as
+ * CBOR with enum ordinals. Besides throughput, the {@code bytes} secondary result is the
+ * encoded size of one response, for comparing payload sizes between the two formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CompactFormatBenchmark {
+
+    public enum Format { JSON, CBOR }
+
+    public enum Response { QUESTION, STATS, DASHBOARD }
+
+    @Param({"JSON", "CBOR"})
+    private Format format;
+
+    @Param({"QUESTION", "STATS", "DASHBOARD"})
+    private Response response;
+
+    private ObjectWriter writer;
+    private Object value;
+
+    // Set once per iteration and reported as the benchmark's "bytes" secondary result
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper mapper = format == Format.JSON
+                ? new ObjectMapper()
+                : new ObjectMapper(new CBORFactory()).registerModule(new CompactFormatModule());
+        value = switch (response) {
+            case QUESTION -> question();
+            case STATS -> stats();
+            case DASHBOARD -> dashboard();
+        };
+        writer = mapper.writerFor(value.getClass());
+    }
+
+    @Setup(Level.Iteration)
+    public void measureSize(Size size) throws IOException {
+        size.bytes = writer.writeValueAsBytes(value).length;
+    }
+
+    @Benchmark
+    public byte[] serialize(Size size) throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    private static QuestionDTO question() {
+        QuestionDTO question = new QuestionDTO();
+        question.setQuestionId(12L);
+        question.setQuestionText("What is the capital of France?");
+        question.setOptionA("London");
+        question.setOptionB("Berlin");
+        question.setOptionC("Paris");
+        question.setOptionD("Madrid");
+        question.setCategory(Category.GEOGRAPHY);
+        question.setDifficulty(Difficulty.EASY);
+        question.setTimeLimit(20);
+        question.setTimestamp(System.currentTimeMillis());
+        return question;
+    }
+
+    private static QuizStatsDTO stats() {
+        QuizStatsDTO stats = new QuizStatsDTO();
+        stats.setTotalQuestions(40);
+        stats.setCorrectAnswers(29);
+        stats.setIncorrectAnswers(11);
+        stats.setAccuracyPercentage(72.5);
+        return stats;
+    }
+
+    // Every category and difficulty answered, as on a dashboard polled late in a session
+    private static QuizDashboardDTO dashboard() {
+        QuizDashboardDTO dashboard = new QuizDashboardDTO();
+        dashboard.setTotalSessions(1250);
+        dashboard.setQuestionsAttempted(40);
+        Map<String, Double> categoryAccuracy = new LinkedHashMap<>();
+        Map<String, LatencyPercentilesDTO> categoryResponseTimes = new LinkedHashMap<>();
+        for (Category category : Category.values()) {
+            categoryAccuracy.put(category.name(), 50.0 + category.ordinal() * 7.5);
+            categoryResponseTimes.put(category.name(), percentiles(category.ordinal()));
+        }
+        Map<String, LatencyPercentilesDTO> difficultyResponseTimes = new LinkedHashMap<>();
+        for (Difficulty difficulty : Difficulty.values()) {
+            difficultyResponseTimes.put(difficulty.name(), percentiles(difficulty.ordinal()));
+        }
+        dashboard.setCategoryAccuracy(categoryAccuracy);
+        dashboard.setOverallAccuracy(72.5);
+        dashboard.setBestCategory(Category.TECHNOLOGY.name());
+        dashboard.setBestDifficulty(Difficulty.EASY.name());
+        dashboard.setRecentPerformance("Good Start!");
+        dashboard.setRecentWindow(10);
+        dashboard.setRecentAccuracy(80.0);
+        dashboard.setCurrentStreak(3);
+        dashboard.setRecentTrend(10.0);
+        dashboard.setAverageResponseTime(6.4);
+        dashboard.setQuestionsAnsweredInTime(37);
+        dashboard.setTotalQuestionsWithTimer(40);
+        dashboard.setResponseTimePercentiles(percentiles(0));
+        dashboard.setCategoryResponseTimes(categoryResponseTimes);
+        dashboard.setDifficultyResponseTimes(difficultyResponseTimes);
+        return dashboard;
+    }
+
+    private static LatencyPercentilesDTO percentiles(int offset) {
+        LatencyPercentilesDTO percentiles = new LatencyPercentilesDTO();
+        percentiles.setCount(18_000 + offset);
+        percentiles.setP50(5_200 + offset * 100L);
+        percentiles.setP90(12_800 + offset * 100L);
+        percentiles.setP99(19_400 + offset * 100L);
+        return percentiles;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.quizapp.benchmark;
+
+import com.example.quizapp.cache.CachedSession;
+import com.example.quizapp.cache.SessionStore;
+import com.example.quizapp.dto.QuizDashboardDTO;
+import com.example.quizapp.model.QuizSession;
+import com.example.quizapp.service.interfaces.StatisticsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getDashboard} for a session with a given number of stored responses. The
+ * first call loads the session cold and seeds its history. {@code getDashboardCached}
+ * repeats the call at an unchanged session version, so it measures the cached dashboard;
+ * {@code getDashboardRebuilt} moves the version before every call, as an answer would,
+ * so each call builds the dashboard again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DashboardBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int responses;
+
+    private QuizBenchmarkContext context;
+    private StatisticsService statisticsService;
+    private Long sessionId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new QuizBenchmarkContext();
+        context.seedQuestions(1000);
+        sessionId = context.startSession();
+        context.seedResponses(sessionId, responses);
+        statisticsService = context.bean(StatisticsService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public QuizDashboardDTO getDashboardCached() {
+        return statisticsService.getDashboard(sessionId);
+    }
+
+    @Benchmark
+    public QuizDashboardDTO getDashboardRebuilt(StaleDashboard stale) {
+        return statisticsService.getDashboard(sessionId);
+    }
+
+    @State(Scope.Thread)
+    public static class StaleDashboard {
+
+        // Bumps the version without recording an answer, so the data stays the same size
+        @Setup(Level.Invocation)
+        public void invalidate(DashboardBenchmark benchmark) {
+            CachedSession cached = benchmark.context.bean(SessionStore.class).peek(benchmark.sessionId);
+            if (cached != null) {
+                QuizSession session = cached.getSession();
+                synchronized (cached) {
+                    session.setVersion(session.getVersion() + 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.quizapp.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.example.quizapp.logging.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-answer INFO line from {@code AnswerServiceImpl}, logged by several threads to
+ * a file appender the way the default configuration does (synchronously, flushing every
+ * event), through an async appender, and through an async appender behind the sampling
+ * filter of the {@code async-logging} profile. Uses its own logback context rather than
+ * the application's, so only the logging path is measured.
+ *
+ * <p>Once an async queue is 80% full it drops INFO lines instead of blocking, so when
+ * the writer cannot keep up part of the {@code ASYNC} score is lines that were dropped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(4)
+public class LoggingBenchmark {
+
+    public enum LoggingMode { SYNC, ASYNC, ASYNC_SAMPLED }
+
+    @Param({"SYNC", "ASYNC", "ASYNC_SAMPLED"})
+    private LoggingMode mode;
+
+    @Param({"100"})
+    private int sampleRate;
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private Path logFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("quiz-logging-benchmark", ".log");
+        loggerContext = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setFile(logFile.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (mode != LoggingMode.SYNC) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        if (mode == LoggingMode.ASYNC_SAMPLED) {
+            SamplingTurboFilter filter = new SamplingTurboFilter();
+            filter.setContext(loggerContext);
+            filter.setLoggerPrefixes("com.example.quizapp.service.impl");
+            filter.setSampleRate(sampleRate);
+            filter.start();
+            loggerContext.addTurboFilter(filter);
+        }
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+        logger = loggerContext.getLogger("com.example.quizapp.service.impl.AnswerServiceImpl");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        loggerContext.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void answerSubmittedLine() {
+        long sessionId = ThreadLocalRandom.current().nextLong(1_000_000);
+        logger.info("Answer submitted for session {}: correct={}, total={}, correct={}",
+                sessionId, true, 10, 7);
+    }
+}
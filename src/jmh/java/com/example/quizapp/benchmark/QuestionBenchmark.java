@@ -0,0 +1,57 @@
+package com.example.quizapp.benchmark;
+
+import com.example.quizapp.dto.QuestionDTO;
+import com.example.quizapp.service.interfaces.QuestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getNextQuestion} for one session: a deck draw from the in-memory bank plus the
+ * current-question update, across bank sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class QuestionBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int bankSize;
+
+    private QuizBenchmarkContext context;
+    private QuestionService questionService;
+    private Long sessionId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new QuizBenchmarkContext();
+        context.seedQuestions(bankSize);
+        questionService = context.bean(QuestionService.class);
+        sessionId = context.startSession();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public QuestionDTO getNextQuestion() {
+        return questionService.getNextQuestion(sessionId);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.quizapp.benchmark;
+
+import com.example.quizapp.cache.QuestionPayload;
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.dto.QuestionDTO;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The body of a {@code /question} response, built the way it used to be (a new
+ * {@code QuestionDTO} serialized by Jackson) and written from the question's pre-encoded
+ * payload. Both write to a discarding stream, so the {@code gc} profiler's
+ * {@code gc.alloc.rate.norm} is the per-response allocation of the body alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class QuestionPayloadBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OutputStream body = OutputStream.nullOutputStream();
+
+    private QuestionSnapshot question;
+    private QuestionPayload payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        question = new QuestionSnapshot(12L, "What is the capital of France?",
+                "London", "Berlin", "Paris", "Madrid", "C", Difficulty.EASY, Category.GEOGRAPHY, 20);
+        QuestionDTO dto = toDto(question);
+        dto.setTimestamp(QuestionPayload.TIMESTAMP_PLACEHOLDER);
+        payload = QuestionPayload.of(question, objectMapper.writeValueAsBytes(dto));
+    }
+
+    @Benchmark
+    public void dtoWithJackson() throws IOException {
+        QuestionDTO dto = toDto(question);
+        dto.setTimestamp(System.currentTimeMillis());
+        objectMapper.writeValue(body, dto);
+    }
+
+    @Benchmark
+    public void preEncodedPayload() throws IOException {
+        payload.writeTo(body, System.currentTimeMillis());
+    }
+
+    private static QuestionDTO toDto(QuestionSnapshot question) {
+        QuestionDTO dto = new QuestionDTO();
+        dto.setQuestionId(question.id());
+        dto.setQuestionText(question.questionText());
+        dto.setOptionA(question.optionA());
+        dto.setOptionB(question.optionB());
+        dto.setOptionC(question.optionC());
+        dto.setOptionD(question.optionD());
+        dto.setCategory(question.category());
+        dto.setDifficulty(question.difficulty());
+        dto.setTimeLimit(question.timeLimit());
+        return dto;
+    }
+}
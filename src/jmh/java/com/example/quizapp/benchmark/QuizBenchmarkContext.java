@@ -0,0 +1,111 @@
+package com.example.quizapp.benchmark;
+
+import com.example.quizapp.QuizAppJavaApplication;
+import com.example.quizapp.cache.SessionStore;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import com.example.quizapp.service.interfaces.SessionService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The application's Spring context on its own in-memory H2 database, with helpers that
+ * seed questions and responses through plain JDBC so large fixtures load in seconds.
+ */
+final class QuizBenchmarkContext implements AutoCloseable {
+
+    private static final int INSERT_CHUNK = 10_000;
+    // Seeded responses take ids far above the ones the application allocates
+    private static final long SEEDED_RESPONSE_ID_BASE = 1_000_000_000L;
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+
+    QuizBenchmarkContext() {
+        context = new SpringApplicationBuilder(QuizAppJavaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.quizapp=WARN",
+                        "logging.file.name=",
+                        "quiz.counters.reconcile-ms=3600000")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Replaces the sample questions with {@code count} generated ones spread over every
+     * category and difficulty, and reloads the question bank.
+     */
+    void seedQuestions(int count) {
+        jdbcTemplate.update("DELETE FROM questions");
+        Category[] categories = Category.values();
+        Difficulty[] difficulties = Difficulty.values();
+        List<Object[]> rows = new ArrayList<>(Math.min(count, INSERT_CHUNK));
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {"Question " + i, "A" + i, "B" + i, "C" + i, "D" + i, "B" + i,
+                    difficulties[i % difficulties.length].name(), categories[i % categories.length].name()});
+            if (rows.size() == INSERT_CHUNK || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO questions (question_text, optiona, optionb, optionc, optiond, "
+                        + "correct_answer, difficulty, category, time_limit) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 20)", rows);
+                rows.clear();
+            }
+        }
+        bean(QuestionBankService.class).refresh();
+    }
+
+    Long startSession() {
+        return bean(SessionService.class).startNewSession().getSessionId();
+    }
+
+    /**
+     * Gives a session {@code count} stored responses with matching summary rows and
+     * counters, then drops it from the session store so the next request loads it cold.
+     */
+    void seedResponses(Long sessionId, int count) {
+        List<Long> questionIds = jdbcTemplate.queryForList("SELECT id FROM questions ORDER BY id", Long.class);
+        List<Object[]> rows = new ArrayList<>(Math.min(count, INSERT_CHUNK));
+        int correct = 0;
+        for (int i = 0; i < count; i++) {
+            boolean isCorrect = i % 3 != 0;
+            correct += isCorrect ? 1 : 0;
+            rows.add(new Object[] {SEEDED_RESPONSE_ID_BASE + sessionId * 1_000_000L + i, sessionId,
+                    questionIds.get(i % questionIds.size()), isCorrect ? "B" : "A", isCorrect, 5 + i % 25});
+            if (rows.size() == INSERT_CHUNK || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO user_responses (id, session_id, question_id, user_answer, "
+                        + "correct, answered_at, response_time) VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP, ?)", rows);
+                rows.clear();
+            }
+        }
+        for (String dimension : List.of("category", "difficulty")) {
+            jdbcTemplate.update("INSERT INTO session_aggregates (session_id, dimension, bucket, total, correct, "
+                    + "timed, response_time_ms_sum, in_time) SELECT r.session_id, '" + dimension.toUpperCase()
+                    + "', q." + dimension + ", COUNT(*), SUM(CASE WHEN r.correct THEN 1 ELSE 0 END), "
+                    + "COUNT(r.response_time), SUM(r.response_time) * 1000, "
+                    + "SUM(CASE WHEN r.response_time <= q.time_limit THEN 1 ELSE 0 END) "
+                    + "FROM user_responses r JOIN questions q ON q.id = r.question_id "
+                    + "WHERE r.session_id = ? GROUP BY r.session_id, q." + dimension, sessionId);
+        }
+        jdbcTemplate.update("UPDATE quiz_sessions SET total_questions = ?, correct_answers = ? WHERE id = ?",
+                count, correct, sessionId);
+        bean(SessionStore.class).evict(sessionId);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.quizapp.benchmark;
+
+import com.example.quizapp.cache.SessionStore;
+import com.example.quizapp.model.QuizSession;
+import com.example.quizapp.service.interfaces.SessionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code validateAndUpdateSession}, which every endpoint calls first: served from the
+ * session store, and cold after the session was dropped from it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SessionBenchmark {
+
+    private QuizBenchmarkContext context;
+    private SessionService sessionService;
+    private SessionStore sessionStore;
+    private Long sessionId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new QuizBenchmarkContext();
+        sessionService = context.bean(SessionService.class);
+        sessionStore = context.bean(SessionStore.class);
+        sessionId = context.startSession();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public QuizSession validateWarm() {
+        return sessionService.validateAndUpdateSession(sessionId);
+    }
+
+    @Benchmark
+    public QuizSession validateCold() {
+        sessionStore.evict(sessionId);
+        return sessionService.validateAndUpdateSession(sessionId);
+    }
+}
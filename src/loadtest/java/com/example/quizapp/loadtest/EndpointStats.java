@@ -0,0 +1,59 @@
+package com.example.quizapp.loadtest;
+
+import com.example.quizapp.cache.LatencyHistogram;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side latencies and failures of one endpoint. Only successful calls go into the
+ * histogram; failures are counted and the first few kept for the report.
+ */
+final class EndpointStats {
+
+    private static final int SAMPLED_ERRORS = 5;
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong maxMillis = new AtomicLong();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger sampled = new AtomicInteger();
+    private final Queue<String> errorSamples = new ConcurrentLinkedQueue<>();
+
+    void recordSuccess(long elapsedNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        latencies.record(millis);
+        maxMillis.accumulateAndGet(millis, Math::max);
+    }
+
+    void recordError(String message) {
+        errors.increment();
+        if (sampled.getAndIncrement() < SAMPLED_ERRORS) {
+            errorSamples.add(message);
+        }
+    }
+
+    long successes() {
+        return latencies.count();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long percentile(double percentile) {
+        return latencies.percentile(percentile);
+    }
+
+    long maxMillis() {
+        return maxMillis.get();
+    }
+
+    List<String> errorSamples() {
+        return List.copyOf(errorSamples);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.quizapp.loadtest;
+
+/**
+ * Shapes of load the harness can drive. The defaults below apply unless
+ * {@code loadtest.ramp-seconds} or {@code loadtest.think-ms} override them.
+ */
+enum LoadScenario {
+    /** Session starts spread over a ramp, with think time between a session's calls. */
+    CONCURRENT(10, 100),
+    /** Every session starts at the same instant and answers as fast as it can. */
+    LAUNCH_BURST(0, 0);
+
+    private final int defaultRampSeconds;
+    private final long defaultThinkMillis;
+
+    LoadScenario(int defaultRampSeconds, long defaultThinkMillis) {
+        this.defaultRampSeconds = defaultRampSeconds;
+        this.defaultThinkMillis = defaultThinkMillis;
+    }
+
+    int defaultRampSeconds() {
+        return defaultRampSeconds;
+    }
+
+    long defaultThinkMillis() {
+        return defaultThinkMillis;
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.quizapp.loadtest;
+
+import com.example.quizapp.QuizAppJavaApplication;
+import com.example.quizapp.dto.QuizStatsDTO;
+import com.example.quizapp.loadtest.QuizClient.Endpoint;
+import com.example.quizapp.service.interfaces.GlobalCounterService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the application on a random port with its own in-memory H2 database and drives
+ * quiz sessions against the REST API over non-blocking HTTP, so thousands of sessions
+ * are in flight without a thread each. Every session starts, answers its questions and
+ * reads its stats; afterwards the counters the clients saw confirmed are checked against
+ * the stats endpoint, the quiz_sessions and user_responses rows and the global counters.
+ * Exits with status 1 when any call failed or any counter lost an update. With
+ * {@code loadtest.threads=BOTH} the scenario runs once on platform and once on virtual
+ * threads and the overall throughputs are printed side by side.
+ */
+public final class LoadTestHarness {
+
+    private static final String[] ANSWERS = {"A", "B", "C", "D"};
+    private static final int REPORTED_LOST_UPDATES = 20;
+
+    private final LoadTestOptions options;
+    private final ThreadMode mode;
+    private final QuizClient client;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final GlobalCounterService globalCounterService;
+    private final Queue<SessionTally> tallies = new ConcurrentLinkedQueue<>();
+    private double throughput;
+
+    private LoadTestHarness(ConfigurableApplicationContext context, LoadTestOptions options, ThreadMode mode) {
+        this.options = options;
+        this.mode = mode;
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        this.client = new QuizClient(
+                context.getEnvironment().getRequiredProperty("local.server.port", Integer.class), objectMapper);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.globalCounterService = context.getBean(GlobalCounterService.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        boolean passed = true;
+        Map<ThreadMode, Double> throughputs = new LinkedHashMap<>();
+        for (ThreadMode mode : options.threads().runs()) {
+            if (mode == ThreadMode.VIRTUAL && Runtime.version().feature() < 21) {
+                System.out.println("Virtual threads need Java 21 or later; skipping the VIRTUAL run");
+                continue;
+            }
+            try (ConfigurableApplicationContext context = boot(mode)) {
+                LoadTestHarness harness = new LoadTestHarness(context, options, mode);
+                passed &= harness.run();
+                throughputs.put(mode, harness.throughput);
+            }
+        }
+        if (throughputs.size() > 1) {
+            System.out.printf("%nThroughput by thread mode (requests/s, all endpoints): %s%n", throughputs);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    // Defaults only: -D system properties (e.g. server.tomcat.threads.max) take precedence
+    private static ConfigurableApplicationContext boot(ThreadMode mode) {
+        return new SpringApplicationBuilder(QuizAppJavaApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000",
+                        "spring.threads.virtual.enabled=" + (mode == ThreadMode.VIRTUAL),
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.quizapp=WARN",
+                        "logging.file.name=",
+                        "quiz.counters.reconcile-ms=3600000")
+                .run();
+    }
+
+    private boolean run() throws Exception {
+        long sessionsBefore = globalCounterService.getTotalSessions();
+        long answersBefore = globalCounterService.getTotalAnswers();
+        long rampNanos = TimeUnit.SECONDS.toNanos(options.rampSeconds());
+
+        long started = System.nanoTime();
+        List<CompletableFuture<Void>> sessions = new ArrayList<>(options.sessions());
+        for (int i = 0; i < options.sessions(); i++) {
+            long delayNanos = rampNanos * i / options.sessions();
+            sessions.add(after(delayNanos, TimeUnit.NANOSECONDS).thenCompose(v -> runSession()));
+        }
+        CompletableFuture.allOf(sessions.toArray(CompletableFuture[]::new))
+                .get(options.timeoutSeconds(), TimeUnit.SECONDS);
+        long elapsedNanos = System.nanoTime() - started;
+
+        List<String> lostUpdates = verify(sessionsBefore, answersBefore);
+        long errors = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            errors += client.statsFor(endpoint).errors();
+        }
+        report(elapsedNanos, lostUpdates);
+        return errors == 0 && lostUpdates.isEmpty();
+    }
+
+    // Never completes exceptionally: failures are counted by the client and mark the tally
+    private CompletableFuture<Void> runSession() {
+        return client.start()
+                .thenCompose(sessionId -> {
+                    SessionTally tally = new SessionTally(sessionId);
+                    tallies.add(tally);
+                    List<CompletableFuture<Void>> clients = new ArrayList<>(options.clientsPerSession());
+                    for (int c = 0; c < options.clientsPerSession(); c++) {
+                        clients.add(answerRounds(tally, options.questionsPerSession()));
+                    }
+                    return CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new))
+                            .thenCompose(v -> client.stats(sessionId))
+                            .handle((QuizStatsDTO stats, Throwable failure) -> {
+                                tally.finish(failure == null ? stats : null);
+                                return null;
+                            });
+                })
+                .handle((v, failure) -> null);
+    }
+
+    private CompletableFuture<Void> answerRounds(SessionTally tally, int remaining) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.question(tally.sessionId)
+                .thenCompose(question -> pause())
+                .thenCompose(v -> client.submit(tally.sessionId,
+                        ANSWERS[ThreadLocalRandom.current().nextInt(ANSWERS.length)]))
+                .thenAccept(tally::recordAnswer)
+                .thenCompose(v -> pause())
+                .thenCompose(v -> answerRounds(tally, remaining - 1));
+    }
+
+    private CompletableFuture<Void> pause() {
+        return options.thinkMillis() > 0
+                ? after(options.thinkMillis(), TimeUnit.MILLISECONDS)
+                : CompletableFuture.completedFuture(null);
+    }
+
+    private static CompletableFuture<Void> after(long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, unit));
+    }
+
+    /**
+     * Compares what the clients saw confirmed with what the server kept. Sessions with a
+     * failed call are skipped, since the server may or may not have applied that call.
+     */
+    private List<String> verify(long sessionsBefore, long answersBefore) {
+        Map<Long, int[]> storedCounters = new HashMap<>();
+        jdbcTemplate.query("SELECT id, total_questions, correct_answers FROM quiz_sessions", rs -> {
+            storedCounters.put(rs.getLong(1), new int[] {rs.getInt(2), rs.getInt(3)});
+        });
+        Map<Long, Long> storedResponses = new HashMap<>();
+        jdbcTemplate.query("SELECT session_id, COUNT(*) FROM user_responses GROUP BY session_id", rs -> {
+            storedResponses.put(rs.getLong(1), rs.getLong(2));
+        });
+
+        List<String> lostUpdates = new ArrayList<>();
+        for (SessionTally tally : tallies) {
+            if (tally.failed) {
+                continue;
+            }
+            int answered = tally.answered.get();
+            int correct = tally.correct.get();
+            QuizStatsDTO stats = tally.finalStats;
+            if (stats.getTotalQuestions() != answered || stats.getCorrectAnswers() != correct) {
+                lostUpdates.add(mismatch(tally, "/stats", answered, correct,
+                        stats.getTotalQuestions(), stats.getCorrectAnswers()));
+            }
+            int[] stored = storedCounters.getOrDefault(tally.sessionId, new int[2]);
+            if (stored[0] != answered || stored[1] != correct) {
+                lostUpdates.add(mismatch(tally, "quiz_sessions", answered, correct, stored[0], stored[1]));
+            }
+            long responses = storedResponses.getOrDefault(tally.sessionId, 0L);
+            if (responses != answered) {
+                lostUpdates.add("session " + tally.sessionId + ": user_responses has " + responses
+                        + " rows, clients submitted " + answered);
+            }
+        }
+
+        long started = client.statsFor(Endpoint.START).successes();
+        long sessionsCounted = globalCounterService.getTotalSessions() - sessionsBefore;
+        if (client.statsFor(Endpoint.START).errors() == 0 && sessionsCounted != started) {
+            lostUpdates.add("global totalSessions grew by " + sessionsCounted + ", clients started " + started);
+        }
+        long submitted = client.statsFor(Endpoint.SUBMIT).successes();
+        long answersCounted = globalCounterService.getTotalAnswers() - answersBefore;
+        if (client.statsFor(Endpoint.SUBMIT).errors() == 0 && answersCounted != submitted) {
+            lostUpdates.add("global totalAnswers grew by " + answersCounted + ", clients submitted " + submitted);
+        }
+        return lostUpdates;
+    }
+
+    private static String mismatch(SessionTally tally, String source, int answered, int correct,
+                                   int sourceAnswered, int sourceCorrect) {
+        return "session " + tally.sessionId + ": " + source + " has " + sourceAnswered + " answered/"
+                + sourceCorrect + " correct, clients saw " + answered + "/" + correct;
+    }
+
+    private void report(long elapsedNanos, List<String> lostUpdates) throws IOException {
+        double seconds = elapsedNanos / 1e9;
+        long verified = tallies.stream().filter(t -> !t.failed).count();
+
+        System.out.printf("%nScenario %s on %s threads: %d sessions x %d questions, %d client(s) per session, "
+                        + "ramp %ds, think %dms, %.1fs elapsed%n", options.scenario(), mode, options.sessions(),
+                options.questionsPerSession(), options.clientsPerSession(), options.rampSeconds(),
+                options.thinkMillis(), seconds);
+        System.out.printf("%-14s %10s %8s %10s %8s %8s %8s %8s%n",
+                "endpoint", "ok", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long requests = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointStats stats = client.statsFor(endpoint);
+            requests += stats.successes();
+            double endpointThroughput = stats.successes() / seconds;
+            System.out.printf("%-14s %10d %8d %10.1f %8d %8d %8d %8d%n", endpoint.label(), stats.successes(),
+                    stats.errors(), endpointThroughput, stats.percentile(50), stats.percentile(90),
+                    stats.percentile(99), stats.maxMillis());
+            for (String sample : stats.errorSamples()) {
+                System.out.println("    error: " + sample);
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("ok", stats.successes());
+            result.put("errors", stats.errors());
+            result.put("throughput", endpointThroughput);
+            result.put("p50", stats.percentile(50));
+            result.put("p90", stats.percentile(90));
+            result.put("p99", stats.percentile(99));
+            result.put("max", stats.maxMillis());
+            result.put("errorSamples", stats.errorSamples());
+            endpoints.put(endpoint.label(), result);
+        }
+
+        System.out.printf("Counters checked for %d of %d sessions: %d lost update(s)%n",
+                verified, tallies.size(), lostUpdates.size());
+        lostUpdates.stream().limit(REPORTED_LOST_UPDATES).forEach(line -> System.out.println("    " + line));
+
+        throughput = requests / seconds;
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("options", options);
+        results.put("threads", mode);
+        results.put("throughput", throughput);
+        results.put("elapsedSeconds", seconds);
+        results.put("endpoints", endpoints);
+        results.put("verifiedSessions", verified);
+        results.put("lostUpdates", lostUpdates);
+        Path result = options.resultFor(mode);
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), results);
+        System.out.println("Results written to " + result);
+    }
+
+    private static final class SessionTally {
+        private final long sessionId;
+        private final AtomicInteger answered = new AtomicInteger();
+        private final AtomicInteger correct = new AtomicInteger();
+        private volatile boolean failed;
+        private volatile QuizStatsDTO finalStats;
+
+        private SessionTally(long sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        private void recordAnswer(boolean isCorrect) {
+            answered.incrementAndGet();
+            if (isCorrect) {
+                correct.incrementAndGet();
+            }
+        }
+
+        // Called once every client of the session is done; null stats mean a call failed
+        private void finish(QuizStatsDTO stats) {
+            finalStats = stats;
+            failed = stats == null;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.quizapp.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Harness settings, read from {@code loadtest.*} system properties.
+ *
+ * @param clientsPerSession clients answering the same session concurrently; above 1 the
+ *                          session counters see racing updates
+ */
+record LoadTestOptions(LoadScenario scenario,
+                       int sessions,
+                       int questionsPerSession,
+                       int clientsPerSession,
+                       ThreadMode threads,
+                       int rampSeconds,
+                       long thinkMillis,
+                       int timeoutSeconds,
+                       Path result) {
+
+    static LoadTestOptions fromSystemProperties() {
+        LoadScenario scenario = LoadScenario.valueOf(
+                System.getProperty("loadtest.scenario", LoadScenario.CONCURRENT.name()).trim().toUpperCase());
+        LoadTestOptions options = new LoadTestOptions(
+                scenario,
+                Integer.getInteger("loadtest.sessions", 5000),
+                Integer.getInteger("loadtest.questions", 10),
+                Integer.getInteger("loadtest.clients-per-session", 1),
+                ThreadMode.valueOf(
+                        System.getProperty("loadtest.threads", ThreadMode.PLATFORM.name()).trim().toUpperCase()),
+                orDefault(Integer.getInteger("loadtest.ramp-seconds", -1), scenario.defaultRampSeconds()),
+                orDefault(Long.getLong("loadtest.think-ms", -1L), scenario.defaultThinkMillis()),
+                Integer.getInteger("loadtest.timeout-seconds", 600),
+                Path.of(System.getProperty("loadtest.result", "target/loadtest-results.json")));
+        if (options.sessions() < 1 || options.questionsPerSession() < 1 || options.clientsPerSession() < 1) {
+            throw new IllegalArgumentException("sessions, questions and clients-per-session must be at least 1");
+        }
+        return options;
+    }
+
+    // With both thread modes every run gets its own file, e.g. loadtest-results-virtual.json
+    Path resultFor(ThreadMode mode) {
+        if (threads != ThreadMode.BOTH) {
+            return result;
+        }
+        String name = result.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String suffix = "-" + mode.name().toLowerCase();
+        return result.resolveSibling(dot < 0 ? name + suffix : name.substring(0, dot) + suffix + name.substring(dot));
+    }
+
+    // A negative value stands for the scenario's default
+    private static int orDefault(int value, int scenarioDefault) {
+        return value < 0 ? scenarioDefault : value;
+    }
+
+    private static long orDefault(long value, long scenarioDefault) {
+        return value < 0 ? scenarioDefault : value;
+    }
+}
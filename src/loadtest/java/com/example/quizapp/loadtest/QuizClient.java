@@ -0,0 +1,130 @@
+package com.example.quizapp.loadtest;
+
+import com.example.quizapp.dto.AnswerSubmissionDTO;
+import com.example.quizapp.dto.QuizSessionDTO;
+import com.example.quizapp.dto.QuizStatsDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking client for the quiz REST API that times every call per endpoint. A call
+ * that fails or does not return 200 completes exceptionally after being counted.
+ */
+final class QuizClient {
+
+    enum Endpoint {
+        START("POST /start"),
+        QUESTION("GET /question"),
+        SUBMIT("POST /submit"),
+        STATS("GET /stats");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+
+        String label() {
+            return label;
+        }
+    }
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    QuizClient(int port, ObjectMapper objectMapper) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.baseUrl = "http://localhost:" + port + "/api/quiz";
+        this.objectMapper = objectMapper;
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    CompletableFuture<Long> start() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/start"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return send(Endpoint.START, request).thenApply(body -> read(body, QuizSessionDTO.class).getSessionId());
+    }
+
+    CompletableFuture<String> question(long sessionId) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/question?sessionId=" + sessionId))
+                .GET()
+                .build();
+        return send(Endpoint.QUESTION, request);
+    }
+
+    CompletableFuture<Boolean> submit(long sessionId, String answer) {
+        AnswerSubmissionDTO submission = new AnswerSubmissionDTO();
+        submission.setSessionId(sessionId);
+        submission.setAnswer(answer);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/submit"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(write(submission)))
+                .build();
+        return send(Endpoint.SUBMIT, request).thenApply(body -> read(body, Boolean.class));
+    }
+
+    CompletableFuture<QuizStatsDTO> stats(long sessionId) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/stats?sessionId=" + sessionId))
+                .GET()
+                .build();
+        return send(Endpoint.STATS, request).thenApply(body -> read(body, QuizStatsDTO.class));
+    }
+
+    EndpointStats statsFor(Endpoint endpoint) {
+        return stats.get(endpoint);
+    }
+
+    private CompletableFuture<String> send(Endpoint endpoint, HttpRequest request) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        long started = System.nanoTime();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, failure) -> {
+                    if (failure != null) {
+                        endpointStats.recordError(failure.toString());
+                        throw new CompletionException(failure);
+                    }
+                    if (response.statusCode() != 200) {
+                        String message = "HTTP " + response.statusCode() + ": " + response.body();
+                        endpointStats.recordError(message);
+                        throw new CompletionException(new IllegalStateException(message));
+                    }
+                    endpointStats.recordSuccess(System.nanoTime() - started);
+                    return response.body();
+                });
+    }
+
+    private <T> T read(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.quizapp.loadtest;
+
+import java.util.List;
+
+/**
+ * Which threads the application under test serves requests and runs its jobs on.
+ * {@code BOTH} runs the scenario once per mode, each against a fresh application, so
+ * the two can be compared.
+ */
+enum ThreadMode {
+    PLATFORM,
+    VIRTUAL,
+    BOTH;
+
+    List<ThreadMode> runs() {
+        return this == BOTH ? List.of(PLATFORM, VIRTUAL) : List.of(this);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.quizapp.cache;
+
+import java.util.Arrays;
+
+/**
+ * Compact slot to correct option table used to grade answers without loading the
+ * question. Options A-D are normalised to 0-3 once, when a question is added; the bytes
+ * live in fixed-size pages indexed by {@link QuestionIndex} slot, so lookups neither box
+ * nor allocate and an edit copies a single page while sharing the rest.
+ */
+public final class AnswerKey {
+    public static final byte MISSING = -1;
+    public static final byte NOT_AN_OPTION = -2;
+
+    static final AnswerKey EMPTY = new AnswerKey(new byte[0][]);
+
+    private final byte[][] pages;
+
+    private AnswerKey(byte[][] pages) {
+        this.pages = pages;
+    }
+
+    static AnswerKey of(QuestionSnapshot[][] snapshots) {
+        byte[][] pages = new byte[snapshots.length][];
+        for (int page = 0; page < snapshots.length; page++) {
+            if (snapshots[page] != null) {
+                pages[page] = emptyPage();
+                for (int offset = 0; offset < QuestionIndex.PAGE_SIZE; offset++) {
+                    QuestionSnapshot snapshot = snapshots[page][offset];
+                    if (snapshot != null) {
+                        pages[page][offset] = normalize(snapshot.correctAnswer());
+                    }
+                }
+            }
+        }
+        return new AnswerKey(pages);
+    }
+
+    /**
+     * Maps a single option letter (either case) to 0-3, or {@link #NOT_AN_OPTION} for
+     * anything else.
+     */
+    public static byte normalize(String answer) {
+        if (answer == null || answer.length() != 1) {
+            return NOT_AN_OPTION;
+        }
+        char option = Character.toUpperCase(answer.charAt(0));
+        return option >= 'A' && option <= 'D' ? (byte) (option - 'A') : NOT_AN_OPTION;
+    }
+
+    public byte get(int slot) {
+        int page = slot >>> QuestionIndex.PAGE_SHIFT;
+        if (slot < 0 || page >= pages.length || pages[page] == null) {
+            return MISSING;
+        }
+        return pages[page][slot & QuestionIndex.PAGE_MASK];
+    }
+
+    AnswerKey with(int slot, byte value) {
+        int page = slot >>> QuestionIndex.PAGE_SHIFT;
+        byte[][] copy = Arrays.copyOf(pages, Math.max(pages.length, page + 1));
+        byte[] updated = copy[page] != null ? copy[page].clone() : emptyPage();
+        updated[slot & QuestionIndex.PAGE_MASK] = value;
+        copy[page] = updated;
+        return new AnswerKey(copy);
+    }
+
+    AnswerKey without(int slot) {
+        return get(slot) == MISSING ? this : with(slot, MISSING);
+    }
+
+    private static byte[] emptyPage() {
+        byte[] page = new byte[QuestionIndex.PAGE_SIZE];
+        Arrays.fill(page, MISSING);
+        return page;
+    }
+}
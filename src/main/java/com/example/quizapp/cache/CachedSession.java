@@ -0,0 +1,206 @@
+package com.example.quizapp.cache;
+
+import com.example.quizapp.dto.QuizDashboardDTO;
+import com.example.quizapp.dto.QuizStatsDTO;
+import com.example.quizapp.model.QuizSession;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hot copy of an active {@link QuizSession}. All mutations go through this holder so
+ * concurrent requests for the same session see exact counters; the last access time
+ * is only written back once it has drifted more than the persist interval.
+ *
+ * <p>The last statistics built for the session are kept with the session version they
+ * were built at and served again until an answer bumps the version.
+ */
+public final class CachedSession {
+
+    // Questions handed out by a batch fetch and not yet answered; a client that never
+    // answers cannot make the map grow past this
+    static final int MAX_RESERVED_QUESTIONS = 200;
+
+    private final QuizSession session;
+    private final OutcomeRing recent;
+    private LatencyHistogram responseTimes = new LatencyHistogram();
+    private LocalDateTime persistedAccessTime;
+    private boolean accessDirty;
+    // System.nanoTime() when the current question was served, 0 if not served by this instance
+    private long questionIssuedNanos;
+    // A session loaded with answers already on record starts with an empty ring and histogram
+    private boolean historySeeded;
+    // Reserved question id to System.nanoTime() when it was served, oldest first
+    private final Map<Long, Long> reservedQuestions = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > MAX_RESERVED_QUESTIONS;
+        }
+    };
+    private QuizStatsDTO stats;
+    private long statsVersion;
+    private QuizDashboardDTO dashboard;
+    private long dashboardVersion;
+    private int dashboardWindow;
+
+    CachedSession(QuizSession session, int recentCapacity) {
+        this.session = session;
+        this.recent = new OutcomeRing(recentCapacity);
+        this.persistedAccessTime = session.getLastAccessTime();
+        this.historySeeded = session.getTotalQuestions() == 0;
+    }
+
+    public QuizSession getSession() {
+        return session;
+    }
+
+    public synchronized void touch(LocalDateTime now, Duration persistInterval) {
+        session.setLastAccessTime(now);
+        if (persistedAccessTime == null || Duration.between(persistedAccessTime, now).compareTo(persistInterval) >= 0) {
+            accessDirty = true;
+        }
+    }
+
+    /**
+     * Returns the access time to write back and marks it persisted, or {@code null} if
+     * the stored value is still fresh enough.
+     */
+    public synchronized LocalDateTime takeDirtyAccessTime() {
+        if (!accessDirty) {
+            return null;
+        }
+        accessDirty = false;
+        persistedAccessTime = session.getLastAccessTime();
+        return persistedAccessTime;
+    }
+
+    public synchronized void markAccessDirty() {
+        accessDirty = true;
+    }
+
+    public synchronized void deactivate() {
+        session.setActive(false);
+    }
+
+    public synchronized void assignQuestion(Long questionId, long issuedNanos) {
+        session.setCurrentQuestionId(questionId);
+        questionIssuedNanos = issuedNanos;
+    }
+
+    /**
+     * Milliseconds since the current question was served, or {@code null} if it was not
+     * served by this instance (e.g. the session was loaded after a restart).
+     */
+    public synchronized Long millisSinceQuestionIssued(long nowNanos) {
+        if (questionIssuedNanos == 0) {
+            return null;
+        }
+        return Math.max(0, (nowNanos - questionIssuedNanos) / 1_000_000);
+    }
+
+    public synchronized void reserveQuestions(List<Long> questionIds, long issuedNanos) {
+        for (Long questionId : questionIds) {
+            reservedQuestions.put(questionId, issuedNanos);
+        }
+    }
+
+    /**
+     * Releases a reserved question for answering and returns the milliseconds since it
+     * was served, or {@code null} if it is not reserved for this session (never served
+     * by a batch fetch, already answered, or served before a restart).
+     */
+    public synchronized Long claimReservedQuestion(Long questionId, long nowNanos) {
+        Long issuedNanos = reservedQuestions.remove(questionId);
+        return issuedNanos != null ? Math.max(0, (nowNanos - issuedNanos) / 1_000_000) : null;
+    }
+
+    // One version bump for the whole batch
+    public synchronized void recordAnswers(List<RecordedAnswer> answers) {
+        for (RecordedAnswer answer : answers) {
+            applyAnswer(answer.correct(), answer.responseMillis());
+        }
+        bumpVersion();
+    }
+
+    public synchronized void recordAnswer(boolean correct, Long responseMillis) {
+        applyAnswer(correct, responseMillis);
+        bumpVersion();
+    }
+
+    private void applyAnswer(boolean correct, Long responseMillis) {
+        session.setTotalQuestions(session.getTotalQuestions() + 1);
+        if (correct) {
+            session.setCorrectAnswers(session.getCorrectAnswers() + 1);
+        }
+        recent.record(correct);
+        if (responseMillis != null) {
+            responseTimes.record(responseMillis);
+        }
+    }
+
+    private void bumpVersion() {
+        session.setVersion(session.getVersion() + 1);
+        stats = null;
+        dashboard = null;
+    }
+
+    public synchronized long getVersion() {
+        return session.getVersion();
+    }
+
+    /**
+     * The stats last cached at {@code version}, or {@code null} if there are none or the
+     * session has changed since.
+     */
+    public synchronized QuizStatsDTO cachedStats(long version) {
+        return stats != null && statsVersion == version && version == session.getVersion() ? stats : null;
+    }
+
+    public synchronized void cacheStats(long version, QuizStatsDTO built) {
+        if (version == session.getVersion()) {
+            stats = built;
+            statsVersion = version;
+        }
+    }
+
+    // Only the last window asked for is kept; dashboards are normally polled with one
+    public synchronized QuizDashboardDTO cachedDashboard(long version, int window) {
+        return dashboard != null && dashboardVersion == version && dashboardWindow == window
+                && version == session.getVersion() ? dashboard : null;
+    }
+
+    public synchronized void cacheDashboard(long version, int window, QuizDashboardDTO built) {
+        if (version == session.getVersion()) {
+            dashboard = built;
+            dashboardVersion = version;
+            dashboardWindow = window;
+        }
+    }
+
+    public synchronized boolean needsHistorySeed() {
+        return !historySeeded;
+    }
+
+    /**
+     * Replaces the ring (newest first) and the response time histogram with what was
+     * rebuilt from stored responses. Ignored if the session was already seeded.
+     */
+    public synchronized void seedHistory(List<Boolean> newestFirst, LatencyHistogram storedResponseTimes) {
+        if (!historySeeded) {
+            recent.reset(newestFirst);
+            responseTimes = storedResponseTimes;
+            historySeeded = true;
+        }
+    }
+
+    public synchronized RecentOutcomes recentOutcomes(int window) {
+        return recent.summarize(window);
+    }
+
+    public synchronized LatencyHistogram getResponseTimes() {
+        return responseTimes;
+    }
+}
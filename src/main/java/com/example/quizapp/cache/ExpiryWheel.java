@@ -0,0 +1,81 @@
+package com.example.quizapp.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel of session deadlines. Each id sits in the slot for its deadline
+ * tick; advancing the wheel only visits the slots whose tick has passed, so the cost of
+ * a sweep is proportional to the sessions that are due rather than to all sessions.
+ * Deadlines further out than one revolution stay in their slot until a later pass.
+ */
+public final class ExpiryWheel {
+
+    private final long tickMillis;
+    private final List<Map<Long, Long>> slots;
+    private final Map<Long, Integer> slotOf = new HashMap<>();
+    private long currentTick;
+
+    public ExpiryWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Schedules (or reschedules) an id to come due at {@code deadlineMillis}. Deadlines
+     * that have already passed come due on the next tick.
+     */
+    public synchronized void schedule(long id, long deadlineMillis) {
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        int slot = (int) (tick % slots.size());
+        Integer previous = slotOf.put(id, slot);
+        if (previous != null && previous != slot) {
+            slots.get(previous).remove(id);
+        }
+        slots.get(slot).put(id, deadlineMillis);
+    }
+
+    public synchronized void cancel(long id) {
+        Integer slot = slotOf.remove(id);
+        if (slot != null) {
+            slots.get(slot).remove(id);
+        }
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis} and removes every id whose deadline falls in a
+     * tick that has been reached. Ids can therefore come due up to one tick early.
+     */
+    public synchronized List<Long> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<Long> due = new ArrayList<>();
+        long ticks = Math.min(targetTick - currentTick, slots.size());
+        for (long t = targetTick - ticks + 1; t <= targetTick; t++) {
+            Iterator<Map.Entry<Long, Long>> it = slots.get((int) (t % slots.size())).entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Long> entry = it.next();
+                if (entry.getValue() / tickMillis <= targetTick) {
+                    it.remove();
+                    slotOf.remove(entry.getKey());
+                    due.add(entry.getKey());
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return due;
+    }
+
+    public synchronized int size() {
+        return slotOf.size();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.quizapp.cache;
+
+import java.util.List;
+
+/**
+ * Fixed-size ring of a session's most recent answer outcomes. Not thread-safe; callers
+ * guard it with the owning {@link CachedSession}.
+ */
+public final class OutcomeRing {
+
+    private final boolean[] outcomes;
+    private int next;
+    private int size;
+
+    public OutcomeRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.outcomes = new boolean[capacity];
+    }
+
+    public void record(boolean correct) {
+        outcomes[next] = correct;
+        next = (next + 1) % outcomes.length;
+        if (size < outcomes.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Replaces the contents with the given outcomes, newest first.
+     */
+    public void reset(List<Boolean> newestFirst) {
+        next = 0;
+        size = 0;
+        for (int i = Math.min(newestFirst.size(), outcomes.length) - 1; i >= 0; i--) {
+            record(newestFirst.get(i));
+        }
+    }
+
+    public int capacity() {
+        return outcomes.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Summarizes the last {@code window} outcomes (fewer if not that many were recorded).
+     */
+    public RecentOutcomes summarize(int window) {
+        int count = Math.min(Math.min(window, outcomes.length), size);
+        int newerHalf = count / 2;
+        int correct = 0;
+        int newerCorrect = 0;
+        int streak = 0;
+        boolean streakOpen = true;
+        for (int i = 0; i < count; i++) {
+            // i = 0 is the most recent outcome
+            boolean outcome = outcomes[Math.floorMod(next - 1 - i, outcomes.length)];
+            if (outcome) {
+                correct++;
+                if (i < newerHalf) {
+                    newerCorrect++;
+                }
+            }
+            if (streakOpen && outcome) {
+                streak++;
+            } else {
+                streakOpen = false;
+            }
+        }
+        return new RecentOutcomes(window, count, correct, streak,
+                newerHalf, newerCorrect, count - newerHalf, correct - newerCorrect);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.quizapp.cache;
+
+import com.example.quizapp.model.Question;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the question bank in step with JPA writes to {@link Question}. Changes are
+ * applied after commit so a rolled back edit never reaches the bank.
+ */
+@Component
+public class QuestionChangeListener {
+
+    private final ObjectProvider<QuestionBankService> questionBankService;
+
+    public QuestionChangeListener(ObjectProvider<QuestionBankService> questionBankService) {
+        this.questionBankService = questionBankService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Question question) {
+        afterCommit(() -> questionBankService.getObject().onQuestionSaved(question));
+    }
+
+    @PostRemove
+    public void onRemoved(Question question) {
+        long questionId = question.getId();
+        afterCommit(() -> questionBankService.getObject().onQuestionRemoved(questionId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.quizapp.cache;
+
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+/**
+ * Immutable view of the question bank. Every change produces a new index
+ * (copy-on-write), so readers never need to lock.
+ *
+ * <p>Each question has a dense slot, kept for as long as the bank lives. Snapshots and
+ * the answer key are stored by slot in fixed-size pages, and every category/difficulty
+ * bucket is an array of slots, so a filtered pick is a few array accesses no matter how
+ * skewed the buckets are. A single edit copies only the page and the bucket(s) it
+ * touches; everything else is shared with the previous version.
+ */
+public final class QuestionIndex {
+    static final int PAGE_SHIFT = 10;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final int[] NO_QUESTIONS = new int[0];
+    private static final int UNSEEN_PROBES = 8;
+    private static final int CATEGORIES = Category.values().length;
+    private static final int DIFFICULTIES = Difficulty.values().length;
+
+    private final QuestionSlots slots;
+    // Snapshots by slot; a page is null when none of its slots holds a question
+    private final QuestionSnapshot[][] pages;
+    private final AnswerKey answerKey;
+    // Slots of the questions in each [category][difficulty] bucket, in no particular order
+    private final int[][][] buckets;
+    private final int size;
+
+    private QuestionIndex(QuestionSlots slots, QuestionSnapshot[][] pages, AnswerKey answerKey,
+                          int[][][] buckets, int size) {
+        this.slots = slots;
+        this.pages = pages;
+        this.answerKey = answerKey;
+        this.buckets = buckets;
+        this.size = size;
+    }
+
+    public static QuestionIndex empty() {
+        int[][][] buckets = new int[CATEGORIES][DIFFICULTIES][];
+        for (int[][] perDifficulty : buckets) {
+            Arrays.fill(perDifficulty, NO_QUESTIONS);
+        }
+        return new QuestionIndex(new QuestionSlots(), new QuestionSnapshot[0][], AnswerKey.EMPTY, buckets, 0);
+    }
+
+    /**
+     * A new index holding exactly {@code questions}. Questions already known to this
+     * index keep their slots.
+     */
+    public QuestionIndex reload(Collection<QuestionSnapshot> questions) {
+        QuestionSnapshot[][] loaded = new QuestionSnapshot[0][];
+        for (QuestionSnapshot snapshot : questions) {
+            int slot = slots.assign(snapshot.id());
+            int page = slot >>> PAGE_SHIFT;
+            if (page >= loaded.length) {
+                loaded = Arrays.copyOf(loaded, Math.max(page + 1, loaded.length * 2));
+            }
+            if (loaded[page] == null) {
+                loaded[page] = new QuestionSnapshot[PAGE_SIZE];
+            }
+            loaded[page][slot & PAGE_MASK] = snapshot;
+        }
+
+        int[][] counts = new int[CATEGORIES][DIFFICULTIES];
+        int total = 0;
+        for (QuestionSnapshot[] page : loaded) {
+            if (page == null) {
+                continue;
+            }
+            for (QuestionSnapshot snapshot : page) {
+                if (snapshot != null) {
+                    counts[snapshot.category().ordinal()][snapshot.difficulty().ordinal()]++;
+                    total++;
+                }
+            }
+        }
+        int[][][] filled = new int[CATEGORIES][DIFFICULTIES][];
+        for (int c = 0; c < CATEGORIES; c++) {
+            for (int d = 0; d < DIFFICULTIES; d++) {
+                filled[c][d] = counts[c][d] == 0 ? NO_QUESTIONS : new int[counts[c][d]];
+                counts[c][d] = 0;
+            }
+        }
+        for (int page = 0; page < loaded.length; page++) {
+            if (loaded[page] == null) {
+                continue;
+            }
+            for (int offset = 0; offset < PAGE_SIZE; offset++) {
+                QuestionSnapshot snapshot = loaded[page][offset];
+                if (snapshot != null) {
+                    int c = snapshot.category().ordinal();
+                    int d = snapshot.difficulty().ordinal();
+                    filled[c][d][counts[c][d]++] = (page << PAGE_SHIFT) | offset;
+                }
+            }
+        }
+        return new QuestionIndex(slots, loaded, AnswerKey.of(loaded), filled, total);
+    }
+
+    public QuestionIndex with(QuestionSnapshot snapshot) {
+        int slot = slots.assign(snapshot.id());
+        QuestionSnapshot previous = snapshotAt(slot);
+        int[][][] updated = buckets;
+        if (previous == null) {
+            updated = withBucket(updated, snapshot, append(bucketOf(snapshot), slot));
+        } else if (previous.category() != snapshot.category() || previous.difficulty() != snapshot.difficulty()) {
+            updated = withBucket(updated, previous, remove(bucketOf(previous), slot));
+            updated = withBucket(updated, snapshot, append(bucketOf(snapshot), slot));
+        }
+        return new QuestionIndex(slots, withSnapshot(slot, snapshot),
+                answerKey.with(slot, AnswerKey.normalize(snapshot.correctAnswer())), updated,
+                previous == null ? size + 1 : size);
+    }
+
+    public QuestionIndex without(long id) {
+        int slot = slots.slotOf(id);
+        QuestionSnapshot previous = snapshotAt(slot);
+        if (previous == null) {
+            return this;
+        }
+        return new QuestionIndex(slots, withSnapshot(slot, null), answerKey.without(slot),
+                withBucket(buckets, previous, remove(bucketOf(previous), slot)), size - 1);
+    }
+
+    public QuestionSnapshot get(long id) {
+        return snapshotAt(slots.slotOf(id));
+    }
+
+    /**
+     * The question's correct option as 0-3, {@link AnswerKey#NOT_AN_OPTION}, or
+     * {@link AnswerKey#MISSING} when it is not in the bank.
+     */
+    public byte answer(long id) {
+        return answerKey.get(slots.slotOf(id));
+    }
+
+    public QuestionSnapshot random(Category category, Difficulty difficulty, Random random) {
+        int count = count(category, difficulty);
+        if (count == 0) {
+            return null;
+        }
+        return snapshotAt(slotAt(category, difficulty, random.nextInt(count)));
+    }
+
+    /**
+     * Picks a question the deck has not seen yet. A few random probes cover the common
+     * case of a mostly unseen bucket; after that the bucket is scanned from a random
+     * offset. Returns {@code null} when every question in the bucket has been seen.
+     */
+    public QuestionSnapshot randomUnseen(Category category, Difficulty difficulty, SessionDeck deck,
+                                         Random random) {
+        int count = count(category, difficulty);
+        if (count == 0) {
+            return null;
+        }
+        for (int attempt = 0; attempt < UNSEEN_PROBES; attempt++) {
+            int slot = slotAt(category, difficulty, random.nextInt(count));
+            if (!deck.isSeen(slot)) {
+                return snapshotAt(slot);
+            }
+        }
+        int start = random.nextInt(count);
+        QuestionSnapshot unseen = firstUnseen(category, difficulty, deck, start, count);
+        return unseen != null ? unseen : firstUnseen(category, difficulty, deck, 0, start);
+    }
+
+    public void reshuffle(Category category, Difficulty difficulty, SessionDeck deck) {
+        for (int c = from(category); c < to(category, CATEGORIES); c++) {
+            for (int d = from(difficulty); d < to(difficulty, DIFFICULTIES); d++) {
+                for (int slot : buckets[c][d]) {
+                    deck.clear(slot);
+                }
+            }
+        }
+    }
+
+    public void markSeen(SessionDeck deck, long id) {
+        int slot = slots.slotOf(id);
+        if (slot >= 0) {
+            deck.markSeen(slot);
+        }
+    }
+
+    /**
+     * Rebuilds a deck from the ids written by {@link #storeDeck}; ids no longer in the bank
+     * are dropped.
+     */
+    public SessionDeck restoreDeck(byte[] stored) {
+        SessionDeck deck = new SessionDeck();
+        if (stored != null) {
+            for (long id : SessionDeck.decodeIds(stored)) {
+                int slot = slots.slotOf(id);
+                if (snapshotAt(slot) != null) {
+                    deck.restore(slot);
+                }
+            }
+        }
+        return deck;
+    }
+
+    /**
+     * The deck's seen questions as ids, so the stored form does not depend on slots, which
+     * only live as long as this process.
+     */
+    public byte[] storeDeck(SessionDeck deck) {
+        long[] ids = new long[deck.seenCount()];
+        int count = 0;
+        for (int slot = deck.nextSeen(0); slot >= 0; slot = deck.nextSeen(slot + 1)) {
+            QuestionSnapshot snapshot = snapshotAt(slot);
+            if (snapshot != null) {
+                ids[count++] = snapshot.id();
+            }
+        }
+        return SessionDeck.encodeIds(ids, count);
+    }
+
+    public int count(Category category, Difficulty difficulty) {
+        int count = 0;
+        for (int c = from(category); c < to(category, CATEGORIES); c++) {
+            for (int d = from(difficulty); d < to(difficulty, DIFFICULTIES); d++) {
+                count += buckets[c][d].length;
+            }
+        }
+        return count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // The n-th slot of the matching buckets taken one after another
+    private int slotAt(Category category, Difficulty difficulty, int n) {
+        for (int c = from(category); c < to(category, CATEGORIES); c++) {
+            for (int d = from(difficulty); d < to(difficulty, DIFFICULTIES); d++) {
+                int[] bucket = buckets[c][d];
+                if (n < bucket.length) {
+                    return bucket[n];
+                }
+                n -= bucket.length;
+            }
+        }
+        throw new IndexOutOfBoundsException(n);
+    }
+
+    // First unseen question among the n-th to (end - 1)-th slots of the matching buckets
+    private QuestionSnapshot firstUnseen(Category category, Difficulty difficulty, SessionDeck deck,
+                                         int start, int end) {
+        int base = 0;
+        for (int c = from(category); c < to(category, CATEGORIES); c++) {
+            for (int d = from(difficulty); d < to(difficulty, DIFFICULTIES); d++) {
+                int[] bucket = buckets[c][d];
+                for (int i = Math.max(start - base, 0); i < Math.min(end - base, bucket.length); i++) {
+                    if (!deck.isSeen(bucket[i])) {
+                        return snapshotAt(bucket[i]);
+                    }
+                }
+                base += bucket.length;
+            }
+        }
+        return null;
+    }
+
+    private QuestionSnapshot snapshotAt(int slot) {
+        int page = slot >>> PAGE_SHIFT;
+        if (slot < 0 || page >= pages.length || pages[page] == null) {
+            return null;
+        }
+        return pages[page][slot & PAGE_MASK];
+    }
+
+    private QuestionSnapshot[][] withSnapshot(int slot, QuestionSnapshot snapshot) {
+        int page = slot >>> PAGE_SHIFT;
+        QuestionSnapshot[][] copy = Arrays.copyOf(pages, Math.max(pages.length, page + 1));
+        QuestionSnapshot[] updated = copy[page] != null ? copy[page].clone() : new QuestionSnapshot[PAGE_SIZE];
+        updated[slot & PAGE_MASK] = snapshot;
+        copy[page] = updated;
+        return copy;
+    }
+
+    private int[] bucketOf(QuestionSnapshot snapshot) {
+        return buckets[snapshot.category().ordinal()][snapshot.difficulty().ordinal()];
+    }
+
+    // Replaces one bucket, sharing the others
+    private static int[][][] withBucket(int[][][] buckets, QuestionSnapshot snapshot, int[] bucket) {
+        int c = snapshot.category().ordinal();
+        int[][][] copy = buckets.clone();
+        copy[c] = buckets[c].clone();
+        copy[c][snapshot.difficulty().ordinal()] = bucket;
+        return copy;
+    }
+
+    private static int[] append(int[] bucket, int slot) {
+        int[] copy = Arrays.copyOf(bucket, bucket.length + 1);
+        copy[bucket.length] = slot;
+        return copy;
+    }
+
+    private static int[] remove(int[] bucket, int slot) {
+        for (int i = 0; i < bucket.length; i++) {
+            if (bucket[i] == slot) {
+                int[] copy = Arrays.copyOf(bucket, bucket.length - 1);
+                if (i < copy.length) {
+                    copy[i] = bucket[bucket.length - 1];
+                }
+                return copy.length == 0 ? NO_QUESTIONS : copy;
+            }
+        }
+        return bucket;
+    }
+
+    // Ordinal range a filter covers: just its own value, or every value when it is null
+    private static int from(Enum<?> filter) {
+        return filter != null ? filter.ordinal() : 0;
+    }
+
+    private static int to(Enum<?> filter, int values) {
+        return filter != null ? filter.ordinal() + 1 : values;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.quizapp.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A question's JSON encoded once, split around its timestamp, the only field that differs
+ * between requests. Serving it is two array writes and the timestamp's digits, with no
+ * DTO or serializer involved.
+ */
+public final class QuestionPayload {
+    // Encode the question with this timestamp; it marks where the real one goes
+    public static final long TIMESTAMP_PLACEHOLDER = Long.MIN_VALUE;
+
+    private static final byte[] TIMESTAMP_FIELD =
+            ("\"timestamp\":" + TIMESTAMP_PLACEHOLDER).getBytes(StandardCharsets.UTF_8);
+    private static final int PLACEHOLDER_LENGTH = Long.toString(TIMESTAMP_PLACEHOLDER).length();
+
+    private final QuestionSnapshot question;
+    private final byte[] prefix;
+    private final byte[] suffix;
+
+    private QuestionPayload(QuestionSnapshot question, byte[] prefix, byte[] suffix) {
+        this.question = question;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    /**
+     * Splits JSON encoded with {@link #TIMESTAMP_PLACEHOLDER} as its {@code timestamp}.
+     */
+    public static QuestionPayload of(QuestionSnapshot question, byte[] encoded) {
+        int field = indexOf(encoded, TIMESTAMP_FIELD);
+        if (field < 0) {
+            throw new IllegalArgumentException("Encoded question " + question.id() + " has no timestamp placeholder");
+        }
+        int placeholder = field + TIMESTAMP_FIELD.length - PLACEHOLDER_LENGTH;
+        return new QuestionPayload(question,
+                Arrays.copyOfRange(encoded, 0, placeholder),
+                Arrays.copyOfRange(encoded, field + TIMESTAMP_FIELD.length, encoded.length));
+    }
+
+    public QuestionSnapshot question() {
+        return question;
+    }
+
+    public int contentLength(long timestamp) {
+        return prefix.length + digits(timestamp) + suffix.length;
+    }
+
+    public void writeTo(OutputStream out, long timestamp) throws IOException {
+        out.write(prefix);
+        writeDecimal(out, timestamp);
+        out.write(suffix);
+    }
+
+    private static void writeDecimal(OutputStream out, long value) throws IOException {
+        if (value < 0) {
+            // Never a real timestamp; not worth an allocation-free path
+            out.write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            out.write('0' + (int) (value / divisor % 10));
+            divisor /= 10;
+        }
+    }
+
+    private static int digits(long value) {
+        if (value < 0) {
+            return Long.toString(value).length();
+        }
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        outer:
+        for (int i = 0; i <= bytes.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (bytes[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
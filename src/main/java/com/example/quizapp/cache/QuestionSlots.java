@@ -0,0 +1,88 @@
+package com.example.quizapp.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Dense slot numbers for question ids, shared by every version of a {@link QuestionIndex}
+ * so a question keeps its slot across edits and reloads. Slots are handed out in order
+ * and never reused. Lookups are lock-free and neither box nor allocate; assignments are
+ * serialized.
+ */
+final class QuestionSlots {
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+
+    private volatile Table table = new Table(16);
+    private int next;
+
+    int slotOf(long questionId) {
+        return table.get(questionId);
+    }
+
+    synchronized int assign(long questionId) {
+        Table current = table;
+        int slot = current.get(questionId);
+        if (slot >= 0) {
+            return slot;
+        }
+        if ((next + 1) * 2 > current.slots.length) {
+            current = current.grow();
+            table = current;
+        }
+        current.put(questionId, next);
+        return next++;
+    }
+
+    // Open addressing; a key is published after its slot, so a reader that finds the key
+    // also sees the slot
+    private static final class Table {
+        private final AtomicLongArray keys;
+        private final int[] slots;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                keys.set(i, EMPTY_KEY);
+            }
+        }
+
+        private int get(long questionId) {
+            int index = index(questionId);
+            long key;
+            while ((key = keys.get(index)) != EMPTY_KEY) {
+                if (key == questionId) {
+                    return slots[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void put(long questionId, int slot) {
+            int index = index(questionId);
+            while (keys.get(index) != EMPTY_KEY) {
+                index = (index + 1) & mask;
+            }
+            slots[index] = slot;
+            keys.set(index, questionId);
+        }
+
+        private Table grow() {
+            Table grown = new Table(slots.length * 2);
+            for (int i = 0; i < slots.length; i++) {
+                long key = keys.get(i);
+                if (key != EMPTY_KEY) {
+                    grown.put(key, slots[i]);
+                }
+            }
+            return grown;
+        }
+
+        private int index(long questionId) {
+            long hash = questionId * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.quizapp.cache;
+
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.model.Question;
+
+/**
+ * Immutable copy of a {@link Question} row held by the in-memory question bank.
+ */
+public record QuestionSnapshot(
+        long id,
+        String questionText,
+        String optionA,
+        String optionB,
+        String optionC,
+        String optionD,
+        String correctAnswer,
+        Difficulty difficulty,
+        Category category,
+        int timeLimit
+) {
+    public static QuestionSnapshot from(Question question) {
+        return new QuestionSnapshot(
+                question.getId(),
+                question.getQuestionText(),
+                question.getOptionA(),
+                question.getOptionB(),
+                question.getOptionC(),
+                question.getOptionD(),
+                question.getCorrectAnswer(),
+                question.getDifficulty(),
+                question.getCategory(),
+                question.getTimeLimit() != null ? question.getTimeLimit() : 20
+        );
+    }
+}
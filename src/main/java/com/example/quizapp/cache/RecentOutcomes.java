@@ -0,0 +1,23 @@
+package com.example.quizapp.cache;
+
+/**
+ * Summary of a session's last answers. The window is split into a newer and an older
+ * half so the trend compares like with like.
+ */
+public record RecentOutcomes(int window, int answered, int correct, int currentStreak,
+                             int newerAnswered, int newerCorrect, int olderAnswered, int olderCorrect) {
+
+    public double accuracy() {
+        return answered == 0 ? 0.0 : correct * 100.0 / answered;
+    }
+
+    /**
+     * Accuracy of the newer half minus accuracy of the older half, in percentage points.
+     */
+    public double trend() {
+        if (newerAnswered == 0 || olderAnswered == 0) {
+            return 0.0;
+        }
+        return newerCorrect * 100.0 / newerAnswered - olderCorrect * 100.0 / olderAnswered;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.quizapp.cache;
+
+/**
+ * One graded answer of a batch, as applied to the session counters and summary rows.
+ *
+ * @param responseMillis measured response time, or {@code null} if not measured
+ */
+public record RecordedAnswer(QuestionSnapshot question, boolean correct, Long responseMillis) {
+
+    public boolean timed() {
+        return responseMillis != null;
+    }
+
+    public boolean inTime() {
+        return responseMillis != null && responseMillis <= question.timeLimit() * 1000L;
+    }
+}
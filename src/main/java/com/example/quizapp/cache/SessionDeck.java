@@ -0,0 +1,94 @@
+package com.example.quizapp.cache;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Questions a session has already been served, one bit per {@link QuestionIndex} slot, so
+ * the set grows with the size of the bank rather than with its largest id. The deck is
+ * drawn without replacement until every question of the requested bucket has been seen,
+ * then that bucket is reshuffled back in.
+ *
+ * <p>Not thread-safe; callers lock the deck. Changes are only marked dirty here and
+ * written back later, as question ids (see {@link QuestionIndex#storeDeck}).
+ */
+public final class SessionDeck {
+
+    private final BitSet seen = new BitSet();
+    private boolean dirty;
+
+    public boolean isSeen(int slot) {
+        return seen.get(slot);
+    }
+
+    public void markSeen(int slot) {
+        seen.set(slot);
+        dirty = true;
+    }
+
+    public void clear(int slot) {
+        if (seen.get(slot)) {
+            seen.clear(slot);
+            dirty = true;
+        }
+    }
+
+    public int seenCount() {
+        return seen.cardinality();
+    }
+
+    /**
+     * Whether the deck changed since the last call, i.e. whether it has to be written back.
+     */
+    public boolean takeDirty() {
+        boolean wasDirty = dirty;
+        dirty = false;
+        return wasDirty;
+    }
+
+    int nextSeen(int fromSlot) {
+        return seen.nextSetBit(fromSlot);
+    }
+
+    void restore(int slot) {
+        seen.set(slot);
+    }
+
+    // Ascending ids as varint deltas: about one byte per question when ids are dense
+    static byte[] encodeIds(long[] ids, int count) {
+        Arrays.sort(ids, 0, count);
+        byte[] out = new byte[count * 10];
+        int length = 0;
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long delta = ids[i] - previous;
+            previous = ids[i];
+            while ((delta & ~0x7FL) != 0) {
+                out[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            out[length++] = (byte) delta;
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    static long[] decodeIds(byte[] bytes) {
+        long[] ids = new long[bytes.length];
+        int count = 0;
+        long previous = 0;
+        long delta = 0;
+        int shift = 0;
+        for (byte b : bytes) {
+            delta |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) != 0) {
+                shift += 7;
+                continue;
+            }
+            previous += delta;
+            ids[count++] = previous;
+            delta = 0;
+            shift = 0;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+}
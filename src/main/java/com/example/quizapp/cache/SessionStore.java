@@ -0,0 +1,72 @@
+package com.example.quizapp.cache;
+
+import com.example.quizapp.model.QuizSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory store of active quiz sessions. Validation is served from here; the
+ * database is only read when a session is cold-loaded.
+ */
+@Component
+public class SessionStore {
+
+    private final ConcurrentHashMap<Long, CachedSession> sessions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Value("${quiz.stats.recent-capacity:50}")
+    private int recentCapacity = 50;
+
+    public CachedSession get(Long sessionId) {
+        CachedSession cached = sessions.get(sessionId);
+        if (cached == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return cached;
+    }
+
+    public CachedSession peek(Long sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * Caches a session loaded from the database. If another request cached it first,
+     * that copy wins so both requests share the same counters.
+     */
+    public CachedSession put(QuizSession session) {
+        CachedSession cached = new CachedSession(session, recentCapacity);
+        CachedSession existing = sessions.putIfAbsent(session.getId(), cached);
+        return existing != null ? existing : cached;
+    }
+
+    public void evict(Long sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    public Collection<CachedSession> sessions() {
+        return sessions.values();
+    }
+
+    public int getRecentCapacity() {
+        return recentCapacity;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
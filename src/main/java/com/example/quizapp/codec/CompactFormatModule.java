@@ -0,0 +1,194 @@
+package com.example.quizapp.codec;
+
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.dto.QuestionPayloadDTO;
+import com.example.quizapp.dto.QuizDashboardDTO;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Jackson module for the compact binary responses. {@link Category} and {@link Difficulty}
+ * go on the wire as their ordinals, including the dashboard's category and difficulty
+ * names, which are held as strings and used as map keys. Ordinals are only stable while
+ * constants are appended to the end of the enums.
+ *
+ * <p>{@link QuestionPayloadDTO} is written with the fields of a {@code QuestionDTO}; its
+ * pre-encoded bytes are JSON and only used by the JSON converter.
+ */
+public class CompactFormatModule extends SimpleModule {
+
+    public CompactFormatModule() {
+        super("CompactFormatModule");
+        addSerializer(Category.class, new OrdinalSerializer<>(Category.class));
+        addSerializer(Difficulty.class, new OrdinalSerializer<>(Difficulty.class));
+        addDeserializer(Category.class, new OrdinalDeserializer<>(Category.class));
+        addDeserializer(Difficulty.class, new OrdinalDeserializer<>(Difficulty.class));
+        addSerializer(QuestionPayloadDTO.class, new QuestionPayloadSerializer());
+        setMixInAnnotation(QuizDashboardDTO.class, QuizDashboardMixin.class);
+    }
+
+    static final class OrdinalSerializer<E extends Enum<E>> extends StdSerializer<E> {
+        OrdinalSerializer(Class<E> type) {
+            super(type);
+        }
+
+        @Override
+        public void serialize(E value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.ordinal());
+        }
+    }
+
+    // Also accepts the constant's name, as sent in JSON
+    static final class OrdinalDeserializer<E extends Enum<E>> extends StdDeserializer<E> {
+        private final Class<E> type;
+        private final E[] constants;
+
+        OrdinalDeserializer(Class<E> type) {
+            super(type);
+            this.type = type;
+            this.constants = type.getEnumConstants();
+        }
+
+        @Override
+        public E deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                int ordinal = p.getIntValue();
+                if (ordinal < 0 || ordinal >= constants.length) {
+                    throw ctxt.weirdNumberException(ordinal, type, "not an ordinal of " + type.getSimpleName());
+                }
+                return constants[ordinal];
+            }
+            String name = p.getValueAsString();
+            for (E constant : constants) {
+                if (constant.name().equals(name)) {
+                    return constant;
+                }
+            }
+            throw ctxt.weirdStringException(name, type, "not a constant of " + type.getSimpleName());
+        }
+    }
+
+    // A string naming an enum constant is written as its ordinal; anything else, such as
+    // the dashboard's "No data", as is
+    abstract static class NameAsOrdinalSerializer extends StdSerializer<String> {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+
+        NameAsOrdinalSerializer(Class<? extends Enum<?>> type) {
+            super(String.class);
+            for (Enum<?> constant : type.getEnumConstants()) {
+                ordinals.put(constant.name(), constant.ordinal());
+            }
+        }
+
+        @Override
+        public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Integer ordinal = ordinals.get(value);
+            if (ordinal != null) {
+                gen.writeNumber(ordinal);
+            } else {
+                gen.writeString(value);
+            }
+        }
+    }
+
+    // CBOR allows integer map keys; text formats write the ordinal as a string
+    abstract static class NameAsOrdinalKeySerializer extends StdSerializer<String> {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+
+        NameAsOrdinalKeySerializer(Class<? extends Enum<?>> type) {
+            super(String.class);
+            for (Enum<?> constant : type.getEnumConstants()) {
+                ordinals.put(constant.name(), constant.ordinal());
+            }
+        }
+
+        @Override
+        public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Integer ordinal = ordinals.get(value);
+            if (ordinal != null) {
+                gen.writeFieldId(ordinal);
+            } else {
+                gen.writeFieldName(value);
+            }
+        }
+    }
+
+    static final class CategoryName extends NameAsOrdinalSerializer {
+        CategoryName() {
+            super(Category.class);
+        }
+    }
+
+    static final class DifficultyName extends NameAsOrdinalSerializer {
+        DifficultyName() {
+            super(Difficulty.class);
+        }
+    }
+
+    static final class CategoryKey extends NameAsOrdinalKeySerializer {
+        CategoryKey() {
+            super(Category.class);
+        }
+    }
+
+    static final class DifficultyKey extends NameAsOrdinalKeySerializer {
+        DifficultyKey() {
+            super(Difficulty.class);
+        }
+    }
+
+    abstract static class QuizDashboardMixin {
+        @JsonSerialize(keyUsing = CategoryKey.class)
+        Map<String, Double> categoryAccuracy;
+
+        @JsonSerialize(using = CategoryName.class)
+        String bestCategory;
+
+        @JsonSerialize(using = DifficultyName.class)
+        String bestDifficulty;
+
+        @JsonSerialize(keyUsing = CategoryKey.class)
+        Map<String, ?> categoryResponseTimes;
+
+        @JsonSerialize(keyUsing = DifficultyKey.class)
+        Map<String, ?> difficultyResponseTimes;
+    }
+
+    static final class QuestionPayloadSerializer extends StdSerializer<QuestionPayloadDTO> {
+        QuestionPayloadSerializer() {
+            super(QuestionPayloadDTO.class);
+        }
+
+        // Same fields, in the same order, as QuestionDTO
+        @Override
+        public void serialize(QuestionPayloadDTO value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            QuestionSnapshot question = value.payload().question();
+            gen.writeStartObject();
+            gen.writeNumberField("questionId", question.id());
+            gen.writeStringField("questionText", question.questionText());
+            gen.writeStringField("optionA", question.optionA());
+            gen.writeStringField("optionB", question.optionB());
+            gen.writeStringField("optionC", question.optionC());
+            gen.writeStringField("optionD", question.optionD());
+            provider.defaultSerializeField("category", question.category(), gen);
+            provider.defaultSerializeField("difficulty", question.difficulty(), gen);
+            gen.writeNumberField("timeLimit", question.timeLimit());
+            gen.writeNumberField("timestamp", value.timestamp());
+            gen.writeEndObject();
+        }
+    }
+}
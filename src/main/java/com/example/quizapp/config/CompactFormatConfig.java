@@ -0,0 +1,32 @@
+package com.example.quizapp.config;
+
+import com.example.quizapp.codec.CompactFormatModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Serves {@code application/cbor} to clients that ask for it, with enum ordinals on the
+ * wire (see {@link CompactFormatModule}). The converter is added after the JSON ones, so
+ * JSON stays the answer whenever the Accept header allows both.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CompactFormatConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ObjectMapper cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        cborMapper.registerModule(new CompactFormatModule());
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.quizapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread mode for the application's own background threads. It follows
+ * {@code spring.threads.virtual.enabled}, which also puts Tomcat's request handling and
+ * {@code @Scheduled} jobs on virtual threads, and like it only takes effect on Java 21+.
+ */
+@Configuration
+public class ExecutionModeConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeConfig.class);
+
+    @Bean
+    public ThreadFactory backgroundThreadFactory(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            logger.info("Request handling, scheduled jobs and background writers run on virtual threads");
+            return new VirtualThreadTaskExecutor("quiz-background-").getVirtualThreadFactory();
+        }
+        logger.info("Request handling, scheduled jobs and background writers run on platform threads");
+        return ExecutionModeConfig::platformThread;
+    }
+
+    public static Thread platformThread(Runnable task) {
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
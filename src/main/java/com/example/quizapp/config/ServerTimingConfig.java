@@ -0,0 +1,44 @@
+package com.example.quizapp.config;
+
+import com.example.quizapp.timing.ServerTimingFilter;
+import com.example.quizapp.timing.TimingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Server timing, off unless {@code quiz.timing.enabled} is set. When it is off neither
+ * these beans nor the {@link com.example.quizapp.timing.ServerTimingAdvice} exist, so
+ * requests and connections carry no timing code at all.
+ */
+@Configuration
+@ConditionalOnProperty(name = "quiz.timing.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public static BeanPostProcessor timingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TimingDataSource)) {
+                    return new TimingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${quiz.timing.slow-request-ms:500}") long slowRequestMillis) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(slowRequestMillis));
+        registration.addUrlPatterns("/api/quiz/*");
+        return registration;
+    }
+}
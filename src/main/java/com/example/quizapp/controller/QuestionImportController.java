@@ -0,0 +1,43 @@
+package com.example.quizapp.controller;
+
+import com.example.quizapp.dto.QuestionImportDTO;
+import com.example.quizapp.enums.QuestionImportFormat;
+import com.example.quizapp.service.interfaces.QuestionImportService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * Bulk import over HTTP, off unless {@code quiz.import.http.enabled} is set. The endpoints
+ * are not authenticated and replace the question bank, so they must only be reachable
+ * from a trusted network and never exposed publicly.
+ */
+@RestController
+@ConditionalOnProperty(name = "quiz.import.http.enabled", havingValue = "true")
+@RequestMapping("/api/admin/questions")
+@RequiredArgsConstructor
+public class QuestionImportController {
+    private static final Logger logger = LoggerFactory.getLogger(QuestionImportController.class);
+
+    private final QuestionImportService questionImportService;
+
+    // The request body is the file itself, read as it arrives rather than buffered
+    @PostMapping("/import")
+    public ResponseEntity<QuestionImportDTO> importQuestions(
+            @RequestParam(defaultValue = "CSV") QuestionImportFormat format,
+            @RequestParam(required = false) String importId,
+            InputStream body) {
+        logger.info("Request to import {} questions{}", format, importId != null ? " as " + importId : "");
+        return ResponseEntity.ok(questionImportService.importQuestions(importId, format, body));
+    }
+
+    @GetMapping("/imports/{importId}")
+    public ResponseEntity<QuestionImportDTO> getImport(@PathVariable String importId) {
+        return ResponseEntity.ok(questionImportService.getImport(importId));
+    }
+}
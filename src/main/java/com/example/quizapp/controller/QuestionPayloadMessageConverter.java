@@ -0,0 +1,50 @@
+package com.example.quizapp.controller;
+
+import com.example.quizapp.dto.QuestionPayloadDTO;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link QuestionPayloadDTO} straight to the response body. Spring Boot places
+ * converter beans ahead of Jackson, so this one is chosen for the payload type whenever
+ * JSON is acceptable.
+ */
+@Component
+public class QuestionPayloadMessageConverter extends AbstractHttpMessageConverter<QuestionPayloadDTO> {
+
+    public QuestionPayloadMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return QuestionPayloadDTO.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected QuestionPayloadDTO readInternal(Class<? extends QuestionPayloadDTO> clazz,
+                                              HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Question payloads are write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(QuestionPayloadDTO question, MediaType contentType) {
+        return (long) question.payload().contentLength(question.timestamp());
+    }
+
+    @Override
+    protected void writeInternal(QuestionPayloadDTO question, HttpOutputMessage outputMessage) throws IOException {
+        question.payload().writeTo(outputMessage.getBody(), question.timestamp());
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.quizapp.controller;
 
 import com.example.quizapp.dto.*;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
 import com.example.quizapp.exception.QuizException;
+import com.example.quizapp.model.QuizSession;
 import com.example.quizapp.service.interfaces.AnswerService;
 import com.example.quizapp.service.interfaces.QuestionService;
 import com.example.quizapp.service.interfaces.SessionService;
@@ -9,9 +12,13 @@ import com.example.quizapp.service.interfaces.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/quiz")
 @RequiredArgsConstructor
@@ -30,12 +37,26 @@ public class QuizController {
     }
 
     @GetMapping("/question")
-    public ResponseEntity<QuestionDTO> getQuestion(@RequestParam Long sessionId) {
+    public ResponseEntity<QuestionPayloadDTO> getQuestion(@RequestParam Long sessionId,
+                                                          @RequestParam(required = false) Category category,
+                                                          @RequestParam(required = false) Difficulty difficulty) {
         if (sessionId == null) {
             throw new QuizException("Session ID is required");
         }
         logger.info("Request to get question for session: {}", sessionId);
-        return ResponseEntity.ok(questionService.getNextQuestion(sessionId));
+        return ResponseEntity.ok(questionService.getNextQuestionPayload(sessionId, category, difficulty));
+    }
+
+    @GetMapping("/questions")
+    public ResponseEntity<List<QuestionDTO>> getQuestions(@RequestParam Long sessionId,
+                                                          @RequestParam Integer count,
+                                                          @RequestParam(required = false) Category category,
+                                                          @RequestParam(required = false) Difficulty difficulty) {
+        if (sessionId == null || count == null) {
+            throw new QuizException("Session ID and count are required");
+        }
+        logger.info("Request to get {} questions for session: {}", count, sessionId);
+        return ResponseEntity.ok(questionService.getNextQuestions(sessionId, count, category, difficulty));
     }
 
     @PostMapping("/submit")
@@ -50,21 +71,69 @@ public class QuizController {
         ));
     }
 
+    @PostMapping("/submit/batch")
+    public ResponseEntity<BatchSubmissionResultDTO> submitAnswers(@RequestBody BatchSubmissionDTO submission) {
+        if (submission.getSessionId() == null || submission.getAnswers() == null) {
+            throw new QuizException("Session ID and answers are required");
+        }
+        logger.info("Request to submit {} answers for session: {}",
+                submission.getAnswers().size(), submission.getSessionId());
+        return ResponseEntity.ok(answerService.submitAnswers(submission.getSessionId(), submission.getAnswers()));
+    }
+
+    // Both statistics endpoints are tagged with the session version, so a poll between
+    // answers is answered 304 without building anything. The tag does not depend on the
+    // format, so responses vary by Accept for caches that hold JSON and CBOR side by side
     @GetMapping("/stats")
-    public ResponseEntity<QuizStatsDTO> getStats(@RequestParam Long sessionId) {
+    public ResponseEntity<QuizStatsDTO> getStats(@RequestParam Long sessionId,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                 String ifNoneMatch) {
         if (sessionId == null) {
             throw new QuizException("Session ID is required");
         }
         logger.info("Request to get stats for session: {}", sessionId);
-        return ResponseEntity.ok(statisticsService.getSessionStats(sessionId));
+        QuizSession session = sessionService.validateAndUpdateSession(sessionId);
+        String eTag = "\"" + sessionId + "-" + statisticsService.getVersion(session) + "\"";
+        if (matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT)
+                .body(statisticsService.getSessionStats(session));
     }
 
     @GetMapping("/dashboard")
-    public ResponseEntity<QuizDashboardDTO> getDashboard(@RequestParam Long sessionId) {
+    public ResponseEntity<QuizDashboardDTO> getDashboard(@RequestParam Long sessionId,
+                                                         @RequestParam(required = false) Integer window,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,
+                                                                 required = false) String ifNoneMatch) {
         if (sessionId == null) {
             throw new QuizException("Session ID is required");
         }
         logger.info("Request to get dashboard for session: {}", sessionId);
-        return ResponseEntity.ok(statisticsService.getDashboard(sessionId));
+        int recentWindow = statisticsService.resolveRecentWindow(window);
+        QuizSession session = sessionService.validateAndUpdateSession(sessionId);
+        String eTag = "\"" + sessionId + "-" + statisticsService.getVersion(session) + "-" + recentWindow + "\"";
+        if (matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT)
+                .body(statisticsService.getDashboard(session, recentWindow));
+    }
+
+    // If-None-Match holds one or more (possibly weak) tags, or *
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
     }
 }
\ No newline at end of file
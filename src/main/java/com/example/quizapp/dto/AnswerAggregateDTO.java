@@ -0,0 +1,19 @@
+package com.example.quizapp.dto;
+
+import com.example.quizapp.enums.AggregateDimension;
+
+/**
+ * Read-only projection of a session's answers for one category or difficulty, either
+ * from the summary table or grouped from the responses themselves. Only answers with a
+ * measured response time are counted in {@code timed} and the time totals.
+ */
+public record AnswerAggregateDTO(AggregateDimension dimension, String bucket, long total, long correct,
+                                 long timed, long responseTimeMillisSum, long inTime) {
+
+    // Used by GROUP BY queries, which select the Category or Difficulty itself
+    public AnswerAggregateDTO(AggregateDimension dimension, Enum<?> bucket, Long total, Long correct,
+                              Long timed, Long responseTimeMillisSum, Long inTime) {
+        this(dimension, bucket.name(), total, correct, timed,
+                responseTimeMillisSum != null ? responseTimeMillisSum : 0, inTime);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.quizapp.dto;
+
+import lombok.Data;
+
+@Data
+public class BatchAnswerDTO {
+    private Long questionId;
+    private String answer;
+    // Optional time the client spent on this question; capped at the time since the
+    // batch was served
+    private Long responseTimeMillis;
+}
@@ -0,0 +1,16 @@
+package com.example.quizapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAnswerResultDTO {
+    private Long questionId;
+    private boolean accepted;
+    private boolean correct;
+    // Why the answer was not accepted; null when it was
+    private String error;
+}
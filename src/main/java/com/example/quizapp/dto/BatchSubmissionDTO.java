@@ -0,0 +1,11 @@
+package com.example.quizapp.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchSubmissionDTO {
+    private Long sessionId;
+    private List<BatchAnswerDTO> answers;
+}
@@ -0,0 +1,13 @@
+package com.example.quizapp.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchSubmissionResultDTO {
+    private int accepted;
+    private int correct;
+    // In the order the answers were submitted
+    private List<BatchAnswerResultDTO> results;
+}
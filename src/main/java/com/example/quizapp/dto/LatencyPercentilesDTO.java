@@ -0,0 +1,12 @@
+package com.example.quizapp.dto;
+
+import lombok.Data;
+
+// Answer latencies in milliseconds
+@Data
+public class LatencyPercentilesDTO {
+    private long count;
+    private long p50;
+    private long p90;
+    private long p99;
+}
@@ -6,6 +6,8 @@ import lombok.Data;
 
 @Data
 public class QuestionDTO {
+    // Identifies the question when answers are submitted in a batch
+    private Long questionId;
     private String questionText;
     private String optionA;
     private String optionB;
@@ -0,0 +1,24 @@
+package com.example.quizapp.dto;
+
+import com.example.quizapp.enums.QuestionImportFormat;
+import com.example.quizapp.enums.QuestionImportStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Progress of a bulk question import as of its last committed chunk
+@Data
+public class QuestionImportDTO {
+    private String importId;
+    private QuestionImportFormat format;
+    private QuestionImportStatus status;
+    // Rows committed so far, imported or rejected; a resumed import skips this many
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    // The first rejected rows, in row order
+    private List<QuestionImportRejectionDTO> rejections;
+}
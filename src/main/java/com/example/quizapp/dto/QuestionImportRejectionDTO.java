@@ -0,0 +1,5 @@
+package com.example.quizapp.dto;
+
+// A row left out of an import; rows are numbered from 1, not counting a CSV header or blank lines
+public record QuestionImportRejectionDTO(long row, String reason) {
+}
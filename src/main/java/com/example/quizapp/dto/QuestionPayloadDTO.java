@@ -0,0 +1,8 @@
+package com.example.quizapp.dto;
+
+import com.example.quizapp.cache.QuestionPayload;
+
+// A served question as pre-encoded JSON plus the time it was served; the same JSON
+// as a QuestionDTO with that timestamp
+public record QuestionPayloadDTO(QuestionPayload payload, long timestamp) {
+}
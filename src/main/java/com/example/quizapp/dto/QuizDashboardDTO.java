@@ -12,7 +12,14 @@ public class QuizDashboardDTO {
     private String bestCategory;
     private String bestDifficulty;
     private String recentPerformance;  
+    private int recentWindow;
+    private double recentAccuracy;
+    private int currentStreak;
+    private double recentTrend;
     private double averageResponseTime;
     private int questionsAnsweredInTime;
     private int totalQuestionsWithTimer;
+    private LatencyPercentilesDTO responseTimePercentiles;
+    private Map<String, LatencyPercentilesDTO> categoryResponseTimes;
+    private Map<String, LatencyPercentilesDTO> difficultyResponseTimes;
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.quizapp.dto;
+
+/**
+ * Number of a session's stored responses that took the given number of seconds.
+ */
+public record ResponseTimeCountDTO(Integer responseTime, Long count) {
+}
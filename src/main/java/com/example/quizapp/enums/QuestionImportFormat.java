@@ -0,0 +1,8 @@
+package com.example.quizapp.enums;
+
+public enum QuestionImportFormat {
+    // Header row naming the columns, then one question per record
+    CSV,
+    // One JSON object per line
+    JSONL
+}
@@ -0,0 +1,8 @@
+package com.example.quizapp.enums;
+
+public enum QuestionImportStatus {
+    RUNNING,
+    COMPLETED,
+    // Stopped part way; sending the same file with the same import ID resumes it
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.example.quizapp.enums;
+
+public enum QuestionSelectionMode {
+    MEMORY,
+    SQL
+}
@@ -0,0 +1,12 @@
+package com.example.quizapp.enums;
+
+public enum SessionValidationOutcome {
+    // Served from the session store
+    HIT,
+    // Cold session loaded from the database
+    LOADED,
+    EXPIRED,
+    TIMED_OUT,
+    // Missing or unknown session ID
+    INVALID
+}
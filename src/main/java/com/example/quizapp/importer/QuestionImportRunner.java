@@ -0,0 +1,122 @@
+package com.example.quizapp.importer;
+
+import com.example.quizapp.dto.QuestionImportDTO;
+import com.example.quizapp.enums.QuestionImportFormat;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import com.example.quizapp.service.interfaces.QuestionImportService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Startup imports. The seed file fills an empty question table, and {@code quiz.import.file}
+ * imports a file given on the command line, e.g.
+ * {@code --quiz.import.file=/data/questions.jsonl --quiz.import.id=bank-2024}. Giving the
+ * same ID again after a failed start resumes that import. The format follows the file
+ * extension ({@code .jsonl} or {@code .ndjson} for JSONL, anything else CSV) unless
+ * {@code quiz.import.format} is set. A failed import fails the startup.
+ *
+ * <p>The imports run as a lifecycle phase ahead of the embedded web server's, so the
+ * server only starts accepting requests once the questions are in.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionImportRunner implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(QuestionImportRunner.class);
+
+    // The web server starts at SMART_LIFECYCLE_PHASE - 1024
+    private static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+    private static final String FILE_PREFIX = "file:";
+
+    private final QuestionImportService questionImportService;
+    private final QuestionBankService questionBankService;
+    private final ResourceLoader resourceLoader;
+
+    @Value("${quiz.import.seed:}")
+    private String seed = "";
+
+    @Value("${quiz.import.file:}")
+    private String file = "";
+
+    @Value("${quiz.import.format:}")
+    private String format = "";
+
+    @Value("${quiz.import.id:}")
+    private String importId = "";
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        try {
+            importAtStartup();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Startup question import failed", e);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void importAtStartup() throws IOException {
+        if (!seed.isBlank() && questionBankService.size() == 0) {
+            logger.info("Question table is empty; importing seed questions from {}", seed);
+            importFrom(seed, null);
+        }
+        if (!file.isBlank()) {
+            QuestionImportDTO result = importFrom(file, importId.isBlank() ? null : importId);
+            logger.info("Imported {} questions from {} ({} rows rejected, import ID {})",
+                    result.getRowsImported(), file, result.getRowsRejected(), result.getImportId());
+        }
+    }
+
+    private QuestionImportDTO importFrom(String location, String id) throws IOException {
+        try (InputStream input = open(location)) {
+            return questionImportService.importQuestions(id, formatOf(location), input);
+        }
+    }
+
+    private InputStream open(String location) throws IOException {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            return resourceLoader.getResource(location).getInputStream();
+        }
+        String path = location.startsWith(FILE_PREFIX) ? location.substring(FILE_PREFIX.length()) : location;
+        return Files.newInputStream(Path.of(path));
+    }
+
+    private QuestionImportFormat formatOf(String location) {
+        if (!format.isBlank()) {
+            return QuestionImportFormat.valueOf(format.strip().toUpperCase(Locale.ROOT));
+        }
+        String name = location.toLowerCase(Locale.ROOT);
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson") ? QuestionImportFormat.JSONL
+                : QuestionImportFormat.CSV;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.quizapp.importer;
+
+import com.example.quizapp.enums.QuestionImportFormat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Splits an import file into records without parsing them, so the parsing can be spread
+ * over several threads. A CSV record runs on over line breaks inside a quoted field.
+ * Blank lines are skipped and not numbered, so the same file always numbers its rows the
+ * same way, which is what resuming an import relies on.
+ */
+public final class QuestionRecordReader {
+
+    public record RawRecord(long row, String text) {
+    }
+
+    // Far longer than any valid question; keeps a stray quote from buffering the whole file
+    static final int MAX_RECORD_LENGTH = 16_384;
+
+    private final BufferedReader reader;
+    private final QuestionImportFormat format;
+    private long row;
+    private boolean started;
+
+    public QuestionRecordReader(BufferedReader reader, QuestionImportFormat format) {
+        this.reader = reader;
+        this.format = format;
+    }
+
+    /**
+     * The CSV header, read before any row; {@code null} for an empty file.
+     */
+    public String readHeader() throws IOException {
+        return nextRecord();
+    }
+
+    public RawRecord next() throws IOException {
+        String text = nextRecord();
+        return text != null ? new RawRecord(++row, text) : null;
+    }
+
+    private String nextRecord() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        if (format != QuestionImportFormat.CSV || quotes(line) % 2 == 0) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        int quotes = quotes(line);
+        while (quotes % 2 != 0 && record.length() < MAX_RECORD_LENGTH && (line = readLine()) != null) {
+            record.append('\n').append(line);
+            quotes += quotes(line);
+        }
+        // Still unterminated at the end of the file or the length limit; the parser rejects it
+        return record.toString();
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (!started && line != null) {
+            started = true;
+            // Byte order mark some editors write at the start of UTF-8 files
+            if (!line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+        }
+        return line;
+    }
+
+    private static int quotes(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.quizapp.importer;
+
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.exception.QuizException;
+import com.example.quizapp.importer.QuestionRecordReader.RawRecord;
+import com.example.quizapp.model.Question;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns import records into {@link Question}s, or into a reason for rejecting the row.
+ * Fields are named as in {@code QuestionDTO}: {@code questionText}, {@code optionA} to
+ * {@code optionD}, {@code correctAnswer}, {@code difficulty}, {@code category} and the
+ * optional {@code timeLimit}. CSV headers may also use the column names, e.g.
+ * {@code question_text}. Instances hold no mutable state and are safe to share between
+ * threads.
+ */
+public final class QuestionRowParser {
+
+    public record ParsedRow(long row, Question question, String rejection) {
+
+        static ParsedRow accepted(long row, Question question) {
+            return new ParsedRow(row, question, null);
+        }
+
+        static ParsedRow rejected(long row, String reason) {
+            return new ParsedRow(row, null, reason);
+        }
+    }
+
+    private static final String[] FIELDS = {"questionText", "optionA", "optionB", "optionC", "optionD",
+            "correctAnswer", "difficulty", "category", "timeLimit"};
+    private static final int TIME_LIMIT = 8;
+    private static final int QUESTION_TEXT_MAX = 500;
+    private static final int OPTION_MAX = 255;
+    private static final int MAX_TIME_LIMIT = 3600;
+    private static final int DEFAULT_TIME_LIMIT = 20;
+
+    private final ObjectMapper objectMapper;
+    // For CSV, the column holding each field, or -1 when an optional one is absent
+    private final int[] columns;
+
+    private QuestionRowParser(ObjectMapper objectMapper, int[] columns) {
+        this.objectMapper = objectMapper;
+        this.columns = columns;
+    }
+
+    public static QuestionRowParser csv(String header) {
+        if (header == null) {
+            throw new QuizException("CSV file is empty; expected a header row");
+        }
+        List<String> names = split(header);
+        if (names == null) {
+            throw new QuizException("CSV header has an unterminated quoted field");
+        }
+        int[] columns = new int[FIELDS.length];
+        Arrays.fill(columns, -1);
+        for (int column = 0; column < names.size(); column++) {
+            String name = normalize(names.get(column));
+            for (int field = 0; field < FIELDS.length; field++) {
+                if (normalize(FIELDS[field]).equals(name) && columns[field] < 0) {
+                    columns[field] = column;
+                }
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        for (int field = 0; field < FIELDS.length; field++) {
+            if (columns[field] < 0 && field != TIME_LIMIT) {
+                missing.add(FIELDS[field]);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new QuizException("CSV header is missing column(s): " + String.join(", ", missing));
+        }
+        return new QuestionRowParser(null, columns);
+    }
+
+    public static QuestionRowParser jsonl(ObjectMapper objectMapper) {
+        return new QuestionRowParser(objectMapper, null);
+    }
+
+    public List<ParsedRow> parse(List<RawRecord> records) {
+        List<ParsedRow> rows = new ArrayList<>(records.size());
+        for (RawRecord record : records) {
+            rows.add(parse(record));
+        }
+        return rows;
+    }
+
+    public ParsedRow parse(RawRecord record) {
+        String[] values = new String[FIELDS.length];
+        if (columns != null) {
+            List<String> fields = split(record.text());
+            if (fields == null) {
+                return ParsedRow.rejected(record.row(), "Unterminated quoted field");
+            }
+            for (int field = 0; field < FIELDS.length; field++) {
+                int column = columns[field];
+                values[field] = column >= 0 && column < fields.size() ? fields.get(column) : null;
+            }
+        } else {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(record.text());
+            } catch (JsonProcessingException e) {
+                return ParsedRow.rejected(record.row(), "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (node == null || !node.isObject()) {
+                return ParsedRow.rejected(record.row(), "Expected a JSON object");
+            }
+            for (int field = 0; field < FIELDS.length; field++) {
+                JsonNode value = node.get(FIELDS[field]);
+                values[field] = value != null && !value.isNull() ? value.asText() : null;
+            }
+        }
+        return validate(record.row(), values);
+    }
+
+    private static ParsedRow validate(long row, String[] values) {
+        Question question = new Question();
+        String text = required(values[0]);
+        if (text == null) {
+            return ParsedRow.rejected(row, "questionText is required");
+        }
+        if (text.length() > QUESTION_TEXT_MAX) {
+            return ParsedRow.rejected(row, "questionText is longer than " + QUESTION_TEXT_MAX + " characters");
+        }
+        question.setQuestionText(text);
+
+        String[] options = new String[4];
+        for (int i = 0; i < options.length; i++) {
+            String option = required(values[1 + i]);
+            if (option == null) {
+                return ParsedRow.rejected(row, FIELDS[1 + i] + " is required");
+            }
+            if (option.length() > OPTION_MAX) {
+                return ParsedRow.rejected(row, FIELDS[1 + i] + " is longer than " + OPTION_MAX + " characters");
+            }
+            options[i] = option;
+        }
+        question.setOptionA(options[0]);
+        question.setOptionB(options[1]);
+        question.setOptionC(options[2]);
+        question.setOptionD(options[3]);
+
+        String answer = required(values[5]);
+        if (answer == null || answer.length() != 1 || "ABCD".indexOf(Character.toUpperCase(answer.charAt(0))) < 0) {
+            return ParsedRow.rejected(row, "correctAnswer must be one of A, B, C, D");
+        }
+        question.setCorrectAnswer(answer.toUpperCase(Locale.ROOT));
+
+        Difficulty difficulty = constant(Difficulty.class, values[6]);
+        if (difficulty == null) {
+            return ParsedRow.rejected(row, "difficulty must be one of " + Arrays.toString(Difficulty.values()));
+        }
+        question.setDifficulty(difficulty);
+
+        Category category = constant(Category.class, values[7]);
+        if (category == null) {
+            return ParsedRow.rejected(row, "category must be one of " + Arrays.toString(Category.values()));
+        }
+        question.setCategory(category);
+
+        String timeLimit = required(values[TIME_LIMIT]);
+        if (timeLimit == null) {
+            question.setTimeLimit(DEFAULT_TIME_LIMIT);
+        } else {
+            try {
+                int seconds = Integer.parseInt(timeLimit);
+                if (seconds < 1 || seconds > MAX_TIME_LIMIT) {
+                    throw new NumberFormatException();
+                }
+                question.setTimeLimit(seconds);
+            } catch (NumberFormatException e) {
+                return ParsedRow.rejected(row, "timeLimit must be a whole number of seconds from 1 to "
+                        + MAX_TIME_LIMIT);
+            }
+        }
+        return ParsedRow.accepted(row, question);
+    }
+
+    private static String required(String value) {
+        if (value == null) {
+            return null;
+        }
+        String stripped = value.strip();
+        return stripped.isEmpty() ? null : stripped;
+    }
+
+    private static <E extends Enum<E>> E constant(Class<E> type, String value) {
+        String name = required(value);
+        if (name == null) {
+            return null;
+        }
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(name)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String name) {
+        return name.strip().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    // RFC 4180 fields: commas separate, quotes enclose, a doubled quote is a literal one.
+    // Returns null when a quoted field is not closed.
+    static List<String> split(String record) {
+        List<String> fields = new ArrayList<>(FIELDS.length);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.quizapp.jdbc;
+
+/**
+ * Told about each statement run through a {@link StatementObservingDataSource}, on the
+ * thread that ran it.
+ */
+@FunctionalInterface
+public interface StatementListener {
+
+    /**
+     * @param sql   the statement's SQL, or {@code null} if the driver call did not carry it
+     * @param rows  1, or the number of rows of an executed batch
+     * @param nanos time spent in the execute call, including when it failed
+     */
+    void executed(String sql, int rows, long nanos);
+}
@@ -0,0 +1,152 @@
+package com.example.quizapp.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the pooled datasource so every statement executed on its connections is reported
+ * to a {@link StatementListener}. Plain JDK proxies are enough here: JPA, Spring JDBC and
+ * the schema scripts all reach the database through {@link Connection} and
+ * {@link Statement}.
+ *
+ * <p>Being a {@link DelegatingDataSource}, the wrapper still unwraps to the pool, so
+ * Actuator finds the {@code HikariDataSource} behind it and binds the {@code hikaricp.*}
+ * pool metrics to it as it would without the wrapper.
+ */
+public class StatementObservingDataSource extends DelegatingDataSource implements AutoCloseable {
+    private final StatementListener listener;
+
+    public StatementObservingDataSource(DataSource targetDataSource, StatementListener listener) {
+        super(targetDataSource);
+        this.listener = listener;
+    }
+
+    public StatementListener getListener() {
+        return listener;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return observedConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return observedConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    // Lets the context close the pool as it would the unwrapped datasource
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection observedConnection(Connection connection) {
+        return (Connection) proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return observedStatement(method.getReturnType(), statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private Object observedStatement(Class<?> type, Statement statement, String preparedSql) {
+        Class<?> statementType = CallableStatement.class.isAssignableFrom(type) ? CallableStatement.class
+                : PreparedStatement.class.isAssignableFrom(type) ? PreparedStatement.class
+                : Statement.class;
+        return proxy(statementType, statement, new StatementHandler(statement, preparedSql));
+    }
+
+    private static Object proxy(Class<?> type, Object target, InvocationHandler handler) {
+        ClassLoader classLoader = StatementObservingDataSource.class.getClassLoader();
+        return Proxy.newProxyInstance(classLoader, new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Observed " + target;
+                default:
+                    return handler.invoke(proxy, method, args);
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // A prepared statement's SQL is fixed when it is prepared; a plain statement passes
+    // it with each execute or addBatch. A batch is reported once, when it is executed,
+    // and only if it has rows.
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private String batchSql;
+        private int batchRows;
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            switch (method.getName()) {
+                case "addBatch":
+                    batchSql = batchSql == null ? sql : batchSql;
+                    batchRows++;
+                    return StatementObservingDataSource.invoke(statement, method, args);
+                case "clearBatch":
+                    batchSql = null;
+                    batchRows = 0;
+                    return StatementObservingDataSource.invoke(statement, method, args);
+                case "executeBatch":
+                case "executeLargeBatch":
+                    String executedSql = batchSql;
+                    int rows = batchRows;
+                    batchSql = null;
+                    batchRows = 0;
+                    return execute(method, args, executedSql, rows);
+                case "execute":
+                case "executeQuery":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    return execute(method, args, sql, 1);
+                default:
+                    return StatementObservingDataSource.invoke(statement, method, args);
+            }
+        }
+
+        private Object execute(Method method, Object[] args, String sql, int rows) throws Throwable {
+            long start = System.nanoTime();
+            try {
+                return StatementObservingDataSource.invoke(statement, method, args);
+            } finally {
+                if (rows > 0) {
+                    listener.executed(sql, rows, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+}
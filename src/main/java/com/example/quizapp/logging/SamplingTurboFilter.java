@@ -0,0 +1,68 @@
+package com.example.quizapp.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps roughly one in {@code sampleRate} INFO and DEBUG lines from the configured
+ * logger prefixes and drops the rest before their message is formatted. WARN and ERROR,
+ * and anything carrying a throwable, always pass. Each line is sampled on its own with a
+ * thread-local random draw, so request threads share no counter.
+ *
+ * <p>Configured from {@code logback-spring.xml}; {@code loggerPrefixes} is a comma
+ * separated list.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    private String[] loggerPrefixes = new String[0];
+    private int sampleRate = 1;
+
+    public void setLoggerPrefixes(String loggerPrefixes) {
+        this.loggerPrefixes = Arrays.stream(loggerPrefixes.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public void start() {
+        if (sampleRate < 1) {
+            addError("sampleRate must be at least 1, got " + sampleRate);
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        // A null format is an isXxxEnabled() check: only the log call itself is sampled
+        if (sampleRate <= 1 || format == null || t != null || level.isGreaterOrEqual(Level.WARN)
+                || !isSampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(sampleRate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean isSampled(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
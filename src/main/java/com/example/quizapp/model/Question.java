@@ -1,5 +1,6 @@
 package com.example.quizapp.model;
 
+import com.example.quizapp.cache.QuestionChangeListener;
 import com.example.quizapp.enums.Category;
 import com.example.quizapp.enums.Difficulty;
 import jakarta.persistence.*;
@@ -8,6 +9,7 @@ import lombok.Data;
 @Data
 @Entity
 @Table(name = "questions")
+@EntityListeners(QuestionChangeListener.class)
 public class Question {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
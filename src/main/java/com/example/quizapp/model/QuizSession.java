@@ -29,4 +29,13 @@ public class QuizSession {
 
     @Column(name = "current_question_id")
     private Long currentQuestionId;
+
+    // Ids of the questions already served to this session, ascending, as varint deltas
+    // (see SessionDeck); written back periodically, so it can trail the in-memory deck
+    @Column(name = "seen_questions")
+    private byte[] seenQuestions;
+
+    // Bumped whenever answers are recorded; statistics ETags are derived from it
+    @Column(nullable = false)
+    private long version = 0;
 }
\ No newline at end of file
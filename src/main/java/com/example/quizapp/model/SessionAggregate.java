@@ -0,0 +1,45 @@
+package com.example.quizapp.model;
+
+import com.example.quizapp.enums.AggregateDimension;
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Running totals of a session's answers for one category or difficulty, updated on
+ * every submission so statistics never have to re-read the individual responses.
+ */
+@Data
+@Entity
+@Table(name = "session_aggregates")
+public class SessionAggregate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AggregateDimension dimension;
+
+    // Category or Difficulty name, depending on the dimension
+    @Column(nullable = false)
+    private String bucket;
+
+    @Column(nullable = false)
+    private int total;
+
+    @Column(nullable = false)
+    private int correct;
+
+    // Answers with a measured response time; only these are in the time totals
+    @Column(nullable = false)
+    private int timed;
+
+    @Column(name = "response_time_ms_sum", nullable = false)
+    private long responseTimeMillisSum;
+
+    @Column(name = "in_time", nullable = false)
+    private int inTime;
+}
@@ -8,8 +8,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "user_responses")
 public class UserResponse {
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_responses_seq")
+    @SequenceGenerator(name = "user_responses_seq", sequenceName = "user_responses_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -3,8 +3,15 @@ package com.example.quizapp.repository;
 import com.example.quizapp.model.Question;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     @Query(value = "SELECT * FROM questions ORDER BY RAND() LIMIT 1", nativeQuery = true)
     Question findRandomQuestion();
+
+    @Query(value = "SELECT * FROM questions "
+            + "WHERE (:category IS NULL OR category = :category) "
+            + "AND (:difficulty IS NULL OR difficulty = :difficulty) "
+            + "ORDER BY RAND() LIMIT 1", nativeQuery = true)
+    Question findRandomQuestion(@Param("category") String category, @Param("difficulty") String difficulty);
 }
\ No newline at end of file
@@ -1,10 +1,47 @@
 package com.example.quizapp.repository;
 
 import com.example.quizapp.model.QuizSession;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface QuizSessionRepository extends JpaRepository<QuizSession, Long> {
-    List<QuizSession> findByActiveAndLastAccessTimeBefore(boolean active, LocalDateTime time);
-}
\ No newline at end of file
+    long countByActive(boolean active);
+
+    @Query("SELECT s.id FROM QuizSession s WHERE s.active = true AND s.lastAccessTime < :threshold "
+            + "AND s.id > :afterId ORDER BY s.id")
+    List<Long> findExpiredSessionIds(@Param("threshold") LocalDateTime threshold, @Param("afterId") long afterId,
+                                     Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE QuizSession s SET s.active = false WHERE s.id IN :ids AND s.active = true")
+    int deactivateSessions(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE QuizSession s SET s.totalQuestions = s.totalQuestions + 1, "
+            + "s.correctAnswers = s.correctAnswers + :correct, s.version = s.version + 1 WHERE s.id = :id")
+    int incrementCounters(@Param("id") Long id, @Param("correct") int correct);
+
+    @Modifying
+    @Query("UPDATE QuizSession s SET s.totalQuestions = s.totalQuestions + :answers, "
+            + "s.correctAnswers = s.correctAnswers + :correct, s.version = s.version + 1 WHERE s.id = :id")
+    int addToCounters(@Param("id") Long id, @Param("answers") int answers, @Param("correct") int correct);
+
+    @Modifying
+    @Query("UPDATE QuizSession s SET s.seenQuestions = :seenQuestions WHERE s.id = :id")
+    int updateSeenQuestions(@Param("id") Long id, @Param("seenQuestions") byte[] seenQuestions);
+
+    @Modifying
+    @Query("UPDATE QuizSession s SET s.currentQuestionId = :questionId WHERE s.id = :id")
+    int updateCurrentQuestion(@Param("id") Long id, @Param("questionId") Long questionId);
+
+    @Modifying
+    @Query("UPDATE QuizSession s SET s.lastAccessTime = :time WHERE s.id = :id AND s.lastAccessTime < :time")
+    int updateLastAccessTime(@Param("id") Long id, @Param("time") LocalDateTime time);
+}
@@ -0,0 +1,43 @@
+package com.example.quizapp.repository;
+
+import com.example.quizapp.dto.AnswerAggregateDTO;
+import com.example.quizapp.model.SessionAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SessionAggregateRepository extends JpaRepository<SessionAggregate, Long> {
+    // Adds answers to the session's category and difficulty rows, creating them on first use
+    String RECORD_ANSWERS_SQL = "MERGE INTO session_aggregates t USING ("
+            + "SELECT CAST(:sessionId AS BIGINT) AS session_id, 'CATEGORY' AS dimension, "
+            + "CAST(:category AS VARCHAR(50)) AS bucket "
+            + "UNION ALL SELECT CAST(:sessionId AS BIGINT), 'DIFFICULTY', CAST(:difficulty AS VARCHAR(50))) s "
+            + "ON t.session_id = s.session_id AND t.dimension = s.dimension AND t.bucket = s.bucket "
+            + "WHEN MATCHED THEN UPDATE SET total = t.total + :answers, correct = t.correct + :correct, "
+            + "timed = t.timed + :timed, response_time_ms_sum = t.response_time_ms_sum + :responseMillis, "
+            + "in_time = t.in_time + :inTime "
+            + "WHEN NOT MATCHED THEN INSERT "
+            + "(session_id, dimension, bucket, total, correct, timed, response_time_ms_sum, in_time) "
+            + "VALUES (s.session_id, s.dimension, s.bucket, :answers, :correct, :timed, :responseMillis, :inTime)";
+
+    @Query("SELECT new com.example.quizapp.dto.AnswerAggregateDTO("
+            + "a.dimension, a.bucket, a.total, a.correct, a.timed, a.responseTimeMillisSum, a.inTime) "
+            + "FROM SessionAggregate a WHERE a.sessionId = :sessionId")
+    List<AnswerAggregateDTO> findBySessionId(@Param("sessionId") Long sessionId);
+
+    default int recordAnswer(Long sessionId, String category, String difficulty, int correct, int timed,
+                             long responseMillis, int inTime) {
+        return recordAnswers(sessionId, category, difficulty, 1, correct, timed, responseMillis, inTime);
+    }
+
+    // Totals for several answers sharing one category and difficulty
+    @Modifying
+    @Query(value = RECORD_ANSWERS_SQL, nativeQuery = true)
+    int recordAnswers(@Param("sessionId") Long sessionId, @Param("category") String category,
+                      @Param("difficulty") String difficulty, @Param("answers") int answers,
+                      @Param("correct") int correct, @Param("timed") int timed,
+                      @Param("responseMillis") long responseMillis, @Param("inTime") int inTime);
+}
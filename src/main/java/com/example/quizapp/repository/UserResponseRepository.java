@@ -1,11 +1,42 @@
 package com.example.quizapp.repository;
 
+import com.example.quizapp.dto.AnswerAggregateDTO;
+import com.example.quizapp.dto.ResponseTimeCountDTO;
 import com.example.quizapp.model.QuizSession;
 import com.example.quizapp.model.UserResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface UserResponseRepository extends JpaRepository<UserResponse, Long> {
     List<UserResponse> findByQuizSession(QuizSession session);
     List<UserResponse> findByQuizSessionOrderByAnsweredAtDesc(QuizSession session);
+
+    @Query("SELECT new com.example.quizapp.dto.AnswerAggregateDTO("
+            + "com.example.quizapp.enums.AggregateDimension.CATEGORY, q.category, COUNT(r), "
+            + "SUM(CASE WHEN r.correct = true THEN 1L ELSE 0L END), "
+            + "SUM(CASE WHEN r.responseTime IS NOT NULL THEN 1L ELSE 0L END), SUM(r.responseTime * 1000L), "
+            + "SUM(CASE WHEN r.responseTime <= q.timeLimit THEN 1L ELSE 0L END)) "
+            + "FROM UserResponse r JOIN r.question q WHERE r.quizSession.id = :sessionId GROUP BY q.category")
+    List<AnswerAggregateDTO> aggregateByCategory(@Param("sessionId") Long sessionId);
+
+    @Query("SELECT new com.example.quizapp.dto.AnswerAggregateDTO("
+            + "com.example.quizapp.enums.AggregateDimension.DIFFICULTY, q.difficulty, COUNT(r), "
+            + "SUM(CASE WHEN r.correct = true THEN 1L ELSE 0L END), "
+            + "SUM(CASE WHEN r.responseTime IS NOT NULL THEN 1L ELSE 0L END), SUM(r.responseTime * 1000L), "
+            + "SUM(CASE WHEN r.responseTime <= q.timeLimit THEN 1L ELSE 0L END)) "
+            + "FROM UserResponse r JOIN r.question q WHERE r.quizSession.id = :sessionId GROUP BY q.difficulty")
+    List<AnswerAggregateDTO> aggregateByDifficulty(@Param("sessionId") Long sessionId);
+
+    // Newest first
+    @Query("SELECT r.correct FROM UserResponse r WHERE r.quizSession.id = :sessionId ORDER BY r.id DESC")
+    List<Boolean> findRecentCorrectness(@Param("sessionId") Long sessionId, Pageable pageable);
+
+    @Query("SELECT new com.example.quizapp.dto.ResponseTimeCountDTO(r.responseTime, COUNT(r)) "
+            + "FROM UserResponse r WHERE r.quizSession.id = :sessionId AND r.responseTime IS NOT NULL "
+            + "GROUP BY r.responseTime")
+    List<ResponseTimeCountDTO> countByResponseTime(@Param("sessionId") Long sessionId);
 }
\ No newline at end of file
@@ -1,20 +1,31 @@
 package com.example.quizapp.service.impl;
 
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.cache.RecordedAnswer;
+import com.example.quizapp.dto.BatchAnswerDTO;
+import com.example.quizapp.dto.BatchAnswerResultDTO;
+import com.example.quizapp.dto.BatchSubmissionResultDTO;
+import com.example.quizapp.exception.QuizException;
 import com.example.quizapp.model.Question;
 import com.example.quizapp.model.QuizSession;
 import com.example.quizapp.model.UserResponse;
 import com.example.quizapp.repository.QuestionRepository;
-import com.example.quizapp.repository.QuizSessionRepository;
 import com.example.quizapp.repository.UserResponseRepository;
 import com.example.quizapp.service.interfaces.AnswerService;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import com.example.quizapp.service.interfaces.QuizMetricsService;
 import com.example.quizapp.service.interfaces.SessionService;
+import com.example.quizapp.service.interfaces.UserResponseBatchService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -22,59 +33,157 @@ public class AnswerServiceImpl implements AnswerService {
     private static final Logger logger = LoggerFactory.getLogger(AnswerServiceImpl.class);
 
     private final QuestionRepository questionRepository;
-    private final UserResponseRepository userResponseRepository;
-    private final QuizSessionRepository quizSessionRepository;
+    private final QuestionBankService questionBankService;
+    private final UserResponseBatchService userResponseBatchService;
     private final SessionService sessionService;
+    private final UserResponseRepository userResponseRepository;
+    private final QuizMetricsService quizMetricsService;
 
+    @Value("${quiz.batch.max-size:50}")
+    private int maxBatchSize = 50;
+
+    // Not transactional on purpose: the caller must not hold a pooled connection
+    // while it waits for the group-commit writer to flush its response.
     @Override
-    @Transactional
     public boolean submitAnswer(Long sessionId, String answer) {
+        long started = System.nanoTime();
         QuizSession session = sessionService.validateAndUpdateSession(sessionId);
-
-        if (session.getCurrentQuestionId() == null) {
-            throw new RuntimeException("No current question set for this session");
+        Long questionId = currentQuestionId(session);
+        Long responseMillis = sessionService.responseTimeMillis(session);
+
+        GradedAnswer graded = grade(questionId, answer);
+        boolean isCorrect = graded.correct();
+
+        // Save user response; returns once its batch has committed
+        UserResponse saved = userResponseBatchService.save(
+                buildResponse(session, questionId, answer, isCorrect, responseMillis));
+
+        // Update session statistics; the response was committed on its own, so it is
+        // removed again if they cannot be, leaving the answer unrecorded and safe to retry
+        try {
+            sessionService.recordAnswer(session, graded.question(), isCorrect, responseMillis);
+        } catch (RuntimeException e) {
+            discardResponse(saved, sessionId);
+            throw e;
         }
+        quizMetricsService.answerSubmitted(isCorrect, System.nanoTime() - started);
 
-        Question currentQuestion = questionRepository.findById(session.getCurrentQuestionId())
-                .orElseThrow(() -> new RuntimeException("Question not found"));
+        logger.info("Answer submitted for session {}: correct={}, total={}, correct={}",
+                sessionId, isCorrect, session.getTotalQuestions(), session.getCorrectAnswers());
 
-        boolean isCorrect = currentQuestion.getCorrectAnswer().equalsIgnoreCase(answer);
+        return isCorrect;
+    }
 
-        // Update session statistics
-        session.setTotalQuestions(session.getTotalQuestions() + 1);
-        if (isCorrect) {
-            session.setCorrectAnswers(session.getCorrectAnswers() + 1);
+    // Grades every answer on its own, then writes all accepted ones, the session counters
+    // and the summary rows in one transaction. Answers are only accepted for questions
+    // reserved by a batch fetch, each at most once; a rejected answer does not fail the
+    // others.
+    @Override
+    @Transactional
+    public BatchSubmissionResultDTO submitAnswers(Long sessionId, List<BatchAnswerDTO> answers) {
+        if (answers == null || answers.isEmpty()) {
+            throw new QuizException("At least one answer is required");
+        }
+        if (answers.size() > maxBatchSize) {
+            throw new QuizException("At most " + maxBatchSize + " answers can be submitted at once");
         }
-        quizSessionRepository.save(session);
+        long started = System.nanoTime();
+        QuizSession session = sessionService.validateAndUpdateSession(sessionId);
 
-        // Save user response
-        saveUserResponse(sessionId, answer, isCorrect);
+        List<BatchAnswerResultDTO> results = new ArrayList<>(answers.size());
+        List<UserResponse> responses = new ArrayList<>(answers.size());
+        List<RecordedAnswer> recorded = new ArrayList<>(answers.size());
+        for (BatchAnswerDTO answer : answers) {
+            Long questionId = answer != null ? answer.getQuestionId() : null;
+            if (questionId == null || answer.getAnswer() == null) {
+                results.add(new BatchAnswerResultDTO(questionId, false, false, "Question ID and answer are required"));
+                continue;
+            }
+            Long servedMillis = sessionService.claimReservedQuestion(session, questionId);
+            if (servedMillis == null) {
+                results.add(new BatchAnswerResultDTO(questionId, false, false,
+                        "Question was not reserved for this session"));
+                continue;
+            }
+            GradedAnswer graded = grade(questionId, answer.getAnswer());
+            Long responseMillis = clientResponseMillis(answer, servedMillis);
+            responses.add(buildResponse(session, questionId, answer.getAnswer(), graded.correct(), responseMillis));
+            recorded.add(new RecordedAnswer(graded.question(), graded.correct(), responseMillis));
+            results.add(new BatchAnswerResultDTO(questionId, true, graded.correct(), null));
+        }
 
-        logger.info("Answer submitted for session {}: correct={}, total={}, correct={}",
-                sessionId, isCorrect, session.getTotalQuestions(), session.getCorrectAnswers());
+        userResponseRepository.saveAll(responses);
+        sessionService.recordAnswers(session, recorded);
+
+        BatchSubmissionResultDTO result = new BatchSubmissionResultDTO();
+        result.setAccepted(recorded.size());
+        result.setCorrect((int) recorded.stream().filter(RecordedAnswer::correct).count());
+        result.setResults(results);
+        quizMetricsService.answerBatchSubmitted(result.getCorrect(), result.getAccepted() - result.getCorrect(),
+                answers.size() - result.getAccepted(), System.nanoTime() - started);
+        logger.info("Batch of {} answers submitted for session {}: accepted={}, correct={}",
+                answers.size(), sessionId, result.getAccepted(), result.getCorrect());
+        return result;
+    }
 
-        return isCorrect;
+    // The server only knows when the whole batch was served, so the per-question time is
+    // the client's, capped at that; without one the answer is recorded as unmeasured
+    private Long clientResponseMillis(BatchAnswerDTO answer, long servedMillis) {
+        if (answer.getResponseTimeMillis() == null) {
+            return null;
+        }
+        return Math.min(Math.max(0, answer.getResponseTimeMillis()), servedMillis);
     }
 
     @Override
     public UserResponse saveUserResponse(Long sessionId, String answer, boolean isCorrect) {
         QuizSession session = sessionService.validateAndUpdateSession(sessionId);
+        Long questionId = currentQuestionId(session);
+        Long responseMillis = sessionService.responseTimeMillis(session);
+        return userResponseBatchService.save(buildResponse(session, questionId, answer, isCorrect, responseMillis));
+    }
 
+    private void discardResponse(UserResponse saved, Long sessionId) {
+        try {
+            userResponseRepository.deleteById(saved.getId());
+        } catch (RuntimeException e) {
+            logger.error("Response {} of session {} is stored but not counted in the session statistics",
+                    saved.getId(), sessionId, e);
+        }
+    }
+
+    private Long currentQuestionId(QuizSession session) {
         if (session.getCurrentQuestionId() == null) {
             throw new RuntimeException("No current question set for this session");
         }
+        return session.getCurrentQuestionId();
+    }
 
-        Question currentQuestion = questionRepository.findById(session.getCurrentQuestionId())
+    private GradedAnswer grade(Long questionId, String answer) {
+        Boolean isCorrect = questionBankService.grade(questionId, answer);
+        QuestionSnapshot snapshot = isCorrect != null ? questionBankService.getQuestion(questionId) : null;
+        if (snapshot != null) {
+            return new GradedAnswer(snapshot, isCorrect);
+        }
+        // Question is not in the bank (e.g. bank disabled or not yet refreshed)
+        Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new RuntimeException("Question not found"));
+        return new GradedAnswer(QuestionSnapshot.from(question), question.getCorrectAnswer().equalsIgnoreCase(answer));
+    }
 
+    private UserResponse buildResponse(QuizSession session, Long questionId, String answer, boolean isCorrect,
+                                       Long responseMillis) {
         UserResponse response = new UserResponse();
         response.setQuizSession(session);
-        response.setQuestion(currentQuestion);
+        response.setQuestion(questionRepository.getReferenceById(questionId));
         response.setUserAnswer(answer);
         response.setCorrect(isCorrect);
         response.setAnsweredAt(LocalDateTime.now());
-        response.setResponseTime(20); 
+        // Stored in whole seconds, rounded up so the in-time check agrees with the millisecond one
+        response.setResponseTime(responseMillis != null ? (int) ((responseMillis + 999) / 1000) : null);
+        return response;
+    }
 
-        return userResponseRepository.save(response);
+    private record GradedAnswer(QuestionSnapshot question, boolean correct) {
     }
-}
\ No newline at end of file
+}
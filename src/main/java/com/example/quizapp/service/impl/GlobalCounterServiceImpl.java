@@ -0,0 +1,127 @@
+package com.example.quizapp.service.impl;
+
+import com.example.quizapp.cache.LatencyHistogram;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.repository.QuizSessionRepository;
+import com.example.quizapp.repository.UserResponseRepository;
+import com.example.quizapp.service.interfaces.GlobalCounterService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Application-wide tallies kept in memory so reads never have to count table rows.
+ * Seeded from the database at startup and periodically corrected against it, which
+ * also picks up rows written by other instances or outside the application. Response
+ * time histograms are not reconciled: they cover answers measured by this instance.
+ */
+@Service
+@RequiredArgsConstructor
+public class GlobalCounterServiceImpl implements GlobalCounterService {
+    private static final Logger logger = LoggerFactory.getLogger(GlobalCounterServiceImpl.class);
+
+    private final QuizSessionRepository quizSessionRepository;
+    private final UserResponseRepository userResponseRepository;
+
+    private final LongAdder totalSessions = new LongAdder();
+    private final LongAdder activeSessions = new LongAdder();
+    private final LongAdder totalAnswers = new LongAdder();
+    private final Map<Category, LatencyHistogram> categoryResponseTimes = histograms(Category.class);
+    private final Map<Difficulty, LatencyHistogram> difficultyResponseTimes = histograms(Difficulty.class);
+
+    @PostConstruct
+    public void seed() {
+        reconcile();
+        logger.info("Global counters seeded: totalSessions={}, activeSessions={}, totalAnswers={}",
+                getTotalSessions(), getActiveSessions(), getTotalAnswers());
+    }
+
+    @Override
+    public void sessionStarted() {
+        totalSessions.increment();
+        activeSessions.increment();
+    }
+
+    @Override
+    public void sessionsDeactivated(int count) {
+        activeSessions.add(-count);
+    }
+
+    @Override
+    public void answerRecorded() {
+        totalAnswers.increment();
+    }
+
+    @Override
+    public void answersRecorded(int count) {
+        totalAnswers.add(count);
+    }
+
+    @Override
+    public void recordResponseTime(Category category, Difficulty difficulty, long millis) {
+        categoryResponseTimes.get(category).record(millis);
+        difficultyResponseTimes.get(difficulty).record(millis);
+    }
+
+    @Override
+    public long getTotalSessions() {
+        return totalSessions.sum();
+    }
+
+    @Override
+    public long getActiveSessions() {
+        return activeSessions.sum();
+    }
+
+    @Override
+    public long getTotalAnswers() {
+        return totalAnswers.sum();
+    }
+
+    @Override
+    public LatencyHistogram getResponseTimes(Category category) {
+        return categoryResponseTimes.get(category);
+    }
+
+    @Override
+    public LatencyHistogram getResponseTimes(Difficulty difficulty) {
+        return difficultyResponseTimes.get(difficulty);
+    }
+
+    // Updates racing with the count queries can leave a small drift; it is
+    // corrected by the next run
+    @Override
+    @Scheduled(initialDelayString = "${quiz.counters.reconcile-ms:60000}",
+            fixedDelayString = "${quiz.counters.reconcile-ms:60000}")
+    public void reconcile() {
+        long sessionDrift = correct(totalSessions, quizSessionRepository.count());
+        long activeDrift = correct(activeSessions, quizSessionRepository.countByActive(true));
+        long answerDrift = correct(totalAnswers, userResponseRepository.count());
+        if (sessionDrift != 0 || activeDrift != 0 || answerDrift != 0) {
+            logger.debug("Reconciled global counters (drift: sessions={}, active={}, answers={})",
+                    sessionDrift, activeDrift, answerDrift);
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, LatencyHistogram> histograms(Class<E> type) {
+        Map<E, LatencyHistogram> histograms = new EnumMap<>(type);
+        for (E key : type.getEnumConstants()) {
+            histograms.put(key, new LatencyHistogram());
+        }
+        return histograms;
+    }
+
+    private static long correct(LongAdder counter, long actual) {
+        long drift = actual - counter.sum();
+        counter.add(drift);
+        return drift;
+    }
+}
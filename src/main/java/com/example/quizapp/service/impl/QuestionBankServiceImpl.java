@@ -0,0 +1,197 @@
+package com.example.quizapp.service.impl;
+
+import com.example.quizapp.cache.AnswerKey;
+import com.example.quizapp.cache.QuestionIndex;
+import com.example.quizapp.cache.QuestionPayload;
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.cache.SessionDeck;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.model.Question;
+import com.example.quizapp.repository.QuestionRepository;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+@Service
+@RequiredArgsConstructor
+public class QuestionBankServiceImpl implements QuestionBankService {
+    private static final Logger logger = LoggerFactory.getLogger(QuestionBankServiceImpl.class);
+
+    private final QuestionRepository questionRepository;
+
+    private volatile QuestionIndex index = QuestionIndex.empty();
+    // Serializes reloads. Not a monitor: it is held across findAll, and a JDBC call inside
+    // synchronized would pin a virtual thread. Edits take the monitor of this service.
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // Edits applied while a reload is reading the table, replayed on top of what it read
+    private List<UnaryOperator<QuestionIndex>> editsDuringRefresh;
+    // Encoded form of the questions in the current index, dropped as they are edited
+    private final Map<Long, QuestionPayload> payloads = new ConcurrentHashMap<>();
+    // Grading lookups answered by the bank, and those left to the database
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Override
+    @PostConstruct
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            synchronized (this) {
+                editsDuringRefresh = new ArrayList<>();
+            }
+            try {
+                List<QuestionSnapshot> snapshots = questionRepository.findAll().stream()
+                        .map(QuestionSnapshot::from)
+                        .toList();
+                synchronized (this) {
+                    QuestionIndex reloaded = index.reload(snapshots);
+                    for (UnaryOperator<QuestionIndex> edit : editsDuringRefresh) {
+                        reloaded = edit.apply(reloaded);
+                    }
+                    index = reloaded;
+                    payloads.clear();
+                }
+            } finally {
+                synchronized (this) {
+                    editsDuringRefresh = null;
+                }
+            }
+            logger.info("Question bank loaded with {} questions", index.size());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public QuestionSnapshot randomQuestion(Category category, Difficulty difficulty) {
+        return index.random(category, difficulty, ThreadLocalRandom.current());
+    }
+
+    @Override
+    public QuestionSnapshot drawQuestion(Category category, Difficulty difficulty, SessionDeck deck) {
+        QuestionIndex current = index;
+        Random random = ThreadLocalRandom.current();
+        QuestionSnapshot question = current.randomUnseen(category, difficulty, deck, random);
+        if (question == null && current.count(category, difficulty) > 0) {
+            logger.debug("Deck exhausted for category={}, difficulty={}; reshuffling", category, difficulty);
+            current.reshuffle(category, difficulty, deck);
+            question = current.randomUnseen(category, difficulty, deck, random);
+        }
+        if (question != null) {
+            current.markSeen(deck, question.id());
+        }
+        return question;
+    }
+
+    @Override
+    public SessionDeck restoreDeck(byte[] stored) {
+        return index.restoreDeck(stored);
+    }
+
+    @Override
+    public byte[] storeDeck(SessionDeck deck) {
+        return index.storeDeck(deck);
+    }
+
+    @Override
+    public QuestionSnapshot getQuestion(long questionId) {
+        return index.get(questionId);
+    }
+
+    /**
+     * The question's payload, encoded on first use and reused until the question is edited
+     * or removed. A snapshot that is not the bank's current one is encoded but not kept.
+     */
+    @Override
+    public QuestionPayload payload(QuestionSnapshot question, Function<QuestionSnapshot, QuestionPayload> encoder) {
+        QuestionPayload payload = payloads.get(question.id());
+        if (payload != null && payload.question() == question) {
+            return payload;
+        }
+        payload = encoder.apply(question);
+        if (index.get(question.id()) == question) {
+            payloads.put(question.id(), payload);
+            // An edit may have replaced the question while it was being encoded
+            if (index.get(question.id()) != question) {
+                payloads.remove(question.id(), payload);
+            }
+        }
+        return payload;
+    }
+
+    /**
+     * Grades an answer against the in-memory answer key. Returns {@code null} when the
+     * question is not in the bank so the caller can fall back to the database.
+     */
+    @Override
+    public Boolean grade(long questionId, String answer) {
+        QuestionIndex current = index;
+        byte expected = current.answer(questionId);
+        if (expected == AnswerKey.MISSING) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (expected == AnswerKey.NOT_AN_OPTION) {
+            return current.get(questionId).correctAnswer().equalsIgnoreCase(answer);
+        }
+        return expected == AnswerKey.normalize(answer);
+    }
+
+    @Override
+    public void onQuestionSaved(Question question) {
+        QuestionSnapshot snapshot = QuestionSnapshot.from(question);
+        apply(current -> current.with(snapshot));
+        payloads.remove(snapshot.id());
+        logger.debug("Question bank updated with question {}", question.getId());
+    }
+
+    @Override
+    public void onQuestionRemoved(long questionId) {
+        apply(current -> current.without(questionId));
+        payloads.remove(questionId);
+        logger.debug("Question {} removed from question bank", questionId);
+    }
+
+    private synchronized void apply(UnaryOperator<QuestionIndex> edit) {
+        index = edit.apply(index);
+        if (editsDuringRefresh != null) {
+            editsDuringRefresh.add(edit);
+        }
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public int count(Category category, Difficulty difficulty) {
+        return index.count(category, difficulty);
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.quizapp.service.impl;
+
+import com.example.quizapp.config.ExecutionModeConfig;
+import com.example.quizapp.dto.QuestionImportDTO;
+import com.example.quizapp.dto.QuestionImportRejectionDTO;
+import com.example.quizapp.enums.QuestionImportFormat;
+import com.example.quizapp.enums.QuestionImportStatus;
+import com.example.quizapp.exception.QuizException;
+import com.example.quizapp.importer.QuestionRecordReader;
+import com.example.quizapp.importer.QuestionRecordReader.RawRecord;
+import com.example.quizapp.importer.QuestionRowParser;
+import com.example.quizapp.importer.QuestionRowParser.ParsedRow;
+import com.example.quizapp.model.Question;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import com.example.quizapp.service.interfaces.QuestionImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Streams a CSV or JSONL question file into the questions table. One thread reads the
+ * file and cuts it into chunks of {@code chunkSize} records, a pool parses and validates
+ * the chunks, and the calling thread writes them back in file order: each chunk is one
+ * batched insert of its questions and rejected rows, committed together with the import's
+ * checkpoint. At most one chunk per parser plus one is held at a time, so memory use does
+ * not grow with the file.
+ *
+ * <p>Sending the same file again under the same import ID after a failure skips the rows
+ * the checkpoint already covers. The question bank is reloaded once, when an import
+ * completes; until then imported rows are only visible to the SQL selection mode.
+ */
+@Service
+public class QuestionImportServiceImpl implements QuestionImportService {
+    private static final Logger logger = LoggerFactory.getLogger(QuestionImportServiceImpl.class);
+
+    private static final Pattern IMPORT_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final int REASON_MAX = 500;
+
+    private static final String INSERT_QUESTION = "INSERT INTO questions (question_text, optiona, optionb, optionc, "
+            + "optiond, correct_answer, difficulty, category, time_limit) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REJECTION =
+            "INSERT INTO question_import_rejections (import_id, row_no, reason) VALUES (?, ?, ?)";
+    private static final String UPDATE_CHECKPOINT = "UPDATE question_imports SET rows_read = ?, "
+            + "rows_imported = rows_imported + ?, rows_rejected = rows_rejected + ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final QuestionBankService questionBankService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${quiz.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    // Parser threads; 0 uses one per available processor
+    @Value("${quiz.import.parallelism:0}")
+    private int parallelism = 0;
+
+    @Value("${quiz.import.reported-rejections:100}")
+    private int reportedRejections = 100;
+
+    // Imports running in this instance, by ID
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public QuestionImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     QuestionBankService questionBankService,
+                                     ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.questionBankService = questionBankService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public QuestionImportDTO importQuestions(String importId, QuestionImportFormat format, InputStream input) {
+        String id = importId != null ? importId : UUID.randomUUID().toString();
+        if (!IMPORT_ID.matcher(id).matches()) {
+            throw new QuizException("Import ID must be 1 to 64 letters, digits, '.', '_' or '-'");
+        }
+        if (!running.add(id)) {
+            throw new QuizException("Import " + id + " is already running");
+        }
+        try {
+            QuestionImportDTO existing = findImport(id);
+            if (existing != null && existing.getStatus() == QuestionImportStatus.COMPLETED) {
+                logger.info("Import {} already completed; nothing to resume", id);
+                return withRejections(existing);
+            }
+            if (existing != null && existing.getFormat() != format) {
+                throw new QuizException("Import " + id + " was started as " + existing.getFormat());
+            }
+            return attempt(id, format, input, existing);
+        } finally {
+            running.remove(id);
+        }
+    }
+
+    // Only a failure of the attempt itself marks the import FAILED
+    private QuestionImportDTO attempt(String id, QuestionImportFormat format, InputStream input,
+                                      QuestionImportDTO existing) {
+        try {
+            long resumeAfter = begin(id, format, existing);
+            long started = System.nanoTime();
+            long imported = run(id, format, input, resumeAfter);
+            setStatus(id, QuestionImportStatus.COMPLETED);
+            QuestionImportDTO result = getImport(id);
+            // Rows committed by an earlier, failed attempt are loaded here as well
+            if (result.getRowsImported() > 0) {
+                questionBankService.refresh();
+            }
+            logger.info("Import {} completed: {} rows imported ({} in this run), {} rejected, in {} ms", id,
+                    result.getRowsImported(), imported, result.getRowsRejected(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return result;
+        } catch (IOException e) {
+            setStatus(id, QuestionImportStatus.FAILED);
+            logger.error("Import {} failed reading its input", id, e);
+            throw new QuizException("Import " + id + " failed reading its input: " + e.getMessage());
+        } catch (RuntimeException e) {
+            setStatus(id, QuestionImportStatus.FAILED);
+            throw e;
+        }
+    }
+
+    @Override
+    public QuestionImportDTO getImport(String importId) {
+        QuestionImportDTO found = findImport(importId);
+        if (found == null) {
+            throw new QuizException("Import not found: " + importId);
+        }
+        return withRejections(found);
+    }
+
+    // Returns the row the import resumes after
+    private long begin(String id, QuestionImportFormat format, QuestionImportDTO existing) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (existing == null) {
+            jdbcTemplate.update("INSERT INTO question_imports (id, format, status, started_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?)", id, format.name(), QuestionImportStatus.RUNNING.name(), now, now);
+            logger.info("Import {} started ({})", id, format);
+            return 0;
+        }
+        setStatus(id, QuestionImportStatus.RUNNING);
+        logger.info("Import {} resuming after row {}", id, existing.getRowsRead());
+        return existing.getRowsRead();
+    }
+
+    private long run(String id, QuestionImportFormat format, InputStream input, long resumeAfter)
+            throws IOException {
+        QuestionRecordReader reader = new QuestionRecordReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), format);
+        QuestionRowParser parser = format == QuestionImportFormat.CSV
+                ? QuestionRowParser.csv(reader.readHeader())
+                : QuestionRowParser.jsonl(objectMapper);
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, parserThreads());
+        Deque<Future<List<ParsedRow>>> inFlight = new ArrayDeque<>();
+        long imported = 0;
+        try {
+            List<RawRecord> chunk = new ArrayList<>(chunkSize);
+            RawRecord record;
+            while ((record = reader.next()) != null) {
+                if (record.row() <= resumeAfter) {
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    inFlight.add(submit(executor, parser, chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                    if (inFlight.size() > workers) {
+                        imported += write(id, await(inFlight.poll()));
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(executor, parser, chunk));
+            }
+            while (!inFlight.isEmpty()) {
+                imported += write(id, await(inFlight.poll()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return imported;
+    }
+
+    private static Future<List<ParsedRow>> submit(ExecutorService executor, QuestionRowParser parser,
+                                                  List<RawRecord> chunk) {
+        return executor.submit(() -> parser.parse(chunk));
+    }
+
+    private static List<ParsedRow> await(Future<List<ParsedRow>> parsed) {
+        try {
+            return parsed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QuizException("Interrupted while importing questions");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new IllegalStateException("Failed to parse import chunk", e.getCause());
+        }
+    }
+
+    // One transaction per chunk: its questions, its rejected rows and the checkpoint past it
+    private int write(String id, List<ParsedRow> rows) {
+        List<Question> questions = new ArrayList<>(rows.size());
+        List<ParsedRow> rejected = new ArrayList<>();
+        for (ParsedRow row : rows) {
+            if (row.question() != null) {
+                questions.add(row.question());
+            } else {
+                rejected.add(row);
+            }
+        }
+        long lastRow = rows.get(rows.size() - 1).row();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!questions.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_QUESTION, questions, questions.size(), (ps, question) -> {
+                    ps.setString(1, question.getQuestionText());
+                    ps.setString(2, question.getOptionA());
+                    ps.setString(3, question.getOptionB());
+                    ps.setString(4, question.getOptionC());
+                    ps.setString(5, question.getOptionD());
+                    ps.setString(6, question.getCorrectAnswer());
+                    ps.setString(7, question.getDifficulty().name());
+                    ps.setString(8, question.getCategory().name());
+                    ps.setInt(9, question.getTimeLimit());
+                });
+            }
+            if (!rejected.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_REJECTION, rejected, rejected.size(), (ps, row) -> {
+                    ps.setString(1, id);
+                    ps.setLong(2, row.row());
+                    ps.setString(3, row.rejection().length() > REASON_MAX
+                            ? row.rejection().substring(0, REASON_MAX)
+                            : row.rejection());
+                });
+            }
+            jdbcTemplate.update(UPDATE_CHECKPOINT, lastRow, questions.size(), rejected.size(),
+                    Timestamp.valueOf(LocalDateTime.now()), id);
+        });
+        logger.debug("Import {}: committed rows up to {} ({} imported, {} rejected)",
+                id, lastRow, questions.size(), rejected.size());
+        return questions.size();
+    }
+
+    private void setStatus(String id, QuestionImportStatus status) {
+        jdbcTemplate.update("UPDATE question_imports SET status = ?, updated_at = ? WHERE id = ?",
+                status.name(), Timestamp.valueOf(LocalDateTime.now()), id);
+    }
+
+    private QuestionImportDTO findImport(String id) {
+        List<QuestionImportDTO> found = jdbcTemplate.query("SELECT id, format, status, rows_read, rows_imported, "
+                + "rows_rejected, started_at, updated_at FROM question_imports WHERE id = ?", (rs, rowNum) -> {
+                    QuestionImportDTO dto = new QuestionImportDTO();
+                    dto.setImportId(rs.getString("id"));
+                    dto.setFormat(QuestionImportFormat.valueOf(rs.getString("format")));
+                    dto.setStatus(QuestionImportStatus.valueOf(rs.getString("status")));
+                    dto.setRowsRead(rs.getLong("rows_read"));
+                    dto.setRowsImported(rs.getLong("rows_imported"));
+                    dto.setRowsRejected(rs.getLong("rows_rejected"));
+                    dto.setStartedAt(rs.getTimestamp("started_at").toLocalDateTime());
+                    dto.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+                    return dto;
+                }, id);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private QuestionImportDTO withRejections(QuestionImportDTO dto) {
+        dto.setRejections(jdbcTemplate.query("SELECT row_no, reason FROM question_import_rejections "
+                        + "WHERE import_id = ? ORDER BY row_no LIMIT ?",
+                (rs, rowNum) -> new QuestionImportRejectionDTO(rs.getLong("row_no"), rs.getString("reason")),
+                dto.getImportId(), reportedRejections));
+        return dto;
+    }
+
+    private static ThreadFactory parserThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = ExecutionModeConfig.platformThread(task);
+            thread.setName("question-import-" + count.incrementAndGet());
+            return thread;
+        };
+    }
+}
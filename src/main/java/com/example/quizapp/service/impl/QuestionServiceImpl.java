@@ -1,17 +1,33 @@
 package com.example.quizapp.service.impl;
 
+import com.example.quizapp.cache.QuestionPayload;
+import com.example.quizapp.cache.QuestionSnapshot;
 import com.example.quizapp.dto.QuestionDTO;
+import com.example.quizapp.dto.QuestionPayloadDTO;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.enums.QuestionSelectionMode;
 import com.example.quizapp.exception.QuizException;
 import com.example.quizapp.model.Question;
 import com.example.quizapp.model.QuizSession;
 import com.example.quizapp.repository.QuestionRepository;
+import com.example.quizapp.service.interfaces.QuestionBankService;
 import com.example.quizapp.service.interfaces.QuestionService;
+import com.example.quizapp.service.interfaces.QuizMetricsService;
+import com.example.quizapp.service.interfaces.SessionDeckService;
 import com.example.quizapp.service.interfaces.SessionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -19,34 +35,135 @@ public class QuestionServiceImpl implements QuestionService {
     private static final Logger logger = LoggerFactory.getLogger(QuestionServiceImpl.class);
 
     private final QuestionRepository questionRepository;
+    private final QuestionBankService questionBankService;
+    private final SessionDeckService sessionDeckService;
     private final SessionService sessionService;
+    private final QuizMetricsService quizMetricsService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${quiz.question.selection-mode:MEMORY}")
+    private QuestionSelectionMode selectionMode = QuestionSelectionMode.MEMORY;
+
+    @Value("${quiz.batch.max-size:50}")
+    private int maxBatchSize = 50;
 
     @Override
-    @Transactional
     public QuestionDTO getNextQuestion(Long sessionId) {
-        logger.debug("Fetching next question for session: {}", sessionId);
-        QuizSession session = sessionService.validateAndUpdateSession(sessionId);
+        return getNextQuestion(sessionId, null, null);
+    }
 
-        Question question = questionRepository.findRandomQuestion();
-        if (question == null) {
-            throw new QuizException("No questions available");
-        }
+    @Override
+    public QuestionDTO getNextQuestion(Long sessionId, Category category, Difficulty difficulty) {
+        logger.debug("Fetching next question for session: {} (category={}, difficulty={})",
+                sessionId, category, difficulty);
+        long started = System.nanoTime();
+        QuizSession session = sessionService.validateAndUpdateSession(sessionId);
+        QuestionSnapshot question = drawQuestion(session, category, difficulty);
 
         // Store the current question ID in the session
-        session.setCurrentQuestionId(question.getId());
-        sessionService.saveSession(session);
-
-        QuestionDTO dto = mapQuestionToDTO(question);
+        sessionService.assignQuestion(session, question.id());
+        QuestionDTO dto = mapSnapshotToDTO(question);
         dto.setTimestamp(System.currentTimeMillis());
+        quizMetricsService.questionServed(System.nanoTime() - started);
 
         logger.info("Question retrieved: Category={}, Difficulty={}",
-                question.getCategory(), question.getDifficulty());
+                dto.getCategory(), dto.getDifficulty());
         return dto;
     }
 
+    // Same draw as getNextQuestion, answered with the question's JSON encoded on first use
+    @Override
+    public QuestionPayloadDTO getNextQuestionPayload(Long sessionId, Category category, Difficulty difficulty) {
+        logger.debug("Fetching next question for session: {} (category={}, difficulty={})",
+                sessionId, category, difficulty);
+        long started = System.nanoTime();
+        QuizSession session = sessionService.validateAndUpdateSession(sessionId);
+        QuestionSnapshot question = drawQuestion(session, category, difficulty);
+
+        sessionService.assignQuestion(session, question.id());
+        QuestionPayloadDTO payload = new QuestionPayloadDTO(
+                questionBankService.payload(question, this::encode), System.currentTimeMillis());
+        quizMetricsService.questionServed(System.nanoTime() - started);
+
+        logger.info("Question retrieved: Category={}, Difficulty={}",
+                question.category(), question.difficulty());
+        return payload;
+    }
+
+    private QuestionSnapshot drawQuestion(QuizSession session, Category category, Difficulty difficulty) {
+        QuestionSnapshot question = selectQuestion(session, category, difficulty);
+        if (question == null) {
+            throw noQuestionsAvailable(category, difficulty);
+        }
+        return question;
+    }
+
+    // null when no question matches the filters
+    private QuestionSnapshot selectQuestion(QuizSession session, Category category, Difficulty difficulty) {
+        if (selectionMode == QuestionSelectionMode.SQL) {
+            Question entity = category == null && difficulty == null
+                    ? questionRepository.findRandomQuestion()
+                    : questionRepository.findRandomQuestion(
+                            category != null ? category.name() : null,
+                            difficulty != null ? difficulty.name() : null);
+            return entity != null ? QuestionSnapshot.from(entity) : null;
+        }
+        return sessionDeckService.drawQuestion(session, category, difficulty);
+    }
+
+    private QuestionPayload encode(QuestionSnapshot question) {
+        QuestionDTO dto = mapSnapshotToDTO(question);
+        dto.setTimestamp(QuestionPayload.TIMESTAMP_PLACEHOLDER);
+        try {
+            return QuestionPayload.of(question, objectMapper.writeValueAsBytes(dto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode question " + question.id(), e);
+        }
+    }
+
+    // Draws up to count questions in one call and reserves them for a batch submission.
+    // Fewer are returned when the filters or the session's unseen questions run out.
+    @Override
+    public List<QuestionDTO> getNextQuestions(Long sessionId, int count, Category category, Difficulty difficulty) {
+        if (count < 1 || count > maxBatchSize) {
+            throw new QuizException("Count must be between 1 and " + maxBatchSize);
+        }
+        logger.debug("Fetching {} questions for session: {} (category={}, difficulty={})",
+                count, sessionId, category, difficulty);
+        long started = System.nanoTime();
+        QuizSession session = sessionService.validateAndUpdateSession(sessionId);
+
+        List<QuestionDTO> questions = new ArrayList<>(count);
+        List<Long> questionIds = new ArrayList<>(count);
+        Set<Long> chosen = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            QuestionSnapshot question = selectQuestion(session, category, difficulty);
+            if (question == null) {
+                break;
+            }
+            // ORDER BY RAND() can pick the same question twice; it is served once
+            if (chosen.add(question.id())) {
+                questionIds.add(question.id());
+                questions.add(mapSnapshotToDTO(question));
+            }
+        }
+        if (questions.isEmpty()) {
+            throw noQuestionsAvailable(category, difficulty);
+        }
+
+        sessionService.reserveQuestions(session, questionIds);
+        long timestamp = System.currentTimeMillis();
+        questions.forEach(dto -> dto.setTimestamp(timestamp));
+        quizMetricsService.questionBatchServed(questions.size(), System.nanoTime() - started);
+
+        logger.info("Batch of {} questions retrieved for session {}", questions.size(), sessionId);
+        return questions;
+    }
+
     @Override
     public QuestionDTO mapQuestionToDTO(Question question) {
         QuestionDTO dto = new QuestionDTO();
+        dto.setQuestionId(question.getId());
         dto.setQuestionText(question.getQuestionText());
         dto.setOptionA(question.getOptionA());
         dto.setOptionB(question.getOptionB());
@@ -57,4 +174,26 @@ public class QuestionServiceImpl implements QuestionService {
         dto.setTimeLimit(question.getTimeLimit());
         return dto;
     }
+
+    private QuizException noQuestionsAvailable(Category category, Difficulty difficulty) {
+        if (category == null && difficulty == null) {
+            return new QuizException("No questions available");
+        }
+        return new QuizException("No questions available for category=" + category
+                + ", difficulty=" + difficulty);
+    }
+
+    private QuestionDTO mapSnapshotToDTO(QuestionSnapshot question) {
+        QuestionDTO dto = new QuestionDTO();
+        dto.setQuestionId(question.id());
+        dto.setQuestionText(question.questionText());
+        dto.setOptionA(question.optionA());
+        dto.setOptionB(question.optionB());
+        dto.setOptionC(question.optionC());
+        dto.setOptionD(question.optionD());
+        dto.setCategory(question.category());
+        dto.setDifficulty(question.difficulty());
+        dto.setTimeLimit(question.timeLimit());
+        return dto;
+    }
 }
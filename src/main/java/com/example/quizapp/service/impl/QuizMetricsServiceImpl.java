@@ -0,0 +1,177 @@
+package com.example.quizapp.service.impl;
+
+import com.example.quizapp.cache.SessionStore;
+import com.example.quizapp.enums.SessionValidationOutcome;
+import com.example.quizapp.service.interfaces.GlobalCounterService;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import com.example.quizapp.service.interfaces.QuizMetricsService;
+import com.example.quizapp.service.interfaces.SessionDeckService;
+import com.example.quizapp.service.interfaces.SessionExpiryService;
+import com.example.quizapp.service.interfaces.UserResponseBatchService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer meters for the quiz services, scraped through the actuator Prometheus
+ * endpoint. Every timer and counter is registered once up front, so recording is a
+ * plain field access with no registry lookup or tag allocation per call. Gauges and the
+ * cache hit counters read the tallies the services already keep, and only when scraped.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuizMetricsServiceImpl implements QuizMetricsService {
+
+    private final MeterRegistry meterRegistry;
+    private final SessionStore sessionStore;
+    private final QuestionBankService questionBankService;
+    private final SessionDeckService sessionDeckService;
+    private final SessionExpiryService sessionExpiryService;
+    private final GlobalCounterService globalCounterService;
+    private final UserResponseBatchService userResponseBatchService;
+
+    private Timer questionTimer;
+    private Timer questionBatchTimer;
+    private DistributionSummary questionBatchSize;
+    private Timer correctAnswerTimer;
+    private Timer incorrectAnswerTimer;
+    private Timer answerBatchTimer;
+    private Counter correctAnswers;
+    private Counter incorrectAnswers;
+    private Counter rejectedAnswers;
+    private Timer dashboardTimer;
+    private final Map<SessionValidationOutcome, Timer> validationTimers = new EnumMap<>(SessionValidationOutcome.class);
+    private Timer cleanupTimer;
+    private Counter cleanedUpSessions;
+
+    @PostConstruct
+    public void register() {
+        questionTimer = timer("quiz.question.fetch", "Time to draw and serve questions", "type", "single");
+        questionBatchTimer = timer("quiz.question.fetch", "Time to draw and serve questions", "type", "batch");
+        questionBatchSize = DistributionSummary.builder("quiz.question.batch.size")
+                .description("Questions served per batch fetch")
+                .register(meterRegistry);
+        correctAnswerTimer = timer("quiz.answer.submit", "Time to grade and store an answer", "result", "correct");
+        incorrectAnswerTimer = timer("quiz.answer.submit", "Time to grade and store an answer", "result", "incorrect");
+        answerBatchTimer = timer("quiz.answer.batch.submit", "Time to grade and store a batch of answers");
+        correctAnswers = answers("correct");
+        incorrectAnswers = answers("incorrect");
+        rejectedAnswers = answers("rejected");
+        dashboardTimer = timer("quiz.dashboard", "Time to build a session dashboard");
+        for (SessionValidationOutcome outcome : SessionValidationOutcome.values()) {
+            validationTimers.put(outcome, timer("quiz.session.validate", "Time to validate a session",
+                    "outcome", outcome.name().toLowerCase(Locale.ROOT)));
+        }
+        cleanupTimer = timer("quiz.session.cleanup", "Time of the scheduled inactive session cleanup");
+        cleanedUpSessions = Counter.builder("quiz.session.cleanup.expired")
+                .description("Sessions deactivated by the scheduled cleanup")
+                .register(meterRegistry);
+
+        gauge("quiz.sessions.active", "Sessions not yet expired", globalCounterService,
+                GlobalCounterService::getActiveSessions);
+        gauge("quiz.sessions.cached", "Sessions held in the session store", sessionStore, SessionStore::size);
+        gauge("quiz.session.decks", "Per-session question decks held in memory", sessionDeckService,
+                SessionDeckService::size);
+        gauge("quiz.session.expiry.tracked", "Sessions on the expiry wheel", sessionExpiryService,
+                SessionExpiryService::getTrackedCount);
+        gauge("quiz.question.bank.size", "Questions in the in-memory question bank", questionBankService,
+                QuestionBankService::size);
+        gauge("quiz.responses.batch.queue", "Responses waiting for the group-commit writer",
+                userResponseBatchService, UserResponseBatchService::getQueueSize);
+        FunctionCounter.builder("quiz.sessions.expired", sessionExpiryService, SessionExpiryService::getTotalExpired)
+                .description("Sessions deactivated by expiry")
+                .register(meterRegistry);
+
+        cache("quiz.session.store", sessionStore, SessionStore::getHitCount, SessionStore::getMissCount);
+        cache("quiz.question.bank", questionBankService, QuestionBankService::getHitCount,
+                QuestionBankService::getMissCount);
+    }
+
+    @Override
+    public void questionServed(long nanos) {
+        questionTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void questionBatchServed(int questions, long nanos) {
+        questionBatchTimer.record(nanos, TimeUnit.NANOSECONDS);
+        questionBatchSize.record(questions);
+    }
+
+    @Override
+    public void answerSubmitted(boolean correct, long nanos) {
+        if (correct) {
+            correctAnswerTimer.record(nanos, TimeUnit.NANOSECONDS);
+            correctAnswers.increment();
+        } else {
+            incorrectAnswerTimer.record(nanos, TimeUnit.NANOSECONDS);
+            incorrectAnswers.increment();
+        }
+    }
+
+    @Override
+    public void answerBatchSubmitted(int correct, int incorrect, int rejected, long nanos) {
+        answerBatchTimer.record(nanos, TimeUnit.NANOSECONDS);
+        correctAnswers.increment(correct);
+        incorrectAnswers.increment(incorrect);
+        rejectedAnswers.increment(rejected);
+    }
+
+    @Override
+    public void dashboardServed(long nanos) {
+        dashboardTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void sessionValidated(SessionValidationOutcome outcome, long nanos) {
+        validationTimers.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void sessionsCleanedUp(int expired, long nanos) {
+        cleanupTimer.record(nanos, TimeUnit.NANOSECONDS);
+        cleanedUpSessions.increment(expired);
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return Timer.builder(name).description(description).tags(tags).register(meterRegistry);
+    }
+
+    private Counter answers(String result) {
+        return Counter.builder("quiz.answers")
+                .description("Answers submitted, single or in batches")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private <T> void gauge(String name, String description, T source, ToDoubleFunction<T> value) {
+        Gauge.builder(name, source, value).description(description).register(meterRegistry);
+    }
+
+    // Lookup counts by result plus the hit ratio, so dashboards need no PromQL division
+    private <T> void cache(String name, T source, ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+        FunctionCounter.builder(name + ".lookups", source, hits)
+                .description("Cache lookups").tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder(name + ".lookups", source, misses)
+                .description("Cache lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder(name + ".hit.ratio", source, s -> {
+                    double hit = hits.applyAsDouble(s);
+                    double total = hit + misses.applyAsDouble(s);
+                    return total == 0 ? 0 : hit / total;
+                })
+                .description("Share of cache lookups that were hits")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.quizapp.service.impl;
+
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.cache.SessionDeck;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.model.QuizSession;
+import com.example.quizapp.repository.QuizSessionRepository;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import com.example.quizapp.service.interfaces.SessionDeckService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Draws only touch the in-memory deck; changed decks are written back by flushDecks
+@Service
+@RequiredArgsConstructor
+public class SessionDeckServiceImpl implements SessionDeckService {
+    private static final Logger logger = LoggerFactory.getLogger(SessionDeckServiceImpl.class);
+
+    private final QuestionBankService questionBankService;
+    private final QuizSessionRepository quizSessionRepository;
+
+    private final Map<Long, SessionDeck> decks = new ConcurrentHashMap<>();
+
+    @Override
+    public QuestionSnapshot drawQuestion(QuizSession session, Category category, Difficulty difficulty) {
+        SessionDeck deck = decks.computeIfAbsent(session.getId(),
+                id -> questionBankService.restoreDeck(session.getSeenQuestions()));
+        synchronized (deck) {
+            return questionBankService.drawQuestion(category, difficulty, deck);
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${quiz.session.deck-flush-ms:15000}")
+    public void flushDecks() {
+        int flushed = 0;
+        for (Map.Entry<Long, SessionDeck> entry : decks.entrySet()) {
+            SessionDeck deck = entry.getValue();
+            byte[] stored;
+            synchronized (deck) {
+                if (!deck.takeDirty()) {
+                    continue;
+                }
+                stored = questionBankService.storeDeck(deck);
+            }
+            quizSessionRepository.updateSeenQuestions(entry.getKey(), stored);
+            flushed++;
+        }
+        if (flushed > 0) {
+            logger.debug("Persisted seen questions for {} sessions", flushed);
+        }
+    }
+
+    @Override
+    public void evict(Long sessionId) {
+        decks.remove(sessionId);
+    }
+
+    @Override
+    public int size() {
+        return decks.size();
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.quizapp.service.impl;
+
+import com.example.quizapp.cache.CachedSession;
+import com.example.quizapp.cache.ExpiryWheel;
+import com.example.quizapp.cache.SessionStore;
+import com.example.quizapp.model.QuizSession;
+import com.example.quizapp.repository.QuizSessionRepository;
+import com.example.quizapp.service.interfaces.GlobalCounterService;
+import com.example.quizapp.service.interfaces.SessionDeckService;
+import com.example.quizapp.service.interfaces.SessionExpiryService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Expires idle sessions. Sessions held in the {@link SessionStore} are tracked in an
+ * {@link ExpiryWheel} and checked when their deadline comes due; sessions that are only
+ * in the database are found by a periodic indexed sweep. Either way expired sessions
+ * are deactivated with bulk updates of at most {@code chunkSize} rows.
+ */
+@Service
+public class SessionExpiryServiceImpl implements SessionExpiryService {
+    private static final Logger logger = LoggerFactory.getLogger(SessionExpiryServiceImpl.class);
+
+    private final QuizSessionRepository quizSessionRepository;
+    private final SessionStore sessionStore;
+    private final SessionDeckService sessionDeckService;
+    private final GlobalCounterService globalCounterService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${quiz.session.timeout.minutes:30}")
+    private int sessionTimeoutMinutes = 30;
+
+    @Value("${quiz.session.expiry.tick-ms:1000}")
+    private long tickMillis = 1000;
+
+    @Value("${quiz.session.expiry.wheel-size:2048}")
+    private int wheelSize = 2048;
+
+    @Value("${quiz.session.expiry.chunk-size:500}")
+    private int chunkSize = 500;
+
+    private ExpiryWheel wheel;
+    private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder sweepCount = new LongAdder();
+    private final LongAdder totalExpired = new LongAdder();
+    private volatile int lastSweepExpired;
+    private volatile double lastSweepMillis;
+
+    public SessionExpiryServiceImpl(QuizSessionRepository quizSessionRepository,
+                                    SessionStore sessionStore,
+                                    SessionDeckService sessionDeckService,
+                                    GlobalCounterService globalCounterService,
+                                    PlatformTransactionManager transactionManager) {
+        this.quizSessionRepository = quizSessionRepository;
+        this.sessionStore = sessionStore;
+        this.sessionDeckService = sessionDeckService;
+        this.globalCounterService = globalCounterService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        wheel = new ExpiryWheel(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    @Override
+    public void track(QuizSession session) {
+        wheel.schedule(session.getId(), deadlineMillis(session.getLastAccessTime()));
+    }
+
+    @Override
+    public void expire(Long sessionId) {
+        wheel.cancel(sessionId);
+        pending.add(sessionId);
+    }
+
+    // Access times are not rescheduled on every request; a session whose deadline has
+    // moved on since it was scheduled is simply put back on the wheel when it comes due.
+    @Override
+    @Scheduled(fixedDelayString = "${quiz.session.expiry.tick-ms:1000}")
+    public int sweepWheel() {
+        long started = System.nanoTime();
+        List<Long> expired = new ArrayList<>();
+        for (Long id = pending.poll(); id != null; id = pending.poll()) {
+            expired.add(id);
+        }
+
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(sessionTimeoutMinutes);
+        for (Long id : wheel.advance(System.currentTimeMillis())) {
+            CachedSession cached = sessionStore.peek(id);
+            if (cached == null) {
+                continue;
+            }
+            LocalDateTime lastAccessTime = cached.getSession().getLastAccessTime();
+            if (cached.getSession().isActive() && !lastAccessTime.isBefore(threshold)) {
+                wheel.schedule(id, deadlineMillis(lastAccessTime));
+                continue;
+            }
+            cached.deactivate();
+            expired.add(id);
+        }
+
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        int deactivated = deactivate(expired);
+        recordSweep(deactivated, started);
+        logger.info("Expired {} sessions from the timing wheel in {} ms", deactivated, lastSweepMillis);
+        return deactivated;
+    }
+
+    // Backstop for sessions that are not held in memory, e.g. after a restart. Pages
+    // through the (active, last_access_time) index by id so skipped rows are not revisited.
+    @Override
+    public int sweepStoredSessions() {
+        long started = System.nanoTime();
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(sessionTimeoutMinutes);
+        PageRequest page = PageRequest.of(0, chunkSize);
+        int deactivated = 0;
+        long afterId = 0;
+
+        while (true) {
+            List<Long> ids = quizSessionRepository.findExpiredSessionIds(threshold, afterId, page);
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+
+            List<Long> expired = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                CachedSession cached = sessionStore.peek(id);
+                if (cached != null) {
+                    if (cached.getSession().isActive()
+                            && !cached.getSession().getLastAccessTime().isBefore(threshold)) {
+                        // Still in use; the stored access time just has not been flushed yet
+                        cached.markAccessDirty();
+                        continue;
+                    }
+                    cached.deactivate();
+                }
+                expired.add(id);
+            }
+            deactivated += deactivate(expired);
+
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        recordSweep(deactivated, started);
+        logger.info("Expired {} stored sessions in {} ms", deactivated, lastSweepMillis);
+        return deactivated;
+    }
+
+    private int deactivate(List<Long> ids) {
+        int deactivated = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            try {
+                Integer updated = transactionTemplate.execute(
+                        status -> quizSessionRepository.deactivateSessions(chunk));
+                deactivated += updated != null ? updated : 0;
+            } catch (RuntimeException e) {
+                logger.error("Failed to deactivate {} sessions; retrying on the next sweep", chunk.size(), e);
+                pending.addAll(chunk);
+                continue;
+            }
+            for (Long id : chunk) {
+                sessionStore.evict(id);
+                sessionDeckService.evict(id);
+            }
+        }
+        globalCounterService.sessionsDeactivated(deactivated);
+        return deactivated;
+    }
+
+    private void recordSweep(int expired, long startedNanos) {
+        lastSweepMillis = (System.nanoTime() - startedNanos) / 1_000_000.0;
+        lastSweepExpired = expired;
+        totalExpired.add(expired);
+        sweepCount.increment();
+    }
+
+    private long deadlineMillis(LocalDateTime lastAccessTime) {
+        return lastAccessTime.plusMinutes(sessionTimeoutMinutes)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public long getSweepCount() {
+        return sweepCount.sum();
+    }
+
+    @Override
+    public long getTotalExpired() {
+        return totalExpired.sum();
+    }
+
+    @Override
+    public int getLastSweepExpired() {
+        return lastSweepExpired;
+    }
+
+    @Override
+    public double getLastSweepMillis() {
+        return lastSweepMillis;
+    }
+
+    @Override
+    public int getTrackedCount() {
+        return wheel.size();
+    }
+}
@@ -1,20 +1,42 @@
 package com.example.quizapp.service.impl;
 
+import com.example.quizapp.cache.CachedSession;
+import com.example.quizapp.cache.LatencyHistogram;
+import com.example.quizapp.cache.OutcomeRing;
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.cache.RecentOutcomes;
+import com.example.quizapp.cache.RecordedAnswer;
+import com.example.quizapp.cache.SessionStore;
 import com.example.quizapp.dto.QuizSessionDTO;
+import com.example.quizapp.dto.ResponseTimeCountDTO;
+import com.example.quizapp.enums.SessionValidationOutcome;
 import com.example.quizapp.exception.QuizException;
 import com.example.quizapp.model.QuizSession;
 import com.example.quizapp.repository.QuizSessionRepository;
+import com.example.quizapp.repository.SessionAggregateRepository;
+import com.example.quizapp.repository.UserResponseRepository;
+import com.example.quizapp.service.interfaces.GlobalCounterService;
+import com.example.quizapp.service.interfaces.QuizMetricsService;
+import com.example.quizapp.service.interfaces.SessionDeckService;
+import com.example.quizapp.service.interfaces.SessionExpiryService;
 import com.example.quizapp.service.interfaces.SessionService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -22,10 +44,20 @@ public class SessionServiceImpl implements SessionService {
     private static final Logger logger = LoggerFactory.getLogger(SessionServiceImpl.class);
 
     private final QuizSessionRepository quizSessionRepository;
+    private final SessionAggregateRepository sessionAggregateRepository;
+    private final UserResponseRepository userResponseRepository;
+    private final SessionDeckService sessionDeckService;
+    private final SessionStore sessionStore;
+    private final SessionExpiryService sessionExpiryService;
+    private final GlobalCounterService globalCounterService;
+    private final QuizMetricsService quizMetricsService;
 
     @Value("${quiz.session.timeout.minutes:30}")
     private int sessionTimeoutMinutes;
 
+    @Value("${quiz.session.access-persist-seconds:60}")
+    private long accessPersistSeconds = 60;
+
     @Override
     @Transactional
     public QuizSessionDTO startNewSession() {
@@ -39,6 +71,9 @@ public class SessionServiceImpl implements SessionService {
             session.setCorrectAnswers(0);
 
             QuizSession savedSession = quizSessionRepository.save(session);
+            sessionStore.put(savedSession);
+            sessionExpiryService.track(savedSession);
+            globalCounterService.sessionStarted();
             logger.info("New quiz session created with ID: {}", savedSession.getId());
 
             QuizSessionDTO dto = new QuizSessionDTO();
@@ -57,55 +92,261 @@ public class SessionServiceImpl implements SessionService {
         quizSessionRepository.save(session);
     }
 
+    // Served from the session store; only a cold session costs a database read.
+    // Access times are written back by flushAccessTimes.
     @Override
-    @Transactional
     public QuizSession validateAndUpdateSession(Long sessionId) {
-        if (sessionId == null) {
-            logger.error("Session ID is null");
-            throw new QuizException("Session ID is required");
+        long started = System.nanoTime();
+        SessionValidationOutcome outcome = SessionValidationOutcome.INVALID;
+        try {
+            if (sessionId == null) {
+                logger.error("Session ID is null");
+                throw new QuizException("Session ID is required");
+            }
+
+            CachedSession cached = sessionStore.get(sessionId);
+            if (cached == null) {
+                QuizSession loaded = quizSessionRepository.findById(sessionId)
+                        .orElseThrow(() -> {
+                            logger.error("Invalid session ID: {}", sessionId);
+                            return new QuizException("Invalid session ID: " + sessionId);
+                        });
+                outcome = SessionValidationOutcome.LOADED;
+                if (!loaded.isActive()) {
+                    outcome = SessionValidationOutcome.EXPIRED;
+                    logger.warn("Attempt to access expired session: {}", sessionId);
+                    throw new QuizException("Session has expired");
+                }
+                cached = sessionStore.put(loaded);
+                sessionExpiryService.track(cached.getSession());
+            } else {
+                outcome = SessionValidationOutcome.HIT;
+            }
+
+            QuizSession session = cached.getSession();
+            if (!session.isActive()) {
+                outcome = SessionValidationOutcome.EXPIRED;
+                logger.warn("Attempt to access expired session: {}", sessionId);
+                throw new QuizException("Session has expired");
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            if (session.getLastAccessTime().isBefore(now.minusMinutes(sessionTimeoutMinutes))) {
+                outcome = SessionValidationOutcome.TIMED_OUT;
+                cached.deactivate();
+                sessionStore.evict(sessionId);
+                sessionDeckService.evict(sessionId);
+                sessionExpiryService.expire(sessionId);
+                logger.warn("Session timed out: {}", sessionId);
+                throw new QuizException("Session has timed out");
+            }
+
+            cached.touch(now, Duration.ofSeconds(accessPersistSeconds));
+            return session;
+        } finally {
+            quizMetricsService.sessionValidated(outcome, System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void assignQuestion(QuizSession session, Long questionId) {
+        CachedSession cached = sessionStore.peek(session.getId());
+        if (cached != null) {
+            cached.assignQuestion(questionId, System.nanoTime());
+        } else {
+            session.setCurrentQuestionId(questionId);
+        }
+        quizSessionRepository.updateCurrentQuestion(session.getId(), questionId);
+    }
+
+    // Measured on the monotonic clock from when getNextQuestion served the question
+    @Override
+    public Long responseTimeMillis(QuizSession session) {
+        CachedSession cached = sessionStore.peek(session.getId());
+        return cached != null ? cached.millisSinceQuestionIssued(System.nanoTime()) : null;
+    }
+
+    // Batch-served questions do not become the current question, so /submit cannot
+    // answer them, and the deck's seen set is written back by SessionDeckService, so
+    // nothing is persisted here
+    @Override
+    public void reserveQuestions(QuizSession session, List<Long> questionIds) {
+        CachedSession cached = sessionStore.peek(session.getId());
+        if (cached != null) {
+            cached.reserveQuestions(questionIds, System.nanoTime());
+        }
+    }
+
+    @Override
+    public Long claimReservedQuestion(QuizSession session, Long questionId) {
+        CachedSession cached = sessionStore.peek(session.getId());
+        return cached != null ? cached.claimReservedQuestion(questionId, System.nanoTime()) : null;
+    }
+
+    // An unmeasured answer counts towards accuracy but not towards the timing totals
+    @Override
+    @Transactional
+    public void recordAnswer(QuizSession session, QuestionSnapshot question, boolean correct, Long responseMillis) {
+        boolean timed = responseMillis != null;
+        boolean inTime = timed && responseMillis <= question.timeLimit() * 1000L;
+        quizSessionRepository.incrementCounters(session.getId(), correct ? 1 : 0);
+        sessionAggregateRepository.recordAnswer(session.getId(), question.category().name(),
+                question.difficulty().name(), correct ? 1 : 0, timed ? 1 : 0,
+                timed ? responseMillis : 0, inTime ? 1 : 0);
+        globalCounterService.answerRecorded();
+        if (timed) {
+            globalCounterService.recordResponseTime(question.category(), question.difficulty(), responseMillis);
+        }
+        afterCommit(() -> {
+            CachedSession cached = sessionStore.peek(session.getId());
+            if (cached != null) {
+                cached.recordAnswer(correct, responseMillis);
+            } else {
+                session.setTotalQuestions(session.getTotalQuestions() + 1);
+                if (correct) {
+                    session.setCorrectAnswers(session.getCorrectAnswers() + 1);
+                }
+                session.setVersion(session.getVersion() + 1);
+            }
+        });
+    }
+
+    // One counter update for the whole batch and one summary upsert per category and
+    // difficulty pair, instead of one of each per answer
+    @Override
+    @Transactional
+    public void recordAnswers(QuizSession session, List<RecordedAnswer> answers) {
+        if (answers.isEmpty()) {
+            return;
+        }
+        int correct = (int) answers.stream().filter(RecordedAnswer::correct).count();
+        quizSessionRepository.addToCounters(session.getId(), answers.size(), correct);
+
+        Map<String, List<RecordedAnswer>> byBucket = new LinkedHashMap<>();
+        for (RecordedAnswer answer : answers) {
+            String bucket = answer.question().category().name() + "/" + answer.question().difficulty().name();
+            byBucket.computeIfAbsent(bucket, key -> new ArrayList<>()).add(answer);
         }
+        for (List<RecordedAnswer> bucket : byBucket.values()) {
+            QuestionSnapshot question = bucket.get(0).question();
+            sessionAggregateRepository.recordAnswers(session.getId(), question.category().name(),
+                    question.difficulty().name(), bucket.size(),
+                    (int) bucket.stream().filter(RecordedAnswer::correct).count(),
+                    (int) bucket.stream().filter(RecordedAnswer::timed).count(),
+                    bucket.stream().filter(RecordedAnswer::timed).mapToLong(RecordedAnswer::responseMillis).sum(),
+                    (int) bucket.stream().filter(RecordedAnswer::inTime).count());
+        }
+
+        globalCounterService.answersRecorded(answers.size());
+        for (RecordedAnswer answer : answers) {
+            if (answer.timed()) {
+                globalCounterService.recordResponseTime(answer.question().category(),
+                        answer.question().difficulty(), answer.responseMillis());
+            }
+        }
+        afterCommit(() -> {
+            CachedSession cached = sessionStore.peek(session.getId());
+            if (cached != null) {
+                cached.recordAnswers(answers);
+            } else {
+                session.setTotalQuestions(session.getTotalQuestions() + answers.size());
+                session.setCorrectAnswers(session.getCorrectAnswers() + correct);
+                session.setVersion(session.getVersion() + 1);
+            }
+        });
+    }
+
+    // The in-memory session moves to its new version only once the rows it describes are
+    // visible; otherwise statistics built from uncommitted aggregates would be cached, and
+    // ETagged, under that version
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Served from the session's ring buffer; stored responses are only read once, to
+    // seed the ring of a session that was loaded with answers already on record
+    @Override
+    public RecentOutcomes recentOutcomes(QuizSession session, int window) {
+        CachedSession cached = seededSession(session);
+        if (cached == null) {
+            OutcomeRing ring = new OutcomeRing(sessionStore.getRecentCapacity());
+            ring.reset(loadRecentOutcomes(session.getId()));
+            return ring.summarize(window);
+        }
+        return cached.recentOutcomes(window);
+    }
 
-        QuizSession session = quizSessionRepository.findById(sessionId)
-                .orElseThrow(() -> {
-                    logger.error("Invalid session ID: {}", sessionId);
-                    return new QuizException("Invalid session ID: " + sessionId);
-                });
+    @Override
+    public LatencyHistogram responseTimes(QuizSession session) {
+        CachedSession cached = seededSession(session);
+        return cached != null ? cached.getResponseTimes() : loadResponseTimes(session.getId());
+    }
 
-        if (!session.isActive()) {
-            logger.warn("Attempt to access expired session: {}", sessionId);
-            throw new QuizException("Session has expired");
+    private CachedSession seededSession(QuizSession session) {
+        CachedSession cached = sessionStore.peek(session.getId());
+        if (cached != null && cached.needsHistorySeed()) {
+            cached.seedHistory(loadRecentOutcomes(session.getId()), loadResponseTimes(session.getId()));
         }
+        return cached;
+    }
+
+    @Override
+    public int getRecentCapacity() {
+        return sessionStore.getRecentCapacity();
+    }
+
+    private List<Boolean> loadRecentOutcomes(Long sessionId) {
+        return userResponseRepository.findRecentCorrectness(sessionId,
+                PageRequest.of(0, sessionStore.getRecentCapacity()));
+    }
 
-        LocalDateTime timeoutThreshold = LocalDateTime.now().minusMinutes(sessionTimeoutMinutes);
-        if (session.getLastAccessTime().isBefore(timeoutThreshold)) {
-            session.setActive(false);
-            quizSessionRepository.save(session);
-            logger.warn("Session timed out: {}", sessionId);
-            throw new QuizException("Session has timed out");
+    // Stored response times only have second precision
+    private LatencyHistogram loadResponseTimes(Long sessionId) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (ResponseTimeCountDTO bucket : userResponseRepository.countByResponseTime(sessionId)) {
+            histogram.record(bucket.responseTime() * 1000L, bucket.count());
         }
+        return histogram;
+    }
 
-        session.setLastAccessTime(LocalDateTime.now());
-        return quizSessionRepository.save(session);
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${quiz.session.access-flush-ms:15000}")
+    public void flushAccessTimes() {
+        int flushed = 0;
+        for (CachedSession cached : sessionStore.sessions()) {
+            LocalDateTime accessTime = cached.takeDirtyAccessTime();
+            if (accessTime != null) {
+                quizSessionRepository.updateLastAccessTime(cached.getSession().getId(), accessTime);
+                flushed++;
+            }
+        }
+        if (flushed > 0) {
+            logger.debug("Persisted last access time for {} sessions", flushed);
+        }
     }
 
     @Override
-    @Scheduled(fixedRate = 300000) 
+    @Scheduled(fixedRate = 300000)
     public void cleanupInactiveSessions() {
         logger.debug("Running scheduled cleanup of inactive sessions");
+        long started = System.nanoTime();
         try {
-            LocalDateTime timeoutThreshold = LocalDateTime.now().minusMinutes(sessionTimeoutMinutes);
-            List<QuizSession> inactiveSessions = quizSessionRepository
-                    .findByActiveAndLastAccessTimeBefore(true, timeoutThreshold);
-
-            inactiveSessions.forEach(session -> {
-                session.setActive(false);
-                quizSessionRepository.save(session);
-                logger.info("Deactivated expired session: {}", session.getId());
-            });
-
-            logger.info("Cleaned up {} inactive sessions", inactiveSessions.size());
+            int expired = sessionExpiryService.sweepStoredSessions();
+            quizMetricsService.sessionsCleanedUp(expired, System.nanoTime() - started);
+            logger.info("Cleaned up {} inactive sessions", expired);
         } catch (Exception e) {
             logger.error("Error during session cleanup", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,35 @@
 package com.example.quizapp.service.impl;
 
+import com.example.quizapp.cache.CachedSession;
+import com.example.quizapp.cache.LatencyHistogram;
+import com.example.quizapp.cache.RecentOutcomes;
+import com.example.quizapp.cache.SessionStore;
+import com.example.quizapp.dto.AnswerAggregateDTO;
+import com.example.quizapp.dto.LatencyPercentilesDTO;
 import com.example.quizapp.dto.QuizDashboardDTO;
 import com.example.quizapp.dto.QuizStatsDTO;
+import com.example.quizapp.enums.AggregateDimension;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.exception.QuizException;
 import com.example.quizapp.model.QuizSession;
-import com.example.quizapp.model.UserResponse;
-import com.example.quizapp.repository.QuizSessionRepository;
+import com.example.quizapp.repository.SessionAggregateRepository;
 import com.example.quizapp.repository.UserResponseRepository;
+import com.example.quizapp.service.interfaces.GlobalCounterService;
+import com.example.quizapp.service.interfaces.QuizMetricsService;
 import com.example.quizapp.service.interfaces.SessionService;
 import com.example.quizapp.service.interfaces.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,23 +37,50 @@ public class StatisticsServiceImpl implements StatisticsService {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsServiceImpl.class);
 
     private final UserResponseRepository userResponseRepository;
-    private final QuizSessionRepository quizSessionRepository;
+    private final SessionAggregateRepository sessionAggregateRepository;
     private final SessionService sessionService;
+    private final GlobalCounterService globalCounterService;
+    private final QuizMetricsService quizMetricsService;
+    private final SessionStore sessionStore;
+
+    @Value("${quiz.stats.recent-window:3}")
+    private int defaultRecentWindow = 3;
 
     @Override
+    @Transactional(readOnly = true)
     public QuizStatsDTO getSessionStats(Long sessionId) {
-        QuizSession session = sessionService.validateAndUpdateSession(sessionId);
-        List<UserResponse> responses = userResponseRepository.findByQuizSession(session);
+        return getSessionStats(sessionService.validateAndUpdateSession(sessionId));
+    }
 
-        int totalQuestions = responses.size();
-        long correctAnswers = responses.stream()
-                .filter(UserResponse::isCorrect)
-                .count();
+    @Override
+    public QuizStatsDTO getSessionStats(QuizSession session) {
+        CachedSession cached = sessionStore.peek(session.getId());
+        if (cached == null) {
+            return buildStats(session);
+        }
+        long version = cached.getVersion();
+        QuizStatsDTO stats = cached.cachedStats(version);
+        if (stats == null) {
+            stats = buildStats(session);
+            cached.cacheStats(version, stats);
+        }
+        return stats;
+    }
+
+    @Override
+    public long getVersion(QuizSession session) {
+        CachedSession cached = sessionStore.peek(session.getId());
+        return cached != null ? cached.getVersion() : session.getVersion();
+    }
+
+    private QuizStatsDTO buildStats(QuizSession session) {
+        int totalQuestions = session.getTotalQuestions();
+        int correctAnswers = session.getCorrectAnswers();
 
         QuizStatsDTO stats = new QuizStatsDTO();
         stats.setTotalQuestions(totalQuestions);
-        stats.setCorrectAnswers((int) correctAnswers);
-        stats.setIncorrectAnswers(totalQuestions - (int) correctAnswers);
+        stats.setCorrectAnswers(correctAnswers);
+        stats.setIncorrectAnswers(totalQuestions - correctAnswers);
 
         if (totalQuestions > 0) {
             double accuracy = (double) correctAnswers / totalQuestions * 100;
@@ -49,89 +90,198 @@ public class StatisticsServiceImpl implements StatisticsService {
         return stats;
     }
 
+    // Reads the session's per-category and per-difficulty rows, so the cost does not
+    // grow with the number of answers
     @Override
     public QuizDashboardDTO getDashboard(Long sessionId) {
-        QuizSession session = sessionService.validateAndUpdateSession(sessionId);
-        List<UserResponse> responses = userResponseRepository.findByQuizSession(session);
+        return getDashboard(sessionId, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuizDashboardDTO getDashboard(Long sessionId, Integer window) {
+        int recentWindow = resolveRecentWindow(window);
+        return getDashboard(sessionService.validateAndUpdateSession(sessionId), recentWindow);
+    }
+
+    // A dashboard cached at the session's current version is served as is, including its
+    // application-wide figures (total sessions, latency percentiles) as of that version
+    @Override
+    @Transactional(readOnly = true)
+    public QuizDashboardDTO getDashboard(QuizSession session, Integer window) {
+        long started = System.nanoTime();
+        int recentWindow = resolveRecentWindow(window);
+        CachedSession cached = sessionStore.peek(session.getId());
+        long version = cached != null ? cached.getVersion() : session.getVersion();
+        QuizDashboardDTO dashboard = cached != null ? cached.cachedDashboard(version, recentWindow) : null;
+        if (dashboard == null) {
+            List<AnswerAggregateDTO> aggregates = loadAggregates(session);
+            LatencyHistogram responseTimes = sessionService.responseTimes(session);
+            dashboard = buildDashboard(session, aggregates, responseTimes,
+                    sessionService.recentOutcomes(session, recentWindow));
+            if (cached != null) {
+                cached.cacheDashboard(version, recentWindow, dashboard);
+            }
+        }
+        quizMetricsService.dashboardServed(System.nanoTime() - started);
+        return dashboard;
+    }
 
+    private QuizDashboardDTO buildDashboard(QuizSession session, List<AnswerAggregateDTO> aggregates,
+                                            LatencyHistogram responseTimes, RecentOutcomes recent) {
         QuizDashboardDTO dashboard = new QuizDashboardDTO();
 
-        dashboard.setTotalSessions(quizSessionRepository.count());
-        dashboard.setQuestionsAttempted(responses.size());
+        dashboard.setTotalSessions(globalCounterService.getTotalSessions());
+        dashboard.setQuestionsAttempted(session.getTotalQuestions());
 
-        calculateAccuracies(dashboard, responses);
+        calculateAccuracies(dashboard, session, aggregates);
 
-        calculateTimeStats(dashboard, responses);
+        calculateTimeStats(dashboard, aggregates);
 
-        dashboard.setRecentPerformance(calculateRecentPerformance(responses));
+        calculateLatencies(dashboard, responseTimes);
+
+        calculateRecentPerformance(dashboard, recent);
 
         return dashboard;
     }
 
-    private void calculateAccuracies(QuizDashboardDTO dashboard, List<UserResponse> responses) {
-        if (responses.isEmpty()) {
+    // Falls back to grouping the responses in SQL when the summary rows do not account
+    // for every answer, e.g. for answers recorded before the summary table existed
+    private List<AnswerAggregateDTO> loadAggregates(QuizSession session) {
+        List<AnswerAggregateDTO> aggregates = sessionAggregateRepository.findBySessionId(session.getId());
+        if (coversAllAnswers(session, aggregates)) {
+            return aggregates;
+        }
+        logger.debug("Summary rows do not cover all {} answers for session {}; grouping responses instead",
+                session.getTotalQuestions(), session.getId());
+        List<AnswerAggregateDTO> grouped = new ArrayList<>(userResponseRepository.aggregateByCategory(session.getId()));
+        grouped.addAll(userResponseRepository.aggregateByDifficulty(session.getId()));
+        return grouped;
+    }
+
+    private boolean coversAllAnswers(QuizSession session, List<AnswerAggregateDTO> aggregates) {
+        long counted = aggregates.stream()
+                .filter(a -> a.dimension() == AggregateDimension.CATEGORY)
+                .mapToLong(AnswerAggregateDTO::total)
+                .sum();
+        return counted == session.getTotalQuestions();
+    }
+
+    private void calculateAccuracies(QuizDashboardDTO dashboard, QuizSession session,
+                                     List<AnswerAggregateDTO> aggregates) {
+        if (session.getTotalQuestions() == 0) {
             dashboard.setOverallAccuracy(0.0);
             return;
         }
 
-        long correctAnswers = responses.stream()
-                .filter(UserResponse::isCorrect)
-                .count();
-        dashboard.setOverallAccuracy((double) correctAnswers / responses.size() * 100);
+        dashboard.setOverallAccuracy((double) session.getCorrectAnswers() / session.getTotalQuestions() * 100);
 
-        Map<String, Double> categoryAccuracy = responses.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getQuestion().getCategory().toString(),
-                        Collectors.averagingDouble(r -> r.isCorrect() ? 100 : 0)
-                ));
+        Map<String, Double> categoryAccuracy = accuracyBy(AggregateDimension.CATEGORY, aggregates);
         dashboard.setCategoryAccuracy(categoryAccuracy);
+        dashboard.setBestCategory(best(categoryAccuracy));
 
-        String bestCategory = categoryAccuracy.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("No data");
-        dashboard.setBestCategory(bestCategory);
-
-        Map<String, Double> difficultyAccuracy = responses.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getQuestion().getDifficulty().toString(),
-                        Collectors.averagingDouble(r -> r.isCorrect() ? 100 : 0)
-                ));
-        String bestDifficulty = difficultyAccuracy.entrySet().stream()
+        Map<String, Double> difficultyAccuracy = accuracyBy(AggregateDimension.DIFFICULTY, aggregates);
+        dashboard.setBestDifficulty(best(difficultyAccuracy));
+    }
+
+    private Map<String, Double> accuracyBy(AggregateDimension dimension, List<AnswerAggregateDTO> aggregates) {
+        Map<String, Double> accuracy = new LinkedHashMap<>();
+        for (AnswerAggregateDTO aggregate : aggregates) {
+            if (aggregate.dimension() == dimension && aggregate.total() > 0) {
+                accuracy.put(aggregate.bucket(), (double) aggregate.correct() / aggregate.total() * 100);
+            }
+        }
+        return accuracy;
+    }
+
+    private String best(Map<String, Double> accuracy) {
+        return accuracy.entrySet().stream()
                 .max(Map.Entry.comparingByValue())
                 .map(Map.Entry::getKey)
                 .orElse("No data");
-        dashboard.setBestDifficulty(bestDifficulty);
     }
 
-    private void calculateTimeStats(QuizDashboardDTO dashboard, List<UserResponse> responses) {
-        if (responses.isEmpty()) return;
-
-        double avgTime = responses.stream()
-                .mapToInt(UserResponse::getResponseTime)
-                .average()
-                .orElse(0);
-        dashboard.setAverageResponseTime(avgTime);
+    // Every answer is counted in exactly one category row, so those rows sum to the session
+    private void calculateTimeStats(QuizDashboardDTO dashboard, List<AnswerAggregateDTO> aggregates) {
+        int timed = 0;
+        long responseTimeMillisSum = 0;
+        int inTimeCount = 0;
+        for (AnswerAggregateDTO aggregate : aggregates) {
+            if (aggregate.dimension() == AggregateDimension.CATEGORY) {
+                timed += (int) aggregate.timed();
+                responseTimeMillisSum += aggregate.responseTimeMillisSum();
+                inTimeCount += (int) aggregate.inTime();
+            }
+        }
+        if (timed == 0) return;
 
-        int inTimeCount = (int) responses.stream()
-                .filter(r -> r.getResponseTime() <= r.getQuestion().getTimeLimit())
-                .count();
+        dashboard.setAverageResponseTime(responseTimeMillisSum / 1000.0 / timed);
         dashboard.setQuestionsAnsweredInTime(inTimeCount);
-        dashboard.setTotalQuestionsWithTimer(responses.size());
+        dashboard.setTotalQuestionsWithTimer(timed);
     }
 
-    private String calculateRecentPerformance(List<UserResponse> responses) {
-        if (responses.size() < 3) {
-            return "Not enough data (need 3 questions)";
+    // Session percentiles plus the application-wide ones for every category and difficulty
+    // that has measured answers
+    private void calculateLatencies(QuizDashboardDTO dashboard, LatencyHistogram sessionResponseTimes) {
+        dashboard.setResponseTimePercentiles(percentiles(sessionResponseTimes));
+
+        Map<String, LatencyPercentilesDTO> byCategory = new LinkedHashMap<>();
+        for (Category category : Category.values()) {
+            LatencyHistogram histogram = globalCounterService.getResponseTimes(category);
+            if (histogram.count() > 0) {
+                byCategory.put(category.name(), percentiles(histogram));
+            }
         }
+        dashboard.setCategoryResponseTimes(byCategory);
 
-        List<UserResponse> recent = responses.subList(0, Math.min(3, responses.size()));
-        double recentAccuracy = recent.stream()
-                .filter(UserResponse::isCorrect)
-                .count() * 100.0 / recent.size();
+        Map<String, LatencyPercentilesDTO> byDifficulty = new LinkedHashMap<>();
+        for (Difficulty difficulty : Difficulty.values()) {
+            LatencyHistogram histogram = globalCounterService.getResponseTimes(difficulty);
+            if (histogram.count() > 0) {
+                byDifficulty.put(difficulty.name(), percentiles(histogram));
+            }
+        }
+        dashboard.setDifficultyResponseTimes(byDifficulty);
+    }
 
-        if (recentAccuracy >= 70) return "Good Start!";
-        if (recentAccuracy >= 50) return "Keep Practicing";
-        return "Needs Focus";
+    private LatencyPercentilesDTO percentiles(LatencyHistogram histogram) {
+        LatencyPercentilesDTO percentiles = new LatencyPercentilesDTO();
+        percentiles.setCount(histogram.count());
+        percentiles.setP50(histogram.percentile(50));
+        percentiles.setP90(histogram.percentile(90));
+        percentiles.setP99(histogram.percentile(99));
+        return percentiles;
+    }
+
+    @Override
+    public int resolveRecentWindow(Integer window) {
+        if (window == null) {
+            return Math.min(defaultRecentWindow, sessionService.getRecentCapacity());
+        }
+        if (window < 1) {
+            throw new QuizException("Window must be at least 1");
+        }
+        return Math.min(window, sessionService.getRecentCapacity());
+    }
+
+    private void calculateRecentPerformance(QuizDashboardDTO dashboard, RecentOutcomes recent) {
+        dashboard.setRecentWindow(recent.window());
+        dashboard.setRecentAccuracy(recent.accuracy());
+        dashboard.setCurrentStreak(recent.currentStreak());
+        dashboard.setRecentTrend(recent.trend());
+
+        if (recent.answered() < recent.window()) {
+            dashboard.setRecentPerformance("Not enough data (need " + recent.window() + " questions)");
+            return;
+        }
+
+        double recentAccuracy = recent.accuracy();
+        if (recentAccuracy >= 70) {
+            dashboard.setRecentPerformance("Good Start!");
+        } else if (recentAccuracy >= 50) {
+            dashboard.setRecentPerformance("Keep Practicing");
+        } else {
+            dashboard.setRecentPerformance("Needs Focus");
+        }
     }
-}
\ No newline at end of file
+}
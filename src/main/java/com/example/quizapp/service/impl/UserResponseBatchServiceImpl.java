@@ -0,0 +1,284 @@
+package com.example.quizapp.service.impl;
+
+import com.example.quizapp.config.ExecutionModeConfig;
+import com.example.quizapp.exception.QuizException;
+import com.example.quizapp.model.UserResponse;
+import com.example.quizapp.repository.UserResponseRepository;
+import com.example.quizapp.service.interfaces.UserResponseBatchService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Group-commit write path for user responses. Concurrent submissions are queued and
+ * flushed by a single writer thread as one batched insert, either when
+ * {@code maxBatchSize} responses are waiting or {@code lingerMillis} after the first
+ * one arrived. Callers block until the batch holding their response has committed.
+ * The writer runs on a virtual thread when the application is in virtual-thread mode.
+ *
+ * <p>A batch that fails is retried one row at a time, so only the offending response
+ * fails. A caller that times out withdraws its response if the writer has not picked it
+ * up yet; otherwise it waits one more timeout for the write, which the transaction
+ * timeout bounds, so a caller does not give up on a response that is about to commit.
+ * Only a writer stuck past both leaves the outcome unknown to the caller.
+ */
+@Service
+public class UserResponseBatchServiceImpl implements UserResponseBatchService {
+    private static final Logger logger = LoggerFactory.getLogger(UserResponseBatchServiceImpl.class);
+
+    private final UserResponseRepository userResponseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadFactory threadFactory;
+
+    @Value("${quiz.responses.batch.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${quiz.responses.batch.max-size:50}")
+    private int maxBatchSize = 50;
+
+    @Value("${quiz.responses.batch.linger-ms:5}")
+    private long lingerMillis = 5;
+
+    @Value("${quiz.responses.batch.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    @Value("${quiz.responses.batch.timeout-ms:5000}")
+    private long timeoutMillis = 5000;
+
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private volatile int lastBatchSize;
+
+    private BlockingQueue<PendingWrite> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    public UserResponseBatchServiceImpl(UserResponseRepository userResponseRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this(userResponseRepository, transactionManager, ExecutionModeConfig::platformThread);
+    }
+
+    @Autowired
+    public UserResponseBatchServiceImpl(UserResponseRepository userResponseRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        ThreadFactory backgroundThreadFactory) {
+        this.userResponseRepository = userResponseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.threadFactory = backgroundThreadFactory;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Batched response writes disabled; responses are saved individually");
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis)));
+        running = true;
+        writerThread = threadFactory.newThread(this::runWriter);
+        writerThread.setName("response-batch-writer");
+        writerThread.start();
+        logger.info("Batched response writer started (maxBatchSize={}, lingerMs={}, queueCapacity={})",
+                maxBatchSize, lingerMillis, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(timeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public UserResponse save(UserResponse response) {
+        if (!enabled) {
+            return userResponseRepository.save(response);
+        }
+        PendingWrite write = new PendingWrite(response);
+        try {
+            if (!running || !queue.offer(write, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new QuizException("Response writer is overloaded, please retry");
+            }
+            return awaitWrite(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QuizException("Interrupted while saving response");
+        } catch (ExecutionException e) {
+            logger.error("Failed to save response", e.getCause());
+            throw new QuizException("Failed to save response");
+        }
+    }
+
+    private UserResponse awaitWrite(PendingWrite write) throws InterruptedException, ExecutionException {
+        try {
+            return write.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (write.abandon()) {
+                logger.error("Timed out waiting for the response writer; response withdrawn");
+                throw new QuizException("Timed out saving response, please retry");
+            }
+        }
+        // Already being written: its outcome is only a transaction timeout away
+        try {
+            return write.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.error("Response writer is stuck; the response may still be saved");
+            throw new QuizException("Timed out saving response");
+        }
+    }
+
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        queue.drainTo(batch, maxBatchSize - batch.size());
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutting down: drain whatever is left and flush it below
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        logger.info("Batched response writer stopped");
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        long start = System.nanoTime();
+        // Responses whose caller gave up are dropped; the rest can no longer be withdrawn
+        batch.removeIf(write -> !write.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<UserResponse> responses = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            responses.add(write.response);
+        }
+        try {
+            List<UserResponse> saved = transactionTemplate.execute(status -> userResponseRepository.saveAll(responses));
+            writtenCount.add(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(saved != null ? saved.get(i) : responses.get(i));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Batch of {} responses failed; retrying them one at a time", batch.size(), e);
+            for (PendingWrite write : batch) {
+                // The rolled-back batch left sequence ids on the entities
+                write.response.setId(null);
+                saveOne(write);
+            }
+        }
+        flushCount.increment();
+        flushNanos.add(System.nanoTime() - start);
+        lastBatchSize = batch.size();
+        logger.debug("Flushed {} responses in {} ms", batch.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void saveOne(PendingWrite write) {
+        try {
+            UserResponse saved = transactionTemplate.execute(status -> userResponseRepository.save(write.response));
+            writtenCount.increment();
+            write.result.complete(saved != null ? saved : write.response);
+        } catch (RuntimeException e) {
+            write.response.setId(null);
+            write.result.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    @Override
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+    @Override
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    @Override
+    public double getAverageBatchSize() {
+        long flushes = flushCount.sum();
+        return flushes == 0 ? 0.0 : (double) writtenCount.sum() / flushes;
+    }
+
+    @Override
+    public double getAverageFlushMillis() {
+        long flushes = flushCount.sum();
+        return flushes == 0 ? 0.0 : flushNanos.sum() / 1_000_000.0 / flushes;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    private static final class PendingWrite {
+        private static final int QUEUED = 0;
+        private static final int WRITING = 1;
+        private static final int ABANDONED = 2;
+
+        private final UserResponse response;
+        private final CompletableFuture<UserResponse> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private PendingWrite(UserResponse response) {
+            this.response = response;
+        }
+
+        // Writer side: from here on the caller waits for the outcome
+        private boolean claim() {
+            return state.compareAndSet(QUEUED, WRITING);
+        }
+
+        // Caller side: succeeds only while the writer has not picked the response up
+        private boolean abandon() {
+            return state.compareAndSet(QUEUED, ABANDONED);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.quizapp.service.interfaces;
 
+import com.example.quizapp.dto.BatchAnswerDTO;
+import com.example.quizapp.dto.BatchSubmissionResultDTO;
 import com.example.quizapp.model.UserResponse;
 
+import java.util.List;
+
 public interface AnswerService {
     boolean submitAnswer(Long sessionId, String answer);
+    BatchSubmissionResultDTO submitAnswers(Long sessionId, List<BatchAnswerDTO> answers);
     UserResponse saveUserResponse(Long sessionId, String answer, boolean isCorrect);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.example.quizapp.service.interfaces;
+
+import com.example.quizapp.cache.LatencyHistogram;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+
+public interface GlobalCounterService {
+    void sessionStarted();
+    void sessionsDeactivated(int count);
+    void answerRecorded();
+    void answersRecorded(int count);
+    void recordResponseTime(Category category, Difficulty difficulty, long millis);
+    long getTotalSessions();
+    long getActiveSessions();
+    long getTotalAnswers();
+    LatencyHistogram getResponseTimes(Category category);
+    LatencyHistogram getResponseTimes(Difficulty difficulty);
+    void reconcile();
+}
@@ -0,0 +1,27 @@
+package com.example.quizapp.service.interfaces;
+
+import com.example.quizapp.cache.QuestionPayload;
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.cache.SessionDeck;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.model.Question;
+
+import java.util.function.Function;
+
+public interface QuestionBankService {
+    QuestionSnapshot randomQuestion(Category category, Difficulty difficulty);
+    QuestionSnapshot drawQuestion(Category category, Difficulty difficulty, SessionDeck deck);
+    SessionDeck restoreDeck(byte[] stored);
+    byte[] storeDeck(SessionDeck deck);
+    QuestionSnapshot getQuestion(long questionId);
+    QuestionPayload payload(QuestionSnapshot question, Function<QuestionSnapshot, QuestionPayload> encoder);
+    Boolean grade(long questionId, String answer);
+    void refresh();
+    void onQuestionSaved(Question question);
+    void onQuestionRemoved(long questionId);
+    int size();
+    int count(Category category, Difficulty difficulty);
+    long getHitCount();
+    long getMissCount();
+}
@@ -0,0 +1,11 @@
+package com.example.quizapp.service.interfaces;
+
+import com.example.quizapp.dto.QuestionImportDTO;
+import com.example.quizapp.enums.QuestionImportFormat;
+
+import java.io.InputStream;
+
+public interface QuestionImportService {
+    QuestionImportDTO importQuestions(String importId, QuestionImportFormat format, InputStream input);
+    QuestionImportDTO getImport(String importId);
+}
@@ -1,9 +1,17 @@
 package com.example.quizapp.service.interfaces;
 
 import com.example.quizapp.dto.QuestionDTO;
+import com.example.quizapp.dto.QuestionPayloadDTO;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
 import com.example.quizapp.model.Question;
 
+import java.util.List;
+
 public interface QuestionService {
     QuestionDTO getNextQuestion(Long sessionId);
+    QuestionDTO getNextQuestion(Long sessionId, Category category, Difficulty difficulty);
+    QuestionPayloadDTO getNextQuestionPayload(Long sessionId, Category category, Difficulty difficulty);
+    List<QuestionDTO> getNextQuestions(Long sessionId, int count, Category category, Difficulty difficulty);
     QuestionDTO mapQuestionToDTO(Question question);
 }
\ No newline at end of file
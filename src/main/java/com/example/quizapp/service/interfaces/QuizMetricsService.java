@@ -0,0 +1,13 @@
+package com.example.quizapp.service.interfaces;
+
+import com.example.quizapp.enums.SessionValidationOutcome;
+
+public interface QuizMetricsService {
+    void questionServed(long nanos);
+    void questionBatchServed(int questions, long nanos);
+    void answerSubmitted(boolean correct, long nanos);
+    void answerBatchSubmitted(int correct, int incorrect, int rejected, long nanos);
+    void dashboardServed(long nanos);
+    void sessionValidated(SessionValidationOutcome outcome, long nanos);
+    void sessionsCleanedUp(int expired, long nanos);
+}
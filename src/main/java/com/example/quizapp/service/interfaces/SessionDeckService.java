@@ -0,0 +1,13 @@
+package com.example.quizapp.service.interfaces;
+
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.model.QuizSession;
+
+public interface SessionDeckService {
+    QuestionSnapshot drawQuestion(QuizSession session, Category category, Difficulty difficulty);
+    void flushDecks();
+    void evict(Long sessionId);
+    int size();
+}
@@ -0,0 +1,15 @@
+package com.example.quizapp.service.interfaces;
+
+import com.example.quizapp.model.QuizSession;
+
+public interface SessionExpiryService {
+    void track(QuizSession session);
+    void expire(Long sessionId);
+    int sweepWheel();
+    int sweepStoredSessions();
+    long getSweepCount();
+    long getTotalExpired();
+    int getLastSweepExpired();
+    double getLastSweepMillis();
+    int getTrackedCount();
+}
@@ -1,11 +1,27 @@
 package com.example.quizapp.service.interfaces;
 
+import com.example.quizapp.cache.LatencyHistogram;
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.cache.RecentOutcomes;
+import com.example.quizapp.cache.RecordedAnswer;
 import com.example.quizapp.dto.QuizSessionDTO;
 import com.example.quizapp.model.QuizSession;
 
+import java.util.List;
+
 public interface SessionService {
     QuizSessionDTO startNewSession();
     QuizSession validateAndUpdateSession(Long sessionId);
     void saveSession(QuizSession session);
+    void assignQuestion(QuizSession session, Long questionId);
+    Long responseTimeMillis(QuizSession session);
+    void reserveQuestions(QuizSession session, List<Long> questionIds);
+    Long claimReservedQuestion(QuizSession session, Long questionId);
+    void recordAnswer(QuizSession session, QuestionSnapshot question, boolean correct, Long responseMillis);
+    void recordAnswers(QuizSession session, List<RecordedAnswer> answers);
+    RecentOutcomes recentOutcomes(QuizSession session, int window);
+    LatencyHistogram responseTimes(QuizSession session);
+    int getRecentCapacity();
+    void flushAccessTimes();
     void cleanupInactiveSessions();
-}
\ No newline at end of file
+}
@@ -2,8 +2,14 @@ package com.example.quizapp.service.interfaces;
 
 import com.example.quizapp.dto.QuizDashboardDTO;
 import com.example.quizapp.dto.QuizStatsDTO;
+import com.example.quizapp.model.QuizSession;
 
 public interface StatisticsService {
     QuizStatsDTO getSessionStats(Long sessionId);
+    QuizStatsDTO getSessionStats(QuizSession session);
     QuizDashboardDTO getDashboard(Long sessionId);
-}
\ No newline at end of file
+    QuizDashboardDTO getDashboard(Long sessionId, Integer window);
+    QuizDashboardDTO getDashboard(QuizSession session, Integer window);
+    long getVersion(QuizSession session);
+    int resolveRecentWindow(Integer window);
+}
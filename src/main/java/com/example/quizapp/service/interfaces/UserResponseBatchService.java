@@ -0,0 +1,13 @@
+package com.example.quizapp.service.interfaces;
+
+import com.example.quizapp.model.UserResponse;
+
+public interface UserResponseBatchService {
+    UserResponse save(UserResponse response);
+    long getFlushCount();
+    long getWrittenCount();
+    int getLastBatchSize();
+    double getAverageBatchSize();
+    double getAverageFlushMillis();
+    int getQueueSize();
+}
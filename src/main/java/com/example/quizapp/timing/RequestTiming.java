@@ -0,0 +1,89 @@
+package com.example.quizapp.timing;
+
+import java.util.Locale;
+
+/**
+ * Wall time of one request split into database, service and serialization phases. The
+ * collector is bound to the request thread by {@link ServerTimingFilter}; JDBC time is
+ * added by {@link TimingDataSource} and the serialization phase starts when the
+ * controller's result reaches {@link ServerTimingAdvice}. Everything else is service time.
+ *
+ * <p>Only statements run on the request thread are seen: an answer's response row is
+ * written by the group-commit writer, so the wait for it shows up as service time.
+ */
+public final class RequestTiming {
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private long jdbcNanos;
+    private int jdbcStatements;
+    private long serializationStartNanos;
+    private long endNanos;
+
+    private RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    static void recordJdbc(long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.jdbcNanos += nanos;
+            timing.jdbcStatements++;
+        }
+    }
+
+    // Called once the handler has returned; the last call wins so a body produced by an
+    // exception handler is timed from when that handler returned
+    void serializationStarted() {
+        serializationStartNanos = System.nanoTime();
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+        CURRENT.remove();
+    }
+
+    public long getTotalNanos() {
+        return endNanos - startNanos;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public int getJdbcStatements() {
+        return jdbcStatements;
+    }
+
+    public long getSerializationNanos() {
+        return serializationStartNanos == 0 ? 0 : endNanos - serializationStartNanos;
+    }
+
+    public long getServiceNanos() {
+        return Math.max(0, getTotalNanos() - jdbcNanos - getSerializationNanos());
+    }
+
+    // e.g. db;dur=1.204;desc="3 statements", app;dur=0.311, ser;dur=0.087, total;dur=1.602
+    public String toHeaderValue() {
+        return "db;dur=" + millis(jdbcNanos) + ";desc=\"" + jdbcStatements + " statements\", "
+                + "app;dur=" + millis(getServiceNanos()) + ", "
+                + "ser;dur=" + millis(getSerializationNanos()) + ", "
+                + "total;dur=" + millis(getTotalNanos());
+    }
+
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
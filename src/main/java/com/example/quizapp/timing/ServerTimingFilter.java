@@ -0,0 +1,53 @@
+package com.example.quizapp.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each request and reports the breakdown in a {@code Server-Timing} header. The
+ * body is buffered so the header, which depends on how long serialization took, can
+ * still be sent ahead of it. Requests slower than the threshold are also logged as one
+ * key=value line.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final long slowRequestNanos;
+
+    public ServerTimingFilter(long slowRequestMillis) {
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            timing.finish();
+            if (!wrapper.isCommitted()) {
+                wrapper.setHeader(RequestTiming.HEADER, timing.toHeaderValue());
+            }
+            wrapper.copyBodyToResponse();
+            if (timing.getTotalNanos() >= slowRequestNanos) {
+                logger.warn("Slow request: method={} path={} status={} total_ms={} db_ms={} db_statements={} "
+                                + "service_ms={} serialization_ms={}",
+                        request.getMethod(), request.getRequestURI(), wrapper.getStatus(),
+                        RequestTiming.millis(timing.getTotalNanos()), RequestTiming.millis(timing.getJdbcNanos()),
+                        timing.getJdbcStatements(), RequestTiming.millis(timing.getServiceNanos()),
+                        RequestTiming.millis(timing.getSerializationNanos()));
+            }
+        }
+    }
+}
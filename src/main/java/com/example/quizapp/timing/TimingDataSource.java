@@ -0,0 +1,17 @@
+package com.example.quizapp.timing;
+
+import com.example.quizapp.jdbc.StatementObservingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Adds the time spent executing statements to the current {@link RequestTiming}. Only
+ * installed when server timing is enabled, so the pool's connections are not proxied
+ * otherwise.
+ */
+public class TimingDataSource extends StatementObservingDataSource {
+
+    public TimingDataSource(DataSource targetDataSource) {
+        super(targetDataSource, (sql, rows, nanos) -> RequestTiming.recordJdbc(nanos));
+    }
+}
@@ -1,14 +0,0 @@
-INSERT INTO questions (question_text, optiona, optionb, optionc, optiond, correct_answer, difficulty, category)
-VALUES ('What is the capital of France?', 'London', 'Berlin', 'Paris', 'Madrid', 'C', 'EASY', 'GEOGRAPHY');
-
-INSERT INTO questions (question_text, optiona, optionb, optionc, optiond, correct_answer, difficulty, category)
-VALUES ('Which planet is known as the Red Planet?', 'Venus', 'Mars', 'Jupiter', 'Saturn', 'B', 'EASY', 'SCIENCE');
-
-INSERT INTO questions (question_text, optiona, optionb, optionc, optiond, correct_answer, difficulty, category)
-VALUES ('Who wrote "Romeo and Juliet"?', 'Charles Dickens', 'William Shakespeare', 'Jane Austen', 'Mark Twain', 'B', 'MEDIUM', 'GENERAL_KNOWLEDGE');
-
-INSERT INTO questions (question_text, optiona, optionb, optionc, optiond, correct_answer, difficulty, category)
-VALUES ('What is the chemical symbol for gold?', 'Ag', 'Fe', 'Au', 'Cu', 'C', 'MEDIUM', 'SCIENCE');
-
-INSERT INTO questions (question_text, optiona, optionb, optionc, optiond, correct_answer, difficulty, category)
-VALUES ('Which programming language was created by James Gosling?', 'Python', 'Java', 'C++', 'Ruby', 'B', 'MEDIUM', 'TECHNOLOGY');
\ No newline at end of file
@@ -18,11 +18,17 @@ CREATE TABLE IF NOT EXISTS quiz_sessions (
                                              active BOOLEAN NOT NULL DEFAULT TRUE,
                                              total_questions INT NOT NULL DEFAULT 0,
                                              correct_answers INT NOT NULL DEFAULT 0,
-                                             current_question_id BIGINT
+                                             current_question_id BIGINT,
+                                             seen_questions VARBINARY,
+                                             version BIGINT NOT NULL DEFAULT 0
 );
 
+CREATE INDEX IF NOT EXISTS idx_quiz_sessions_active_access ON quiz_sessions (active, last_access_time);
+
+CREATE SEQUENCE IF NOT EXISTS user_responses_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS user_responses (
-                                              id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                              id BIGINT PRIMARY KEY,
                                               session_id BIGINT NOT NULL,
                                               question_id BIGINT NOT NULL,
                                               user_answer VARCHAR(255) NOT NULL,
@@ -31,4 +37,38 @@ CREATE TABLE IF NOT EXISTS user_responses (
     response_time INT,
     FOREIGN KEY (session_id) REFERENCES quiz_sessions(id),
     FOREIGN KEY (question_id) REFERENCES questions(id)
-    );
\ No newline at end of file
+    );
+
+CREATE TABLE IF NOT EXISTS session_aggregates (
+                                                  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                                  session_id BIGINT NOT NULL,
+                                                  dimension VARCHAR(20) NOT NULL,
+    bucket VARCHAR(50) NOT NULL,
+    total INT NOT NULL DEFAULT 0,
+    correct INT NOT NULL DEFAULT 0,
+    timed INT NOT NULL DEFAULT 0,
+    response_time_ms_sum BIGINT NOT NULL DEFAULT 0,
+    in_time INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (session_id) REFERENCES quiz_sessions(id),
+    CONSTRAINT uk_session_aggregates UNIQUE (session_id, dimension, bucket)
+    );
+
+-- Bulk question imports: rows_read is the checkpoint a resumed import skips to
+CREATE TABLE IF NOT EXISTS question_imports (
+    id VARCHAR(64) PRIMARY KEY,
+    format VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    rows_read BIGINT NOT NULL DEFAULT 0,
+    rows_imported BIGINT NOT NULL DEFAULT 0,
+    rows_rejected BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS question_import_rejections (
+    import_id VARCHAR(64) NOT NULL,
+    row_no BIGINT NOT NULL,
+    reason VARCHAR(500) NOT NULL,
+    PRIMARY KEY (import_id, row_no),
+    FOREIGN KEY (import_id) REFERENCES question_imports(id)
+);
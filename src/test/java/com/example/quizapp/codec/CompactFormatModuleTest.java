@@ -0,0 +1,104 @@
+package com.example.quizapp.codec;
+
+import com.example.quizapp.cache.QuestionPayload;
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.dto.LatencyPercentilesDTO;
+import com.example.quizapp.dto.QuestionDTO;
+import com.example.quizapp.dto.QuestionPayloadDTO;
+import com.example.quizapp.dto.QuizDashboardDTO;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactFormatModuleTest {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper =
+            new ObjectMapper(new CBORFactory()).registerModule(new CompactFormatModule());
+
+    private QuestionDTO question;
+    private QuizDashboardDTO dashboard;
+
+    @BeforeEach
+    void setUp() {
+        question = new QuestionDTO();
+        question.setQuestionId(12L);
+        question.setQuestionText("What is the capital of France?");
+        question.setOptionA("London");
+        question.setOptionB("Berlin");
+        question.setOptionC("Paris");
+        question.setOptionD("Madrid");
+        question.setCategory(Category.GEOGRAPHY);
+        question.setDifficulty(Difficulty.MEDIUM);
+        question.setTimeLimit(20);
+        question.setTimestamp(1734455573950L);
+
+        Map<String, Double> categoryAccuracy = new LinkedHashMap<>();
+        categoryAccuracy.put("SCIENCE", 50.0);
+        categoryAccuracy.put("TECHNOLOGY", 100.0);
+        LatencyPercentilesDTO latencies = new LatencyPercentilesDTO();
+        latencies.setCount(4);
+        latencies.setP50(1200);
+        dashboard = new QuizDashboardDTO();
+        dashboard.setCategoryAccuracy(categoryAccuracy);
+        dashboard.setBestCategory("TECHNOLOGY");
+        dashboard.setBestDifficulty("No data");
+        dashboard.setCategoryResponseTimes(Map.of("SCIENCE", latencies));
+        dashboard.setDifficultyResponseTimes(Map.of("HARD", latencies));
+    }
+
+    @Test
+    void testQuestion_EnumsWrittenAsOrdinalsAndReadBack() throws Exception {
+        byte[] encoded = cborMapper.writeValueAsBytes(question);
+
+        JsonNode tree = cborMapper.readTree(encoded);
+        assertEquals(Category.GEOGRAPHY.ordinal(), tree.get("category").intValue());
+        assertEquals(Difficulty.MEDIUM.ordinal(), tree.get("difficulty").intValue());
+        assertEquals(question, cborMapper.readValue(encoded, QuestionDTO.class));
+        assertTrue(encoded.length < jsonMapper.writeValueAsBytes(question).length);
+    }
+
+    @Test
+    void testDashboard_EnumNamesWrittenAsOrdinalKeysAndValues() throws Exception {
+        JsonNode tree = cborMapper.readTree(cborMapper.writeValueAsBytes(dashboard));
+
+        JsonNode accuracy = tree.get("categoryAccuracy");
+        assertEquals(50.0, accuracy.get(String.valueOf(Category.SCIENCE.ordinal())).doubleValue());
+        assertEquals(100.0, accuracy.get(String.valueOf(Category.TECHNOLOGY.ordinal())).doubleValue());
+        assertEquals(Category.TECHNOLOGY.ordinal(), tree.get("bestCategory").intValue());
+        assertEquals("No data", tree.get("bestDifficulty").textValue());
+        assertEquals(4, tree.get("categoryResponseTimes").get(String.valueOf(Category.SCIENCE.ordinal()))
+                .get("count").intValue());
+        assertTrue(tree.get("difficultyResponseTimes").has(String.valueOf(Difficulty.HARD.ordinal())));
+    }
+
+    @Test
+    void testDashboard_JsonMapperUnaffected() throws Exception {
+        JsonNode tree = jsonMapper.readTree(jsonMapper.writeValueAsBytes(dashboard));
+
+        assertEquals(50.0, tree.get("categoryAccuracy").get("SCIENCE").doubleValue());
+        assertEquals("TECHNOLOGY", tree.get("bestCategory").textValue());
+    }
+
+    @Test
+    void testQuestionPayload_WrittenAsItsQuestionDto() throws Exception {
+        QuestionSnapshot snapshot = new QuestionSnapshot(12L, "What is the capital of France?",
+                "London", "Berlin", "Paris", "Madrid", "C", Difficulty.MEDIUM, Category.GEOGRAPHY, 20);
+        QuestionDTO template = jsonMapper.convertValue(question, QuestionDTO.class);
+        template.setTimestamp(QuestionPayload.TIMESTAMP_PLACEHOLDER);
+        QuestionPayload payload = QuestionPayload.of(snapshot, jsonMapper.writeValueAsBytes(template));
+
+        byte[] encoded = cborMapper.writeValueAsBytes(new QuestionPayloadDTO(payload, 1734455573950L));
+
+        assertArrayEquals(cborMapper.writeValueAsBytes(question), encoded);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.quizapp.controller;
+
+import com.example.quizapp.cache.QuestionPayload;
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.dto.QuestionDTO;
+import com.example.quizapp.dto.QuestionPayloadDTO;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionPayloadMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final QuestionPayloadMessageConverter converter = new QuestionPayloadMessageConverter();
+
+    @Test
+    void testWrite_MatchesJacksonOutputWithContentLength() throws Exception {
+        QuestionDTO dto = new QuestionDTO();
+        dto.setQuestionId(12L);
+        dto.setQuestionText("Say \"hello\" in Español");
+        dto.setOptionA("Hola");
+        dto.setCategory(Category.GENERAL_KNOWLEDGE);
+        dto.setDifficulty(Difficulty.EASY);
+        dto.setTimeLimit(20);
+        dto.setTimestamp(QuestionPayload.TIMESTAMP_PLACEHOLDER);
+        QuestionSnapshot question = new QuestionSnapshot(12L, dto.getQuestionText(), "Hola", null, null, null,
+                "A", Difficulty.EASY, Category.GENERAL_KNOWLEDGE, 20);
+        QuestionPayload payload = QuestionPayload.of(question, objectMapper.writeValueAsBytes(dto));
+
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(new QuestionPayloadDTO(payload, 1734455573950L), MediaType.APPLICATION_JSON, output);
+
+        dto.setTimestamp(1734455573950L);
+        byte[] expected = objectMapper.writeValueAsBytes(dto);
+        assertEquals(new String(expected, StandardCharsets.UTF_8), output.getBodyAsString(StandardCharsets.UTF_8));
+        assertEquals(expected.length, output.getHeaders().getContentLength());
+        assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+    }
+
+    @Test
+    void testCanWrite_OnlyPayloadsAsJson() {
+        assertTrue(converter.canWrite(QuestionPayloadDTO.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(QuestionPayloadDTO.class, MediaType.ALL));
+        assertFalse(converter.canWrite(QuestionPayloadDTO.class, MediaType.APPLICATION_XML));
+        assertFalse(converter.canWrite(QuestionDTO.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(QuestionPayloadDTO.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testOf_RejectsJsonWithoutPlaceholder() {
+        QuestionSnapshot question = new QuestionSnapshot(1L, "Q", null, null, null, null,
+                "A", Difficulty.EASY, Category.SCIENCE, 20);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> QuestionPayload.of(question, "{\"timestamp\":1}".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.quizapp.controller;
+
+import com.example.quizapp.dto.AnswerSubmissionDTO;
+import com.example.quizapp.dto.QuizSessionDTO;
+import com.example.quizapp.enums.Category;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:contentnegotiation",
+        "quiz.counters.reconcile-ms=3600000"
+})
+@AutoConfigureMockMvc
+class QuizControllerContentNegotiationTest {
+
+    private final ObjectMapper cborReader = new ObjectMapper(new CBORFactory());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long sessionId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String body = mockMvc.perform(post("/api/quiz/start"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        sessionId = objectMapper.readValue(body, QuizSessionDTO.class).getSessionId();
+    }
+
+    @Test
+    void testGetQuestion_JsonByDefault() throws Exception {
+        String body = mockMvc.perform(get("/api/quiz/question").param("sessionId", sessionId.toString())
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode question = objectMapper.readTree(body);
+        assertNotNull(Category.valueOf(question.get("category").textValue()));
+    }
+
+    @Test
+    void testGetQuestion_CborWithOrdinals() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/quiz/question").param("sessionId", sessionId.toString())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode question = cborReader.readTree(body);
+        assertTrue(question.get("category").isInt());
+        assertTrue(question.get("difficulty").isInt());
+        assertTrue(question.get("timestamp").asLong() > 0);
+    }
+
+    @Test
+    void testGetDashboard_CborWithOrdinalKeys() throws Exception {
+        mockMvc.perform(get("/api/quiz/question").param("sessionId", sessionId.toString()))
+                .andExpect(status().isOk());
+        AnswerSubmissionDTO answer = new AnswerSubmissionDTO();
+        answer.setSessionId(sessionId);
+        answer.setAnswer("A");
+        mockMvc.perform(post("/api/quiz/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(answer)))
+                .andExpect(status().isOk());
+
+        byte[] body = mockMvc.perform(get("/api/quiz/dashboard").param("sessionId", sessionId.toString())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode dashboard = cborReader.readTree(body);
+        String key = dashboard.get("categoryAccuracy").fieldNames().next();
+        assertTrue(Integer.parseInt(key) < Category.values().length);
+        assertTrue(dashboard.get("bestCategory").isInt());
+    }
+}
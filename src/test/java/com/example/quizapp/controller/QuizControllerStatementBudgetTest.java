@@ -0,0 +1,201 @@
+package com.example.quizapp.controller;
+
+import com.example.quizapp.dto.AnswerSubmissionDTO;
+import com.example.quizapp.dto.BatchAnswerDTO;
+import com.example.quizapp.dto.BatchSubmissionDTO;
+import com.example.quizapp.dto.QuestionDTO;
+import com.example.quizapp.dto.QuizSessionDTO;
+import com.example.quizapp.jdbc.StatementCounter;
+import com.example.quizapp.jdbc.StatementCountingConfig;
+import com.example.quizapp.jdbc.StatementReport;
+import com.example.quizapp.jdbc.StatementType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins how many SQL statements each endpoint may execute against a real H2 database. The
+ * budgets are the current counts: a change that adds a round trip to a hot path, or turns
+ * a batched write back into one statement per row, fails here with the offending
+ * statements listed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statementbudget",
+        "quiz.counters.reconcile-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Import(StatementCountingConfig.class)
+class QuizControllerStatementBudgetTest {
+
+    // Fetches of the next block of response ids: at most one per 50 rows, plus one more
+    // the first time the sequence is used
+    private static final int SEQUENCE_BUDGET = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Long sessionId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        QuizSessionDTO session = objectMapper.readValue(perform(post("/api/quiz/start")), QuizSessionDTO.class);
+        sessionId = session.getSessionId();
+    }
+
+    @Test
+    void testStart_InsertsTheSessionOnly() throws Exception {
+        StatementReport report = count("POST /start", post("/api/quiz/start"));
+
+        report.assertAtMost(StatementType.INSERT, 1)
+                .assertTotalAtMost(1);
+    }
+
+    @Test
+    void testGetQuestion_OneUpdateAndNoReads() throws Exception {
+        StatementReport report = count("GET /question",
+                get("/api/quiz/question").param("sessionId", sessionId.toString()));
+
+        report.assertAtMost(StatementType.SELECT, 0)
+                .assertAtMost(StatementType.UPDATE, 1)
+                .assertTotalAtMost(1);
+    }
+
+    @Test
+    void testSubmit_StaysWithinBudget() throws Exception {
+        perform(get("/api/quiz/question").param("sessionId", sessionId.toString()));
+
+        StatementReport report = count("POST /submit", post("/api/quiz/submit")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(answer("B"))));
+
+        // Response row, session counters and one summary upsert; grading never reads
+        report.assertAtMost(StatementType.SELECT, 0)
+                .assertAtMost(StatementType.INSERT, 1)
+                .assertAtMost(StatementType.UPDATE, 1)
+                .assertAtMost(StatementType.MERGE, 1)
+                .assertAtMost(StatementType.SEQUENCE, SEQUENCE_BUDGET)
+                .assertTotalAtMost(3);
+    }
+
+    @Test
+    void testGetQuestions_NoStatements() throws Exception {
+        StatementReport report = count("GET /questions", get("/api/quiz/questions")
+                .param("sessionId", sessionId.toString())
+                .param("count", "3"));
+
+        report.assertTotalAtMost(0);
+    }
+
+    @Test
+    void testSubmitBatch_BudgetDoesNotGrowWithBatchSize() throws Exception {
+        List<QuestionDTO> questions = objectMapper.readValue(perform(get("/api/quiz/questions")
+                .param("sessionId", sessionId.toString())
+                .param("count", "3")), new TypeReference<>() { });
+        List<BatchAnswerDTO> answers = new ArrayList<>();
+        for (QuestionDTO question : questions) {
+            BatchAnswerDTO answer = new BatchAnswerDTO();
+            answer.setQuestionId(question.getQuestionId());
+            answer.setAnswer("B");
+            answers.add(answer);
+        }
+        BatchSubmissionDTO submission = new BatchSubmissionDTO();
+        submission.setSessionId(sessionId);
+        submission.setAnswers(answers);
+        // One summary upsert per category and difficulty pair in the batch
+        int pairs = (int) questions.stream()
+                .map(question -> question.getCategory() + "/" + question.getDifficulty())
+                .distinct()
+                .count();
+
+        StatementReport report = count("POST /submit/batch", post("/api/quiz/submit/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(submission)));
+
+        assertEquals(3, report.rows(StatementType.INSERT), report.toString());
+        report.assertAtMost(StatementType.SELECT, 0)
+                .assertAtMost(StatementType.INSERT, 1)
+                .assertAtMost(StatementType.UPDATE, 1)
+                .assertAtMost(StatementType.MERGE, pairs)
+                .assertAtMost(StatementType.SEQUENCE, SEQUENCE_BUDGET)
+                .assertTotalAtMost(2 + pairs);
+    }
+
+    @Test
+    void testGetStats_ServedFromTheSessionStore() throws Exception {
+        answerOneQuestion();
+
+        StatementReport report = count("GET /stats",
+                get("/api/quiz/stats").param("sessionId", sessionId.toString()));
+
+        report.assertTotalAtMost(0);
+    }
+
+    @Test
+    void testGetDashboard_ReadsTheSummaryRowsOnly() throws Exception {
+        answerOneQuestion();
+
+        StatementReport report = count("GET /dashboard",
+                get("/api/quiz/dashboard").param("sessionId", sessionId.toString()));
+
+        report.assertAtMost(StatementType.SELECT, 1)
+                .assertTotalAtMost(1);
+    }
+
+    private void answerOneQuestion() throws Exception {
+        perform(get("/api/quiz/question").param("sessionId", sessionId.toString()));
+        perform(post("/api/quiz/submit")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(answer("B"))));
+    }
+
+    private AnswerSubmissionDTO answer(String answer) {
+        AnswerSubmissionDTO submission = new AnswerSubmissionDTO();
+        submission.setSessionId(sessionId);
+        submission.setAnswer(answer);
+        return submission;
+    }
+
+    private StatementReport count(String label, RequestBuilder request) throws Exception {
+        statementCounter.start();
+        ResultActions result;
+        StatementReport report;
+        try {
+            result = mockMvc.perform(request);
+        } finally {
+            report = statementCounter.stop(label);
+        }
+        result.andExpect(status().isOk());
+        return report;
+    }
+
+    private String perform(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+}
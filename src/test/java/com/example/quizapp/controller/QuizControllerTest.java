@@ -1,20 +1,29 @@
 package com.example.quizapp.controller;
 
+import com.example.quizapp.cache.QuestionPayload;
+import com.example.quizapp.cache.QuestionSnapshot;
 import com.example.quizapp.dto.*;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
 import com.example.quizapp.exception.QuizException;
+import com.example.quizapp.model.QuizSession;
 import com.example.quizapp.service.interfaces.AnswerService;
 import com.example.quizapp.service.interfaces.QuestionService;
 import com.example.quizapp.service.interfaces.SessionService;
 import com.example.quizapp.service.interfaces.StatisticsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -40,12 +49,13 @@ class QuizControllerTest {
 
     private QuizSessionDTO quizSessionDTO;
     private QuestionDTO questionDTO;
+    private QuestionPayload questionPayload;
     private QuizStatsDTO quizStatsDTO;
     private QuizDashboardDTO quizDashboardDTO;
     private AnswerSubmissionDTO answerSubmissionDTO;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         quizSessionDTO = new QuizSessionDTO();
         quizSessionDTO.setSessionId(1L);
         quizSessionDTO.setMessage("New quiz session started successfully!");
@@ -57,6 +67,15 @@ class QuizControllerTest {
         questionDTO.setOptionC("5");
         questionDTO.setOptionD("6");
 
+        QuestionDTO encoded = new QuestionDTO();
+        encoded.setQuestionId(1L);
+        encoded.setQuestionText("What is 2+2?");
+        encoded.setTimestamp(QuestionPayload.TIMESTAMP_PLACEHOLDER);
+        questionPayload = QuestionPayload.of(
+                new QuestionSnapshot(1L, "What is 2+2?", "3", "4", "5", "6", "B",
+                        Difficulty.EASY, Category.SCIENCE, 20),
+                new ObjectMapper().writeValueAsBytes(encoded));
+
         quizStatsDTO = new QuizStatsDTO();
         quizStatsDTO.setTotalQuestions(10);
         quizStatsDTO.setCorrectAnswers(7);
@@ -88,21 +107,33 @@ class QuizControllerTest {
 
     @Test
     void testGetQuestion_Success() {
-        when(questionService.getNextQuestion(1L)).thenReturn(questionDTO);
+        QuestionPayloadDTO payload = new QuestionPayloadDTO(questionPayload, 1_700_000_000_000L);
+        when(questionService.getNextQuestionPayload(1L, null, null)).thenReturn(payload);
 
-        ResponseEntity<QuestionDTO> response = quizController.getQuestion(1L);
+        ResponseEntity<QuestionPayloadDTO> response = quizController.getQuestion(1L, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertEquals("What is 2+2?", response.getBody().getQuestionText());
-        verify(questionService, times(1)).getNextQuestion(1L);
+        assertSame(payload, response.getBody());
+        verify(questionService, times(1)).getNextQuestionPayload(1L, null, null);
+    }
+
+    @Test
+    void testGetQuestion_WithFilters_Success() {
+        when(questionService.getNextQuestionPayload(1L, Category.SCIENCE, Difficulty.HARD))
+                .thenReturn(new QuestionPayloadDTO(questionPayload, 1_700_000_000_000L));
+
+        ResponseEntity<QuestionPayloadDTO> response =
+                quizController.getQuestion(1L, Category.SCIENCE, Difficulty.HARD);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(questionService, times(1)).getNextQuestionPayload(1L, Category.SCIENCE, Difficulty.HARD);
     }
 
     @Test
     void testGetQuestion_NullSessionId_ThrowsException() {
-        assertThrows(QuizException.class, () -> quizController.getQuestion(null));
-        verify(questionService, never()).getNextQuestion(anyLong());
+        assertThrows(QuizException.class, () -> quizController.getQuestion(null, null, null));
+        verify(questionService, never()).getNextQuestionPayload(anyLong(), any(), any());
     }
 
     @Test
@@ -133,42 +164,161 @@ class QuizControllerTest {
 
     @Test
     void testGetStats_Success() {
-        when(statisticsService.getSessionStats(1L)).thenReturn(quizStatsDTO);
+        QuizSession session = session(1L);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(session);
+        when(statisticsService.getVersion(session)).thenReturn(4L);
+        when(statisticsService.getSessionStats(session)).thenReturn(quizStatsDTO);
 
-        ResponseEntity<QuizStatsDTO> response = quizController.getStats(1L);
+        ResponseEntity<QuizStatsDTO> response = quizController.getStats(1L, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"1-4\"", response.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
         assertNotNull(response.getBody());
         assertEquals(10, response.getBody().getTotalQuestions());
         assertEquals(7, response.getBody().getCorrectAnswers());
         assertEquals(70.0, response.getBody().getAccuracyPercentage());
-        verify(statisticsService, times(1)).getSessionStats(1L);
+        verify(statisticsService, times(1)).getSessionStats(session);
+    }
+
+    @Test
+    void testGetStats_MatchingETag_ReturnsNotModified() {
+        QuizSession session = session(1L);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(session);
+        when(statisticsService.getVersion(session)).thenReturn(4L);
+
+        ResponseEntity<QuizStatsDTO> response = quizController.getStats(1L, "\"1-3\", W/\"1-4\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"1-4\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(statisticsService, never()).getSessionStats(any(QuizSession.class));
+    }
+
+    @Test
+    void testGetStats_StaleETag_ReturnsStats() {
+        QuizSession session = session(1L);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(session);
+        when(statisticsService.getVersion(session)).thenReturn(5L);
+        when(statisticsService.getSessionStats(session)).thenReturn(quizStatsDTO);
+
+        ResponseEntity<QuizStatsDTO> response = quizController.getStats(1L, "\"1-4\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"1-5\"", response.getHeaders().getETag());
+        assertSame(quizStatsDTO, response.getBody());
     }
 
     @Test
     void testGetStats_NullSessionId_ThrowsException() {
-        assertThrows(QuizException.class, () -> quizController.getStats(null));
+        assertThrows(QuizException.class, () -> quizController.getStats(null, null));
         verify(statisticsService, never()).getSessionStats(anyLong());
+        verify(statisticsService, never()).getSessionStats(any(QuizSession.class));
     }
 
     @Test
     void testGetDashboard_Success() {
-        when(statisticsService.getDashboard(1L)).thenReturn(quizDashboardDTO);
+        QuizSession session = session(1L);
+        when(statisticsService.resolveRecentWindow(null)).thenReturn(3);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(session);
+        when(statisticsService.getVersion(session)).thenReturn(4L);
+        when(statisticsService.getDashboard(session, 3)).thenReturn(quizDashboardDTO);
 
-        ResponseEntity<QuizDashboardDTO> response = quizController.getDashboard(1L);
+        ResponseEntity<QuizDashboardDTO> response = quizController.getDashboard(1L, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"1-4-3\"", response.getHeaders().getETag());
         assertNotNull(response.getBody());
         assertEquals(5L, response.getBody().getTotalSessions());
         assertEquals(50, response.getBody().getQuestionsAttempted());
-        verify(statisticsService, times(1)).getDashboard(1L);
+        verify(statisticsService, times(1)).getDashboard(session, 3);
+    }
+
+    @Test
+    void testGetDashboard_MatchingETag_ReturnsNotModified() {
+        QuizSession session = session(1L);
+        when(statisticsService.resolveRecentWindow(5)).thenReturn(5);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(session);
+        when(statisticsService.getVersion(session)).thenReturn(4L);
+
+        ResponseEntity<QuizDashboardDTO> response = quizController.getDashboard(1L, 5, "\"1-4-5\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(statisticsService, never()).getDashboard(any(QuizSession.class), any());
+    }
+
+    @Test
+    void testGetDashboard_ETagOfOtherWindow_ReturnsDashboard() {
+        QuizSession session = session(1L);
+        when(statisticsService.resolveRecentWindow(5)).thenReturn(5);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(session);
+        when(statisticsService.getVersion(session)).thenReturn(4L);
+        when(statisticsService.getDashboard(session, 5)).thenReturn(quizDashboardDTO);
+
+        ResponseEntity<QuizDashboardDTO> response = quizController.getDashboard(1L, 5, "\"1-4-3\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(quizDashboardDTO, response.getBody());
     }
 
     @Test
     void testGetDashboard_NullSessionId_ThrowsException() {
-        assertThrows(QuizException.class, () -> quizController.getDashboard(null));
-        verify(statisticsService, never()).getDashboard(anyLong());
+        assertThrows(QuizException.class, () -> quizController.getDashboard(null, null, null));
+        verify(statisticsService, never()).getDashboard(anyLong(), any());
+        verify(statisticsService, never()).getDashboard(any(QuizSession.class), any());
+    }
+
+    @Test
+    void testGetQuestions_Success() {
+        when(questionService.getNextQuestions(1L, 5, null, Difficulty.EASY)).thenReturn(List.of(questionDTO));
+
+        ResponseEntity<List<QuestionDTO>> response = quizController.getQuestions(1L, 5, null, Difficulty.EASY);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        verify(questionService, times(1)).getNextQuestions(1L, 5, null, Difficulty.EASY);
+    }
+
+    @Test
+    void testGetQuestions_NullCount_ThrowsException() {
+        assertThrows(QuizException.class, () -> quizController.getQuestions(1L, null, null, null));
+        verify(questionService, never()).getNextQuestions(anyLong(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testSubmitAnswers_Success() {
+        BatchAnswerDTO answer = new BatchAnswerDTO();
+        answer.setQuestionId(3L);
+        answer.setAnswer("B");
+        BatchSubmissionDTO submission = new BatchSubmissionDTO();
+        submission.setSessionId(1L);
+        submission.setAnswers(List.of(answer));
+        BatchSubmissionResultDTO result = new BatchSubmissionResultDTO();
+        result.setAccepted(1);
+        result.setResults(List.of(new BatchAnswerResultDTO(3L, true, true, null)));
+        when(answerService.submitAnswers(1L, submission.getAnswers())).thenReturn(result);
+
+        ResponseEntity<BatchSubmissionResultDTO> response = quizController.submitAnswers(submission);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getAccepted());
+        assertTrue(response.getBody().getResults().get(0).isCorrect());
+    }
+
+    @Test
+    void testSubmitAnswers_NullAnswers_ThrowsException() {
+        BatchSubmissionDTO submission = new BatchSubmissionDTO();
+        submission.setSessionId(1L);
+        assertThrows(QuizException.class, () -> quizController.submitAnswers(submission));
+        verify(answerService, never()).submitAnswers(anyLong(), any());
+    }
+
+    private static QuizSession session(Long id) {
+        QuizSession session = new QuizSession();
+        session.setId(id);
+        return session;
     }
 }
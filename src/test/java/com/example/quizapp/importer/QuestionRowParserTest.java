@@ -0,0 +1,141 @@
+package com.example.quizapp.importer;
+
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.enums.QuestionImportFormat;
+import com.example.quizapp.exception.QuizException;
+import com.example.quizapp.importer.QuestionRecordReader.RawRecord;
+import com.example.quizapp.importer.QuestionRowParser.ParsedRow;
+import com.example.quizapp.model.Question;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionRowParserTest {
+
+    private static final String HEADER =
+            "questionText,optionA,optionB,optionC,optionD,correctAnswer,difficulty,category,timeLimit";
+
+    @Test
+    void testCsv_ParsesQuotedFieldsAcrossLines() throws IOException {
+        List<ParsedRow> rows = parseCsv(HEADER + "\n"
+                + "\"Who wrote \"\"Romeo and Juliet\"\"?\",Dickens,Shakespeare,Austen,Twain,b,medium,"
+                + "general_knowledge,30\n"
+                + "\n"
+                + "\"Which, of these,\nis a prime?\",4,6,7,9,C,EASY,SCIENCE,\n");
+
+        assertEquals(2, rows.size());
+        Question first = rows.get(0).question();
+        assertEquals(1, rows.get(0).row());
+        assertEquals("Who wrote \"Romeo and Juliet\"?", first.getQuestionText());
+        assertEquals("B", first.getCorrectAnswer());
+        assertEquals(Difficulty.MEDIUM, first.getDifficulty());
+        assertEquals(Category.GENERAL_KNOWLEDGE, first.getCategory());
+        assertEquals(30, first.getTimeLimit());
+
+        Question second = rows.get(1).question();
+        assertEquals(2, rows.get(1).row());
+        assertEquals("Which, of these,\nis a prime?", second.getQuestionText());
+        assertEquals("7", second.getOptionC());
+        assertEquals(20, second.getTimeLimit());
+    }
+
+    @Test
+    void testCsv_AcceptsColumnNamesAndAnyOrder() throws IOException {
+        List<ParsedRow> rows = parseCsv("\uFEFFcategory,difficulty,correct_answer,optiond,optionc,optionb,optiona,"
+                + "question_text\nSCIENCE,HARD,A,d,c,b,a,What?\n");
+
+        Question question = rows.get(0).question();
+        assertNotNull(question);
+        assertEquals("What?", question.getQuestionText());
+        assertEquals("a", question.getOptionA());
+        assertEquals(Difficulty.HARD, question.getDifficulty());
+    }
+
+    @Test
+    void testCsv_MissingColumn_ThrowsException() {
+        QuizException exception = assertThrows(QuizException.class,
+                () -> QuestionRowParser.csv("questionText,optionA,optionB,optionC,correctAnswer,difficulty"));
+
+        assertEquals("CSV header is missing column(s): optionD, category", exception.getMessage());
+    }
+
+    @Test
+    void testCsv_EmptyFile_ThrowsException() {
+        assertThrows(QuizException.class, () -> QuestionRowParser.csv(null));
+    }
+
+    @Test
+    void testCsv_RejectsInvalidRows() throws IOException {
+        List<ParsedRow> rows = parseCsv(HEADER + "\n"
+                + ",a,b,c,d,A,EASY,SCIENCE,\n"
+                + "Q?,a,b,c,d,E,EASY,SCIENCE,\n"
+                + "Q?,a,b,c,d,A,TRIVIAL,SCIENCE,\n"
+                + "Q?,a,b,c,d,A,EASY,SPORTS,\n"
+                + "Q?,a,b,c,d,A,EASY,SCIENCE,0\n"
+                + "Q?,a,b,,d,A,EASY,SCIENCE,\n"
+                + "\"Q?,a,b,c,d,A,EASY,SCIENCE,\n");
+
+        assertEquals(7, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.question() == null));
+        assertEquals("questionText is required", rows.get(0).rejection());
+        assertEquals("correctAnswer must be one of A, B, C, D", rows.get(1).rejection());
+        assertTrue(rows.get(2).rejection().startsWith("difficulty must be one of"));
+        assertTrue(rows.get(3).rejection().startsWith("category must be one of"));
+        assertTrue(rows.get(4).rejection().startsWith("timeLimit must be"));
+        assertEquals("optionC is required", rows.get(5).rejection());
+        assertEquals("Unterminated quoted field", rows.get(6).rejection());
+    }
+
+    @Test
+    void testJsonl_ParsesAndRejectsLines() throws IOException {
+        QuestionRecordReader reader = reader(
+                "{\"questionText\":\"Capital of Peru?\",\"optionA\":\"Lima\",\"optionB\":\"Quito\","
+                        + "\"optionC\":\"Bogota\",\"optionD\":\"Cusco\",\"correctAnswer\":\"A\","
+                        + "\"difficulty\":\"EASY\",\"category\":\"GEOGRAPHY\",\"timeLimit\":15}\n"
+                        + "{\"questionText\":\"Unfinished\"\n"
+                        + "[1, 2]\n",
+                QuestionImportFormat.JSONL);
+        QuestionRowParser parser = QuestionRowParser.jsonl(new ObjectMapper());
+
+        List<ParsedRow> rows = parser.parse(drain(reader));
+
+        assertEquals(3, rows.size());
+        assertEquals("Lima", rows.get(0).question().getOptionA());
+        assertEquals(15, rows.get(0).question().getTimeLimit());
+        assertTrue(rows.get(1).rejection().startsWith("Malformed JSON"));
+        assertEquals("Expected a JSON object", rows.get(2).rejection());
+    }
+
+    @Test
+    void testSplit_UnterminatedQuote_ReturnsNull() {
+        assertEquals(List.of("a", "b,c", ""), QuestionRowParser.split("a,\"b,c\","));
+        assertNull(QuestionRowParser.split("a,\"b"));
+    }
+
+    private static List<ParsedRow> parseCsv(String csv) throws IOException {
+        QuestionRecordReader reader = reader(csv, QuestionImportFormat.CSV);
+        QuestionRowParser parser = QuestionRowParser.csv(reader.readHeader());
+        return parser.parse(drain(reader));
+    }
+
+    private static QuestionRecordReader reader(String text, QuestionImportFormat format) {
+        return new QuestionRecordReader(new BufferedReader(new StringReader(text)), format);
+    }
+
+    private static List<RawRecord> drain(QuestionRecordReader reader) throws IOException {
+        List<RawRecord> records = new ArrayList<>();
+        RawRecord record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
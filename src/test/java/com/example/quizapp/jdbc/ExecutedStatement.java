@@ -0,0 +1,13 @@
+package com.example.quizapp.jdbc;
+
+/**
+ * One round trip to the database. A JDBC batch is a single round trip however many
+ * rows it carries; {@code rows} is the number of parameter sets sent with it.
+ */
+public record ExecutedStatement(StatementType type, String sql, int rows, String thread) {
+
+    @Override
+    public String toString() {
+        return type + (rows > 1 ? " x" + rows : "") + " [" + thread + "] " + sql;
+    }
+}
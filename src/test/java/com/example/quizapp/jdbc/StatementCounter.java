@@ -0,0 +1,43 @@
+package com.example.quizapp.jdbc;
+
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records the statements that go through a {@link StatementObservingDataSource} between
+ * {@link #start()} and {@link #stop(String)}. Statements from every thread are recorded,
+ * so writes handed off to the group-commit writer count against the request that made
+ * them; only the {@code @Scheduled} jobs are left out, since their timing has nothing to
+ * do with the request under test.
+ */
+public class StatementCounter implements StatementListener {
+    private static final String SCHEDULER_THREAD_PREFIX = "scheduling-";
+
+    private final Queue<ExecutedStatement> executed = new ConcurrentLinkedQueue<>();
+    private volatile boolean recording;
+
+    public void start() {
+        executed.clear();
+        recording = true;
+    }
+
+    public StatementReport stop(String label) {
+        recording = false;
+        StatementReport report = new StatementReport(label, new ArrayList<>(executed));
+        executed.clear();
+        return report;
+    }
+
+    @Override
+    public void executed(String sql, int rows, long nanos) {
+        if (!recording) {
+            return;
+        }
+        String thread = Thread.currentThread().getName();
+        if (thread.startsWith(SCHEDULER_THREAD_PREFIX)) {
+            return;
+        }
+        executed.add(new ExecutedStatement(StatementType.of(sql), sql, rows, thread));
+    }
+}
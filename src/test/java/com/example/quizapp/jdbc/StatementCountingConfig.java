@@ -0,0 +1,34 @@
+package com.example.quizapp.jdbc;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Import into a {@code @SpringBootTest} to count the application's SQL statements with an
+ * injected {@link StatementCounter}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementCountingConfig {
+
+    @Bean
+    public static StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor(StatementCounter statementCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementObservingDataSource observed
+                        && observed.getListener() == statementCounter)) {
+                    return new StatementObservingDataSource(dataSource, statementCounter);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.quizapp.jdbc;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatementObservingDataSourceTest {
+
+    @Test
+    void testExecute_ReportsEachStatementAndEachBatchOnce() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        StatementListener listener = mock(StatementListener.class);
+
+        try (Connection observed = new StatementObservingDataSource(dataSource, listener).getConnection();
+             PreparedStatement select = observed.prepareStatement("SELECT 1");
+             PreparedStatement insert = observed.prepareStatement("INSERT INTO t VALUES (?)")) {
+            select.executeQuery();
+            insert.addBatch();
+            insert.addBatch();
+            insert.executeBatch();
+            insert.executeBatch();
+        }
+
+        verify(listener).executed(eq("SELECT 1"), eq(1), anyLong());
+        verify(listener).executed(eq("INSERT INTO t VALUES (?)"), eq(2), anyLong());
+        verifyNoMoreInteractions(listener);
+        verify(connection).close();
+    }
+
+    @Test
+    void testUnwrap_ReachesTheHikariPoolForPoolMetrics() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            StatementObservingDataSource observed = new StatementObservingDataSource(pool, (sql, rows, nanos) -> { });
+
+            assertSame(pool, DataSourceUnwrapper.unwrap(observed, HikariConfigMXBean.class, HikariDataSource.class));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.quizapp.jdbc;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The statements executed while a {@link StatementCounter} was recording, with assertions
+ * that fail listing every statement when a budget is exceeded.
+ */
+public class StatementReport {
+    private final String label;
+    private final List<ExecutedStatement> statements;
+    private final Map<StatementType, Integer> counts = new EnumMap<>(StatementType.class);
+
+    StatementReport(String label, List<ExecutedStatement> statements) {
+        this.label = label;
+        this.statements = List.copyOf(statements);
+        for (ExecutedStatement statement : this.statements) {
+            counts.merge(statement.type(), 1, Integer::sum);
+        }
+    }
+
+    public List<ExecutedStatement> getStatements() {
+        return statements;
+    }
+
+    public int count(StatementType type) {
+        return counts.getOrDefault(type, 0);
+    }
+
+    // Sequence fetches depend on where the id block happens to end, so they are budgeted
+    // on their own rather than as part of the total
+    public int total() {
+        return statements.size() - count(StatementType.SEQUENCE);
+    }
+
+    public int rows(StatementType type) {
+        return statements.stream()
+                .filter(statement -> statement.type() == type)
+                .mapToInt(ExecutedStatement::rows)
+                .sum();
+    }
+
+    public StatementReport assertAtMost(StatementType type, int budget) {
+        if (count(type) > budget) {
+            throw new AssertionError(label + " executed " + count(type) + " " + type + " statements, budget is "
+                    + budget + describe());
+        }
+        return this;
+    }
+
+    public StatementReport assertTotalAtMost(int budget) {
+        if (total() > budget) {
+            throw new AssertionError(label + " executed " + total() + " statements, budget is " + budget
+                    + describe());
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return label + " " + counts + describe();
+    }
+
+    private String describe() {
+        return statements.stream()
+                .map(ExecutedStatement::toString)
+                .collect(Collectors.joining("\n  ", ":\n  ", ""));
+    }
+}
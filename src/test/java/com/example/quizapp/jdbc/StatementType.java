@@ -0,0 +1,58 @@
+package com.example.quizapp.jdbc;
+
+import java.util.Locale;
+
+public enum StatementType {
+    SELECT,
+    INSERT,
+    UPDATE,
+    DELETE,
+    MERGE,
+    // Id block fetches, e.g. "select next value for user_responses_seq"
+    SEQUENCE,
+    OTHER;
+
+    public static StatementType of(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        String normalized = stripLeadingComments(sql).toLowerCase(Locale.ROOT);
+        StatementType type = typeOf(normalized);
+        boolean readsSequence = normalized.contains("next value for") || normalized.contains("nextval(");
+        if (readsSequence && (type == SELECT || normalized.startsWith("call") || normalized.startsWith("values"))) {
+            return SEQUENCE;
+        }
+        return type;
+    }
+
+    private static StatementType typeOf(String normalized) {
+        if (normalized.startsWith("select") || normalized.startsWith("with")) {
+            return SELECT;
+        }
+        if (normalized.startsWith("insert")) {
+            return INSERT;
+        }
+        if (normalized.startsWith("update")) {
+            return UPDATE;
+        }
+        if (normalized.startsWith("delete")) {
+            return DELETE;
+        }
+        if (normalized.startsWith("merge")) {
+            return MERGE;
+        }
+        return OTHER;
+    }
+
+    private static String stripLeadingComments(String sql) {
+        String trimmed = sql.strip();
+        while (trimmed.startsWith("/*")) {
+            int end = trimmed.indexOf("*/");
+            if (end < 0) {
+                return trimmed;
+            }
+            trimmed = trimmed.substring(end + 2).strip();
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.quizapp.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final Logger serviceLogger = loggerContext.getLogger("com.example.quizapp.service.impl.AnswerServiceImpl");
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SamplingTurboFilter();
+        filter.setContext(loggerContext);
+        filter.setLoggerPrefixes("com.example.quizapp.controller, com.example.quizapp.service.impl");
+        filter.setSampleRate(10);
+        filter.start();
+    }
+
+    @Test
+    void testDecide_SamplesInfoFromConfiguredLoggers() {
+        int kept = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (decide(serviceLogger, Level.INFO, "Answer submitted") == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+
+        // Roughly one in ten
+        assertTrue(kept > 700 && kept < 1300, "kept " + kept);
+    }
+
+    @Test
+    void testDecide_NeverSamplesWarnOrError() {
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(serviceLogger, Level.WARN, "Session timed out"));
+            assertEquals(FilterReply.NEUTRAL, decide(serviceLogger, Level.ERROR, "Failed to save response"));
+        }
+    }
+
+    @Test
+    void testDecide_IgnoresOtherLoggersAndEnabledChecks() {
+        Logger other = loggerContext.getLogger("org.hibernate.SQL");
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(other, Level.INFO, "select 1"));
+            assertEquals(FilterReply.NEUTRAL, decide(serviceLogger, Level.DEBUG, null));
+        }
+    }
+
+    @Test
+    void testDecide_RateOfOneKeepsEverything() {
+        filter.setSampleRate(1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(serviceLogger, Level.INFO, "Answer submitted"));
+        }
+    }
+
+    @Test
+    void testStart_RejectsRateBelowOne() {
+        SamplingTurboFilter invalid = new SamplingTurboFilter();
+        invalid.setContext(loggerContext);
+        invalid.setSampleRate(0);
+
+        invalid.start();
+
+        assertFalse(invalid.isStarted());
+    }
+
+    private FilterReply decide(Logger logger, Level level, String format) {
+        return filter.decide(null, logger, level, format, null, null);
+    }
+}
@@ -1,13 +1,22 @@
 package com.example.quizapp.service;
 
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.cache.RecordedAnswer;
+import com.example.quizapp.dto.BatchAnswerDTO;
+import com.example.quizapp.dto.BatchSubmissionResultDTO;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.exception.QuizException;
 import com.example.quizapp.model.Question;
 import com.example.quizapp.model.QuizSession;
 import com.example.quizapp.model.UserResponse;
 import com.example.quizapp.repository.QuestionRepository;
-import com.example.quizapp.repository.QuizSessionRepository;
 import com.example.quizapp.repository.UserResponseRepository;
 import com.example.quizapp.service.impl.AnswerServiceImpl;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import com.example.quizapp.service.interfaces.QuizMetricsService;
 import com.example.quizapp.service.interfaces.SessionService;
+import com.example.quizapp.service.interfaces.UserResponseBatchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,11 +25,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,14 +41,20 @@ class AnswerServiceImplTest {
     private QuestionRepository questionRepository;
 
     @Mock
-    private UserResponseRepository userResponseRepository;
+    private QuestionBankService questionBankService;
 
     @Mock
-    private QuizSessionRepository quizSessionRepository;
+    private UserResponseBatchService userResponseBatchService;
 
     @Mock
     private SessionService sessionService;
 
+    @Mock
+    private UserResponseRepository userResponseRepository;
+
+    @Mock
+    private QuizMetricsService quizMetricsService;
+
     @InjectMocks
     private AnswerServiceImpl answerService;
 
@@ -59,51 +76,55 @@ class AnswerServiceImplTest {
         question.setId(1L);
         question.setQuestionText("What is 2+2?");
         question.setCorrectAnswer("B");
+        question.setCategory(Category.SCIENCE);
+        question.setDifficulty(Difficulty.EASY);
+        question.setTimeLimit(20);
     }
 
     @Test
     void testSubmitAnswer_CorrectAnswer_ReturnsTrue() {
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
-        when(questionRepository.findById(1L)).thenReturn(Optional.of(question));
-        when(quizSessionRepository.save(any(QuizSession.class))).thenReturn(quizSession);
-        when(userResponseRepository.save(any(UserResponse.class))).thenReturn(new UserResponse());
+        when(questionBankService.grade(1L, "B")).thenReturn(true);
+        when(questionBankService.getQuestion(1L)).thenReturn(QuestionSnapshot.from(question));
+        when(userResponseBatchService.save(any(UserResponse.class))).thenReturn(new UserResponse());
 
         boolean result = answerService.submitAnswer(1L, "B");
 
         assertTrue(result);
-        verify(sessionService, times(2)).validateAndUpdateSession(1L); // Called in submitAnswer and saveUserResponse
-        verify(questionRepository, times(2)).findById(1L); // Called in submitAnswer and saveUserResponse
-        verify(quizSessionRepository, times(1)).save(any(QuizSession.class));
-        verify(userResponseRepository, times(1)).save(any(UserResponse.class));
+        verify(quizMetricsService, times(1)).answerSubmitted(eq(true), anyLong());
+        verify(sessionService, times(1)).validateAndUpdateSession(1L);
+        verify(questionRepository, never()).findById(anyLong());
+        verify(sessionService, times(1)).recordAnswer(eq(quizSession), any(QuestionSnapshot.class), eq(true), any());
+        verify(userResponseBatchService, times(1)).save(any(UserResponse.class));
     }
 
     @Test
     void testSubmitAnswer_IncorrectAnswer_ReturnsFalse() {
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
-        when(questionRepository.findById(1L)).thenReturn(Optional.of(question));
-        when(quizSessionRepository.save(any(QuizSession.class))).thenReturn(quizSession);
-        when(userResponseRepository.save(any(UserResponse.class))).thenReturn(new UserResponse());
+        when(questionBankService.grade(1L, "A")).thenReturn(false);
+        when(questionBankService.getQuestion(1L)).thenReturn(QuestionSnapshot.from(question));
+        when(userResponseBatchService.save(any(UserResponse.class))).thenReturn(new UserResponse());
 
         boolean result = answerService.submitAnswer(1L, "A");
 
         assertFalse(result);
-        verify(sessionService, times(2)).validateAndUpdateSession(1L); // Called in submitAnswer and saveUserResponse
-        verify(questionRepository, times(2)).findById(1L); // Called in submitAnswer and saveUserResponse
-        verify(quizSessionRepository, times(1)).save(any(QuizSession.class));
-        verify(userResponseRepository, times(1)).save(any(UserResponse.class));
+        verify(sessionService, times(1)).validateAndUpdateSession(1L);
+        verify(questionRepository, never()).findById(anyLong());
+        verify(sessionService, times(1)).recordAnswer(eq(quizSession), any(QuestionSnapshot.class), eq(false), any());
+        verify(userResponseBatchService, times(1)).save(any(UserResponse.class));
     }
 
     @Test
-    void testSubmitAnswer_CaseInsensitive_ReturnsTrue() {
+    void testSubmitAnswer_QuestionMissingFromBank_FallsBackToRepository() {
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(questionBankService.grade(1L, "b")).thenReturn(null);
         when(questionRepository.findById(1L)).thenReturn(Optional.of(question));
-        when(quizSessionRepository.save(any(QuizSession.class))).thenReturn(quizSession);
-        when(userResponseRepository.save(any(UserResponse.class))).thenReturn(new UserResponse());
+        when(userResponseBatchService.save(any(UserResponse.class))).thenReturn(new UserResponse());
 
         boolean result = answerService.submitAnswer(1L, "b");
 
         assertTrue(result);
-        verify(sessionService, times(2)).validateAndUpdateSession(1L);
+        verify(questionRepository, times(1)).findById(1L);
     }
 
     @Test
@@ -113,38 +134,73 @@ class AnswerServiceImplTest {
 
         assertThrows(RuntimeException.class, () -> answerService.submitAnswer(1L, "B"));
         verify(questionRepository, never()).findById(anyLong());
+        verifyNoInteractions(questionBankService);
     }
 
     @Test
     void testSubmitAnswer_QuestionNotFound_ThrowsException() {
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(questionBankService.grade(1L, "B")).thenReturn(null);
         when(questionRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, () -> answerService.submitAnswer(1L, "B"));
+        verify(userResponseBatchService, never()).save(any(UserResponse.class));
+    }
+
+    @Test
+    void testSubmitAnswer_StatisticsFail_RemovesSavedResponse() {
+        UserResponse saved = new UserResponse();
+        saved.setId(42L);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(questionBankService.grade(1L, "B")).thenReturn(true);
+        when(questionBankService.getQuestion(1L)).thenReturn(QuestionSnapshot.from(question));
+        when(userResponseBatchService.save(any(UserResponse.class))).thenReturn(saved);
+        doThrow(new RuntimeException("Database error")).when(sessionService)
+                .recordAnswer(eq(quizSession), any(QuestionSnapshot.class), eq(true), any());
+
+        assertThrows(RuntimeException.class, () -> answerService.submitAnswer(1L, "B"));
+        verify(userResponseRepository, times(1)).deleteById(42L);
+        verify(quizMetricsService, never()).answerSubmitted(anyBoolean(), anyLong());
     }
 
     @Test
     void testSubmitAnswer_UpdatesSessionStatistics() {
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
-        when(questionRepository.findById(1L)).thenReturn(Optional.of(question));
-        when(quizSessionRepository.save(any(QuizSession.class))).thenAnswer(invocation -> {
-            QuizSession saved = invocation.getArgument(0);
-            assertEquals(1, saved.getTotalQuestions());
-            assertEquals(1, saved.getCorrectAnswers());
-            return saved;
+        when(questionBankService.grade(1L, "B")).thenReturn(true);
+        when(questionBankService.getQuestion(1L)).thenReturn(QuestionSnapshot.from(question));
+        when(userResponseBatchService.save(any(UserResponse.class))).thenReturn(new UserResponse());
+
+        answerService.submitAnswer(1L, "B");
+
+        verify(sessionService, times(1)).recordAnswer(eq(quizSession),
+                argThat(snapshot -> snapshot.category() == Category.SCIENCE), eq(true), any());
+        verify(sessionService, never()).saveSession(any(QuizSession.class));
+    }
+
+    @Test
+    void testSubmitAnswer_UsesQuestionReferenceInsteadOfLoading() {
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(questionBankService.grade(1L, "B")).thenReturn(true);
+        when(questionBankService.getQuestion(1L)).thenReturn(QuestionSnapshot.from(question));
+        when(questionRepository.getReferenceById(1L)).thenReturn(question);
+        when(userResponseBatchService.save(any(UserResponse.class))).thenAnswer(invocation -> {
+            UserResponse response = invocation.getArgument(0);
+            assertSame(question, response.getQuestion());
+            assertSame(quizSession, response.getQuizSession());
+            assertTrue(response.isCorrect());
+            return response;
         });
-        when(userResponseRepository.save(any(UserResponse.class))).thenReturn(new UserResponse());
 
         answerService.submitAnswer(1L, "B");
 
-        verify(quizSessionRepository, times(1)).save(any(QuizSession.class));
+        verify(questionRepository, times(1)).getReferenceById(1L);
+        verify(questionRepository, never()).findById(anyLong());
     }
 
     @Test
     void testSaveUserResponse_Success() {
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
-        when(questionRepository.findById(1L)).thenReturn(Optional.of(question));
-        when(userResponseRepository.save(any(UserResponse.class))).thenAnswer(invocation -> {
+        when(userResponseBatchService.save(any(UserResponse.class))).thenAnswer(invocation -> {
             UserResponse response = invocation.getArgument(0);
             response.setId(1L);
             return response;
@@ -153,6 +209,101 @@ class AnswerServiceImplTest {
         UserResponse result = answerService.saveUserResponse(1L, "B", true);
 
         assertNotNull(result);
-        verify(userResponseRepository, times(1)).save(any(UserResponse.class));
+        verify(userResponseBatchService, times(1)).save(any(UserResponse.class));
+    }
+
+    @Test
+    void testSubmitAnswer_RecordsMeasuredResponseTime() {
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionService.responseTimeMillis(quizSession)).thenReturn(12_345L);
+        when(questionBankService.grade(1L, "B")).thenReturn(true);
+        when(questionBankService.getQuestion(1L)).thenReturn(QuestionSnapshot.from(question));
+        when(userResponseBatchService.save(any(UserResponse.class))).thenReturn(new UserResponse());
+
+        answerService.submitAnswer(1L, "B");
+
+        verify(userResponseBatchService, times(1)).save(argThat(response -> response.getResponseTime() == 13));
+        verify(sessionService, times(1)).recordAnswer(eq(quizSession), any(QuestionSnapshot.class), eq(true),
+                eq(12_345L));
+    }
+
+    @Test
+    void testSubmitAnswer_UnmeasuredResponseTime_StoredAsNull() {
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionService.responseTimeMillis(quizSession)).thenReturn(null);
+        when(questionBankService.grade(1L, "B")).thenReturn(true);
+        when(questionBankService.getQuestion(1L)).thenReturn(QuestionSnapshot.from(question));
+        when(userResponseBatchService.save(any(UserResponse.class))).thenReturn(new UserResponse());
+
+        answerService.submitAnswer(1L, "B");
+
+        verify(userResponseBatchService, times(1)).save(argThat(response -> response.getResponseTime() == null));
+        verify(sessionService, times(1)).recordAnswer(eq(quizSession), any(QuestionSnapshot.class), eq(true),
+                isNull());
+    }
+
+    @Test
+    void testSubmitAnswers_GradesReservedQuestionsInOneWrite() {
+        Question second = new Question();
+        second.setId(2L);
+        second.setCorrectAnswer("C");
+        second.setCategory(Category.HISTORY);
+        second.setDifficulty(Difficulty.HARD);
+        second.setTimeLimit(30);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionService.claimReservedQuestion(quizSession, 1L)).thenReturn(8_000L);
+        when(sessionService.claimReservedQuestion(quizSession, 2L)).thenReturn(8_000L);
+        when(questionBankService.grade(1L, "B")).thenReturn(true);
+        when(questionBankService.grade(2L, "A")).thenReturn(false);
+        when(questionBankService.getQuestion(1L)).thenReturn(QuestionSnapshot.from(question));
+        when(questionBankService.getQuestion(2L)).thenReturn(QuestionSnapshot.from(second));
+
+        BatchSubmissionResultDTO result = answerService.submitAnswers(1L, List.of(
+                batchAnswer(1L, "B", 3_000L), batchAnswer(2L, "A", 60_000L)));
+
+        assertEquals(2, result.getAccepted());
+        assertEquals(1, result.getCorrect());
+        verify(quizMetricsService, times(1)).answerBatchSubmitted(eq(1), eq(1), eq(0), anyLong());
+        assertTrue(result.getResults().get(0).isCorrect());
+        assertFalse(result.getResults().get(1).isCorrect());
+        verify(userResponseRepository, times(1)).saveAll(argThat(responses -> ((List<?>) responses).size() == 2));
+        // The client's time is capped at the time since the batch was served
+        verify(sessionService, times(1)).recordAnswers(quizSession, List.of(
+                new RecordedAnswer(QuestionSnapshot.from(question), true, 3_000L),
+                new RecordedAnswer(QuestionSnapshot.from(second), false, 8_000L)));
+        verify(userResponseBatchService, never()).save(any(UserResponse.class));
+        verify(sessionService, never()).recordAnswer(any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void testSubmitAnswers_UnreservedOrIncomplete_RejectedPerAnswer() {
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionService.claimReservedQuestion(quizSession, 1L)).thenReturn(2_000L, (Long) null);
+        when(questionBankService.grade(1L, "B")).thenReturn(true);
+        when(questionBankService.getQuestion(1L)).thenReturn(QuestionSnapshot.from(question));
+
+        BatchSubmissionResultDTO result = answerService.submitAnswers(1L, List.of(
+                batchAnswer(1L, "B", null), batchAnswer(1L, "B", null), batchAnswer(3L, null, null)));
+
+        assertEquals(1, result.getAccepted());
+        assertTrue(result.getResults().get(0).isAccepted());
+        assertEquals("Question was not reserved for this session", result.getResults().get(1).getError());
+        assertEquals("Question ID and answer are required", result.getResults().get(2).getError());
+        verify(sessionService, times(1)).recordAnswers(quizSession, List.of(
+                new RecordedAnswer(QuestionSnapshot.from(question), true, null)));
+    }
+
+    @Test
+    void testSubmitAnswers_EmptyBatch_ThrowsException() {
+        assertThrows(QuizException.class, () -> answerService.submitAnswers(1L, List.of()));
+        verify(sessionService, never()).validateAndUpdateSession(anyLong());
+    }
+
+    private BatchAnswerDTO batchAnswer(Long questionId, String answer, Long responseTimeMillis) {
+        BatchAnswerDTO dto = new BatchAnswerDTO();
+        dto.setQuestionId(questionId);
+        dto.setAnswer(answer);
+        dto.setResponseTimeMillis(responseTimeMillis);
+        return dto;
     }
 }
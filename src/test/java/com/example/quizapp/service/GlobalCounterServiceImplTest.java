@@ -0,0 +1,94 @@
+package com.example.quizapp.service;
+
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.repository.QuizSessionRepository;
+import com.example.quizapp.repository.UserResponseRepository;
+import com.example.quizapp.service.impl.GlobalCounterServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GlobalCounterServiceImplTest {
+
+    @Mock
+    private QuizSessionRepository quizSessionRepository;
+
+    @Mock
+    private UserResponseRepository userResponseRepository;
+
+    @InjectMocks
+    private GlobalCounterServiceImpl globalCounterService;
+
+    @Test
+    void testSeed_LoadsCountsFromDatabase() {
+        when(quizSessionRepository.count()).thenReturn(10L);
+        when(quizSessionRepository.countByActive(true)).thenReturn(4L);
+        when(userResponseRepository.count()).thenReturn(25L);
+
+        globalCounterService.seed();
+
+        assertEquals(10L, globalCounterService.getTotalSessions());
+        assertEquals(4L, globalCounterService.getActiveSessions());
+        assertEquals(25L, globalCounterService.getTotalAnswers());
+    }
+
+    @Test
+    void testCounters_ServedWithoutQueryingDatabase() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                globalCounterService.sessionStarted();
+                globalCounterService.answerRecorded();
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        globalCounterService.sessionsDeactivated(300);
+
+        assertEquals(1000L, globalCounterService.getTotalSessions());
+        assertEquals(700L, globalCounterService.getActiveSessions());
+        assertEquals(1000L, globalCounterService.getTotalAnswers());
+        verifyNoInteractions(quizSessionRepository, userResponseRepository);
+    }
+
+    @Test
+    void testReconcile_CorrectsDrift() {
+        globalCounterService.sessionStarted();
+        globalCounterService.sessionStarted();
+        when(quizSessionRepository.count()).thenReturn(5L);
+        when(quizSessionRepository.countByActive(true)).thenReturn(1L);
+        when(userResponseRepository.count()).thenReturn(0L);
+
+        globalCounterService.reconcile();
+
+        assertEquals(5L, globalCounterService.getTotalSessions());
+        assertEquals(1L, globalCounterService.getActiveSessions());
+        globalCounterService.sessionStarted();
+        assertEquals(6L, globalCounterService.getTotalSessions());
+    }
+
+    @Test
+    void testRecordResponseTime_KeepsHistogramPerCategoryAndDifficulty() {
+        globalCounterService.recordResponseTime(Category.SCIENCE, Difficulty.EASY, 4_000);
+        globalCounterService.recordResponseTime(Category.SCIENCE, Difficulty.HARD, 12_000);
+        globalCounterService.recordResponseTime(Category.HISTORY, Difficulty.HARD, 30_000);
+
+        assertEquals(2, globalCounterService.getResponseTimes(Category.SCIENCE).count());
+        assertEquals(1, globalCounterService.getResponseTimes(Category.HISTORY).count());
+        assertEquals(0, globalCounterService.getResponseTimes(Category.GEOGRAPHY).count());
+        assertEquals(2, globalCounterService.getResponseTimes(Difficulty.HARD).count());
+        long p50 = globalCounterService.getResponseTimes(Category.SCIENCE).percentile(50);
+        assertTrue(p50 >= 4_000 && p50 <= 4_000 + 4_000 / 16);
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.quizapp.service;
+
+import com.example.quizapp.cache.QuestionPayload;
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.cache.SessionDeck;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.model.Question;
+import com.example.quizapp.repository.QuestionRepository;
+import com.example.quizapp.service.impl.QuestionBankServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionBankServiceImplTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @InjectMocks
+    private QuestionBankServiceImpl questionBankService;
+
+    private Question question1;
+    private Question question2;
+
+    @BeforeEach
+    void setUp() {
+        question1 = createQuestion(1L, "What is 2+2?", Category.SCIENCE, Difficulty.EASY);
+        question2 = createQuestion(2L, "Capital of France?", Category.GEOGRAPHY, Difficulty.MEDIUM);
+    }
+
+    @Test
+    void testRefresh_LoadsAllQuestions() {
+        when(questionRepository.findAll()).thenReturn(Arrays.asList(question1, question2));
+
+        questionBankService.refresh();
+
+        assertEquals(2, questionBankService.size());
+        assertEquals("What is 2+2?", questionBankService.getQuestion(1L).questionText());
+        assertEquals(Category.GEOGRAPHY, questionBankService.getQuestion(2L).category());
+        verify(questionRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testRefresh_KeepsEditsMadeWhileLoading() {
+        Question edited = createQuestion(2L, "Capital of Italy?", Category.GEOGRAPHY, Difficulty.MEDIUM);
+        Question added = createQuestion(3L, "Speed of light?", Category.SCIENCE, Difficulty.HARD);
+        when(questionRepository.findAll()).thenAnswer(invocation -> {
+            // Committed after the table was read
+            questionBankService.onQuestionSaved(edited);
+            questionBankService.onQuestionSaved(added);
+            questionBankService.onQuestionRemoved(1L);
+            return Arrays.asList(question1, question2);
+        });
+
+        questionBankService.refresh();
+
+        assertEquals(2, questionBankService.size());
+        assertNull(questionBankService.getQuestion(1L));
+        assertEquals("Capital of Italy?", questionBankService.getQuestion(2L).questionText());
+        assertEquals(3L, questionBankService.randomQuestion(Category.SCIENCE, null).id());
+    }
+
+    @Test
+    void testRandomQuestion_EmptyBank_ReturnsNull() {
+        assertNull(questionBankService.randomQuestion(null, null));
+        verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    void testRandomQuestion_CoversWholeBank() {
+        when(questionRepository.findAll()).thenReturn(Arrays.asList(question1, question2));
+        questionBankService.refresh();
+
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            seen.add(questionBankService.randomQuestion(null, null).id());
+        }
+
+        assertEquals(Set.of(1L, 2L), seen);
+    }
+
+    @Test
+    void testOnQuestionSaved_AddsAndReplacesSnapshot() {
+        questionBankService.onQuestionSaved(question1);
+        assertEquals(1, questionBankService.size());
+
+        question1.setQuestionText("What is 3+3?");
+        QuestionSnapshot before = questionBankService.getQuestion(1L);
+        questionBankService.onQuestionSaved(question1);
+
+        assertEquals(1, questionBankService.size());
+        assertEquals("What is 2+2?", before.questionText());
+        assertEquals("What is 3+3?", questionBankService.getQuestion(1L).questionText());
+        verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    void testOnQuestionRemoved_RemovesSnapshot() {
+        questionBankService.onQuestionSaved(question1);
+        questionBankService.onQuestionSaved(question2);
+
+        questionBankService.onQuestionRemoved(1L);
+
+        assertEquals(1, questionBankService.size());
+        assertNull(questionBankService.getQuestion(1L));
+        assertEquals(2L, questionBankService.randomQuestion(null, null).id());
+    }
+
+    @Test
+    void testRandomQuestion_FiltersByCategoryAndDifficulty() {
+        Question question3 = createQuestion(3L, "Speed of light?", Category.SCIENCE, Difficulty.HARD);
+        when(questionRepository.findAll()).thenReturn(Arrays.asList(question1, question2, question3));
+        questionBankService.refresh();
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(3L, questionBankService.randomQuestion(Category.SCIENCE, Difficulty.HARD).id());
+            assertEquals(2L, questionBankService.randomQuestion(Category.GEOGRAPHY, null).id());
+            assertEquals(1L, questionBankService.randomQuestion(null, Difficulty.EASY).id());
+        }
+        assertEquals(2, questionBankService.count(Category.SCIENCE, null));
+        assertNull(questionBankService.randomQuestion(Category.HISTORY, null));
+        assertNull(questionBankService.randomQuestion(Category.GEOGRAPHY, Difficulty.HARD));
+    }
+
+    @Test
+    void testOnQuestionSaved_MovesQuestionBetweenBuckets() {
+        questionBankService.onQuestionSaved(question1);
+        assertEquals(1, questionBankService.count(Category.SCIENCE, Difficulty.EASY));
+
+        question1.setCategory(Category.HISTORY);
+        questionBankService.onQuestionSaved(question1);
+
+        assertEquals(0, questionBankService.count(Category.SCIENCE, Difficulty.EASY));
+        assertEquals(1, questionBankService.count(Category.HISTORY, Difficulty.EASY));
+    }
+
+    @Test
+    void testGrade_UsesAnswerKeyWithoutDatabase() {
+        when(questionRepository.findAll()).thenReturn(Arrays.asList(question1, question2));
+        questionBankService.refresh();
+
+        assertEquals(Boolean.TRUE, questionBankService.grade(1L, "B"));
+        assertEquals(Boolean.TRUE, questionBankService.grade(1L, "b"));
+        assertEquals(Boolean.FALSE, questionBankService.grade(1L, "C"));
+        assertEquals(Boolean.FALSE, questionBankService.grade(1L, "Banana"));
+        assertNull(questionBankService.grade(99L, "B"));
+        verify(questionRepository, times(1)).findAll();
+        assertEquals(4, questionBankService.getHitCount());
+        assertEquals(1, questionBankService.getMissCount());
+    }
+
+    @Test
+    void testGrade_LargeBank_EveryQuestionHasItsOwnKey() {
+        List<Question> questions = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            Question question = createQuestion(id * 7, "Question " + id, Category.HISTORY, Difficulty.HARD);
+            question.setCorrectAnswer(String.valueOf((char) ('A' + id % 4)));
+            questions.add(question);
+        }
+        when(questionRepository.findAll()).thenReturn(questions);
+        questionBankService.refresh();
+
+        for (long id = 1; id <= 5000; id++) {
+            String expected = String.valueOf((char) ('A' + id % 4));
+            String wrong = String.valueOf((char) ('A' + (id + 1) % 4));
+            assertEquals(Boolean.TRUE, questionBankService.grade(id * 7, expected));
+            assertEquals(Boolean.FALSE, questionBankService.grade(id * 7, wrong));
+        }
+        assertNull(questionBankService.grade(8L, "A"));
+    }
+
+    @Test
+    void testOnQuestionSaved_LargeBank_UpdatesOnlyTheEditedQuestion() {
+        List<Question> questions = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            questions.add(createQuestion(id, "Question " + id, Category.HISTORY, Difficulty.HARD));
+        }
+        when(questionRepository.findAll()).thenReturn(questions);
+        questionBankService.refresh();
+
+        Question edited = createQuestion(2500L, "Edited", Category.SCIENCE, Difficulty.EASY);
+        edited.setCorrectAnswer("D");
+        questionBankService.onQuestionSaved(edited);
+        questionBankService.onQuestionSaved(createQuestion(5000L, "Added", Category.HISTORY, Difficulty.HARD));
+        questionBankService.onQuestionRemoved(10L);
+
+        assertEquals(3000, questionBankService.size());
+        assertEquals(2999, questionBankService.count(Category.HISTORY, Difficulty.HARD));
+        assertEquals(2500L, questionBankService.randomQuestion(Category.SCIENCE, null).id());
+        assertEquals("Edited", questionBankService.getQuestion(2500L).questionText());
+        assertEquals(Boolean.TRUE, questionBankService.grade(2500L, "D"));
+        assertEquals(Boolean.TRUE, questionBankService.grade(5000L, "B"));
+        assertEquals(Boolean.TRUE, questionBankService.grade(2999L, "B"));
+        assertNull(questionBankService.getQuestion(10L));
+        assertNull(questionBankService.grade(10L, "B"));
+    }
+
+    @Test
+    void testStoreDeck_RoundTripsSparseIdsAndDropsRemovedQuestions() {
+        Question far = createQuestion(1_000_000_000_000L, "Far away", Category.SCIENCE, Difficulty.EASY);
+        when(questionRepository.findAll()).thenReturn(Arrays.asList(question1, question2, far));
+        questionBankService.refresh();
+
+        SessionDeck deck = questionBankService.restoreDeck(null);
+        questionBankService.drawQuestion(Category.SCIENCE, Difficulty.EASY, deck);
+        questionBankService.drawQuestion(Category.SCIENCE, Difficulty.EASY, deck);
+        assertTrue(deck.takeDirty());
+        byte[] stored = questionBankService.storeDeck(deck);
+        assertTrue(stored.length < 10);
+
+        questionBankService.onQuestionRemoved(1L);
+        SessionDeck restored = questionBankService.restoreDeck(stored);
+
+        assertEquals(1, restored.seenCount());
+        assertFalse(restored.takeDirty());
+        assertEquals(2L, questionBankService.drawQuestion(null, null, restored).id());
+    }
+
+    @Test
+    void testPayload_ReusedUntilQuestionIsEditedOrReloaded() {
+        when(questionRepository.findAll()).thenReturn(Arrays.asList(question1, question2));
+        questionBankService.refresh();
+        AtomicInteger encoded = new AtomicInteger();
+        Function<QuestionSnapshot, QuestionPayload> encoder = snapshot -> {
+            encoded.incrementAndGet();
+            return QuestionPayload.of(snapshot, "{\"timestamp\":-9223372036854775808}".getBytes());
+        };
+
+        QuestionSnapshot original = questionBankService.getQuestion(1L);
+        QuestionPayload first = questionBankService.payload(original, encoder);
+        assertSame(first, questionBankService.payload(original, encoder));
+        // An equal snapshot that is not the bank's current one is not cached
+        questionBankService.payload(QuestionSnapshot.from(question1), encoder);
+        assertEquals(2, encoded.get());
+
+        question1.setQuestionText("What is 3+3?");
+        questionBankService.onQuestionSaved(question1);
+        QuestionSnapshot edited = questionBankService.getQuestion(1L);
+        QuestionPayload second = questionBankService.payload(edited, encoder);
+        assertSame(edited, second.question());
+        assertSame(second, questionBankService.payload(edited, encoder));
+
+        questionBankService.refresh();
+        assertNotSame(second, questionBankService.payload(questionBankService.getQuestion(1L), encoder));
+        assertEquals(4, encoded.get());
+    }
+
+    @Test
+    void testGrade_TracksQuestionEdits() {
+        questionBankService.onQuestionSaved(question1);
+        assertEquals(Boolean.TRUE, questionBankService.grade(1L, "B"));
+
+        question1.setCorrectAnswer("d");
+        questionBankService.onQuestionSaved(question1);
+        assertEquals(Boolean.FALSE, questionBankService.grade(1L, "B"));
+        assertEquals(Boolean.TRUE, questionBankService.grade(1L, "D"));
+
+        questionBankService.onQuestionRemoved(1L);
+        assertNull(questionBankService.grade(1L, "D"));
+    }
+
+    @Test
+    void testGrade_NonLetterAnswerComparesText() {
+        question1.setCorrectAnswer("Paris");
+        questionBankService.onQuestionSaved(question1);
+
+        assertEquals(Boolean.TRUE, questionBankService.grade(1L, "paris"));
+        assertEquals(Boolean.FALSE, questionBankService.grade(1L, "A"));
+    }
+
+    private Question createQuestion(Long id, String text, Category category, Difficulty difficulty) {
+        Question question = new Question();
+        question.setId(id);
+        question.setQuestionText(text);
+        question.setOptionA("A");
+        question.setOptionB("B");
+        question.setOptionC("C");
+        question.setOptionD("D");
+        question.setCorrectAnswer("B");
+        question.setCategory(category);
+        question.setDifficulty(difficulty);
+        question.setTimeLimit(20);
+        return question;
+    }
+}
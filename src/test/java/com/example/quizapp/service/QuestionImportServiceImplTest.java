@@ -0,0 +1,190 @@
+package com.example.quizapp.service;
+
+import com.example.quizapp.dto.QuestionImportDTO;
+import com.example.quizapp.dto.QuestionImportRejectionDTO;
+import com.example.quizapp.enums.QuestionImportFormat;
+import com.example.quizapp.enums.QuestionImportStatus;
+import com.example.quizapp.exception.QuizException;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import com.example.quizapp.service.interfaces.QuestionImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs imports against a real H2 database, with small chunks and one parser thread so that
+ * which chunks are committed before a failure is predictable.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:questionimport",
+        "quiz.import.chunk-size=2",
+        "quiz.import.parallelism=1",
+        "quiz.counters.reconcile-ms=3600000"
+})
+class QuestionImportServiceImplTest {
+
+    private static final String HEADER =
+            "questionText,optionA,optionB,optionC,optionD,correctAnswer,difficulty,category";
+
+    @Autowired
+    private QuestionImportService questionImportService;
+
+    @Autowired
+    private QuestionBankService questionBankService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testSeedImportedAtStartup() {
+        assertEquals(1, countQuestions("Who wrote \"Romeo and Juliet\"?"));
+        assertEquals(1, countQuestions("Which programming language was created by James Gosling?"));
+    }
+
+    @Test
+    void testImport_InsertsValidRowsAndRecordsRejections() {
+        int bankSize = questionBankService.size();
+        String csv = HEADER + "\n"
+                + row("Valid one") + "\n"
+                + "Valid two?,a,b,c,d,Z,EASY,SCIENCE\n"
+                + row("Valid three") + "\n"
+                + row("Valid four") + "\n";
+
+        QuestionImportDTO result = questionImportService.importQuestions("valid", QuestionImportFormat.CSV,
+                stream(csv));
+
+        assertEquals(QuestionImportStatus.COMPLETED, result.getStatus());
+        assertEquals(4, result.getRowsRead());
+        assertEquals(3, result.getRowsImported());
+        assertEquals(1, result.getRowsRejected());
+        assertEquals(List.of(new QuestionImportRejectionDTO(2, "correctAnswer must be one of A, B, C, D")),
+                result.getRejections());
+        assertEquals(3, countQuestions("Valid%"));
+        assertEquals(bankSize + 3, questionBankService.size());
+    }
+
+    @Test
+    void testImport_ResumesAfterCheckpointWithSameId() {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        for (int i = 1; i <= 8; i++) {
+            csv.append(row("Resumed " + i)).append('\n');
+        }
+        String headerAndSixRows = csv.substring(0, nthNewline(csv, 7) + 1);
+
+        // Rows 1-6 are read before the stream fails; chunks 1-2 are written, chunk 3 is lost
+        assertThrows(QuizException.class, () -> questionImportService.importQuestions("resumed",
+                QuestionImportFormat.CSV, failingAfter(headerAndSixRows)));
+        QuestionImportDTO failed = questionImportService.getImport("resumed");
+        assertEquals(QuestionImportStatus.FAILED, failed.getStatus());
+        assertEquals(4, failed.getRowsRead());
+        assertEquals(4, failed.getRowsImported());
+
+        QuestionImportDTO resumed = questionImportService.importQuestions("resumed", QuestionImportFormat.CSV,
+                stream(csv.toString()));
+
+        assertEquals(QuestionImportStatus.COMPLETED, resumed.getStatus());
+        assertEquals(8, resumed.getRowsRead());
+        assertEquals(8, resumed.getRowsImported());
+        assertEquals(8, countQuestions("Resumed%"));
+        assertNotNull(questionBankService.randomQuestion(null, null));
+    }
+
+    @Test
+    void testImport_CompletedIdIsNotImportedAgain() {
+        String jsonl = "{\"questionText\":\"Once only\",\"optionA\":\"a\",\"optionB\":\"b\",\"optionC\":\"c\","
+                + "\"optionD\":\"d\",\"correctAnswer\":\"A\",\"difficulty\":\"EASY\",\"category\":\"HISTORY\"}\n";
+        questionImportService.importQuestions("once", QuestionImportFormat.JSONL, stream(jsonl));
+
+        QuestionImportDTO again = questionImportService.importQuestions("once", QuestionImportFormat.JSONL,
+                stream(jsonl));
+
+        assertEquals(QuestionImportStatus.COMPLETED, again.getStatus());
+        assertEquals(1, again.getRowsImported());
+        assertEquals(1, countQuestions("Once only"));
+    }
+
+    @Test
+    void testImport_FormatMismatchOnResume_ThrowsException() {
+        assertThrows(QuizException.class, () -> questionImportService.importQuestions("mismatch",
+                QuestionImportFormat.CSV, failingAfter(HEADER + "\n")));
+
+        QuizException exception = assertThrows(QuizException.class, () -> questionImportService.importQuestions(
+                "mismatch", QuestionImportFormat.JSONL, stream("")));
+
+        assertEquals("Import mismatch was started as CSV", exception.getMessage());
+    }
+
+    @Test
+    void testImport_FormatMismatch_LeavesImportStatusAlone() {
+        jdbcTemplate.update("INSERT INTO question_imports (id, format, status, started_at, updated_at) "
+                + "VALUES ('interrupted', 'CSV', 'RUNNING', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+
+        assertThrows(QuizException.class, () -> questionImportService.importQuestions("interrupted",
+                QuestionImportFormat.JSONL, stream("")));
+
+        assertEquals(QuestionImportStatus.RUNNING, questionImportService.getImport("interrupted").getStatus());
+    }
+
+    @Test
+    void testImport_MissingHeaderColumn_FailsImport() {
+        assertThrows(QuizException.class, () -> questionImportService.importQuestions("noheader",
+                QuestionImportFormat.CSV, stream("questionText,optionA\nQ?,a\n")));
+
+        assertEquals(QuestionImportStatus.FAILED, questionImportService.getImport("noheader").getStatus());
+    }
+
+    @Test
+    void testImport_InvalidId_ThrowsException() {
+        assertThrows(QuizException.class, () -> questionImportService.importQuestions("../etc",
+                QuestionImportFormat.CSV, stream(HEADER)));
+    }
+
+    @Test
+    void testGetImport_NotFound_ThrowsException() {
+        assertThrows(QuizException.class, () -> questionImportService.getImport("unknown"));
+    }
+
+    private static String row(String text) {
+        return text + "?,a,b,c,d,A,EASY,SCIENCE";
+    }
+
+    private int countQuestions(String pattern) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM questions WHERE question_text LIKE ?",
+                Integer.class, pattern);
+    }
+
+    private static int nthNewline(CharSequence text, int n) {
+        int found = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n' && ++found == n) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Fewer than " + n + " lines");
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Serves the text, then fails the next read as a dropped upload would
+    private static InputStream failingAfter(String text) {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        return new SequenceInputStream(stream(text), failing);
+    }
+}
@@ -1,22 +1,36 @@
 package com.example.quizapp.service;
 
+import com.example.quizapp.cache.QuestionPayload;
+import com.example.quizapp.cache.QuestionSnapshot;
 import com.example.quizapp.dto.QuestionDTO;
+import com.example.quizapp.dto.QuestionPayloadDTO;
 import com.example.quizapp.enums.Category;
 import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.enums.QuestionSelectionMode;
 import com.example.quizapp.exception.QuizException;
 import com.example.quizapp.model.Question;
 import com.example.quizapp.model.QuizSession;
 import com.example.quizapp.repository.QuestionRepository;
 import com.example.quizapp.service.impl.QuestionServiceImpl;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import com.example.quizapp.service.interfaces.QuizMetricsService;
+import com.example.quizapp.service.interfaces.SessionDeckService;
 import com.example.quizapp.service.interfaces.SessionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,9 +43,21 @@ class QuestionServiceImplTest {
     @Mock
     private QuestionRepository questionRepository;
 
+    @Mock
+    private QuestionBankService questionBankService;
+
+    @Mock
+    private SessionDeckService sessionDeckService;
+
     @Mock
     private SessionService sessionService;
 
+    @Mock
+    private QuizMetricsService quizMetricsService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private QuestionServiceImpl questionService;
 
@@ -59,11 +85,65 @@ class QuestionServiceImplTest {
         quizSession.setActive(true);
     }
 
+    @Test
+    void testGetNextQuestion_FromQuestionBank_Success() {
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionDeckService.drawQuestion(quizSession, null, null)).thenReturn(QuestionSnapshot.from(question));
+
+        QuestionDTO result = questionService.getNextQuestion(1L);
+
+        assertNotNull(result);
+        assertEquals("What is 2+2?", result.getQuestionText());
+        assertEquals("4", result.getOptionB());
+        assertEquals(Category.SCIENCE, result.getCategory());
+        assertEquals(Difficulty.EASY, result.getDifficulty());
+        assertEquals(20, result.getTimeLimit());
+        assertNotNull(result.getTimestamp());
+
+        verify(questionRepository, never()).findRandomQuestion();
+        verify(sessionService, times(1)).assignQuestion(quizSession, 1L);
+    }
+
+    @Test
+    void testGetNextQuestion_EmptyQuestionBank_ThrowsException() {
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionDeckService.drawQuestion(quizSession, null, null)).thenReturn(null);
+
+        assertThrows(QuizException.class, () -> questionService.getNextQuestion(1L));
+        verify(sessionService, never()).assignQuestion(any(QuizSession.class), anyLong());
+    }
+
+    @Test
+    void testGetNextQuestion_WithFilters_UsesMatchingBucket() {
+        question.setDifficulty(Difficulty.HARD);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionDeckService.drawQuestion(quizSession, Category.SCIENCE, Difficulty.HARD))
+                .thenReturn(QuestionSnapshot.from(question));
+
+        QuestionDTO result = questionService.getNextQuestion(1L, Category.SCIENCE, Difficulty.HARD);
+
+        assertEquals(Category.SCIENCE, result.getCategory());
+        assertEquals(Difficulty.HARD, result.getDifficulty());
+        verify(sessionDeckService, times(1)).drawQuestion(quizSession, Category.SCIENCE, Difficulty.HARD);
+    }
+
+    @Test
+    void testGetNextQuestion_SqlModeWithFilters_UsesFilteredQuery() {
+        ReflectionTestUtils.setField(questionService, "selectionMode", QuestionSelectionMode.SQL);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(questionRepository.findRandomQuestion("SCIENCE", null)).thenReturn(question);
+
+        QuestionDTO result = questionService.getNextQuestion(1L, Category.SCIENCE, null);
+
+        assertEquals(Category.SCIENCE, result.getCategory());
+        verify(questionRepository, never()).findRandomQuestion();
+    }
+
     @Test
     void testGetNextQuestion_Success() {
+        ReflectionTestUtils.setField(questionService, "selectionMode", QuestionSelectionMode.SQL);
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
         when(questionRepository.findRandomQuestion()).thenReturn(question);
-        doNothing().when(sessionService).saveSession(any(QuizSession.class));
 
         QuestionDTO result = questionService.getNextQuestion(1L);
 
@@ -80,17 +160,46 @@ class QuestionServiceImplTest {
         
         verify(sessionService, times(1)).validateAndUpdateSession(1L);
         verify(questionRepository, times(1)).findRandomQuestion();
-        verify(sessionService, times(1)).saveSession(any(QuizSession.class));
+        verify(sessionService, times(1)).assignQuestion(quizSession, 1L);
     }
 
     @Test
     void testGetNextQuestion_NoQuestionsAvailable_ThrowsException() {
+        ReflectionTestUtils.setField(questionService, "selectionMode", QuestionSelectionMode.SQL);
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
         when(questionRepository.findRandomQuestion()).thenReturn(null);
 
         assertThrows(QuizException.class, () -> questionService.getNextQuestion(1L));
         verify(questionRepository, times(1)).findRandomQuestion();
-        verify(sessionService, never()).saveSession(any(QuizSession.class));
+        verify(sessionService, never()).assignQuestion(any(QuizSession.class), anyLong());
+    }
+
+    @Test
+    void testGetNextQuestionPayload_WritesSameJsonAsDto() throws Exception {
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionDeckService.drawQuestion(quizSession, null, null)).thenReturn(QuestionSnapshot.from(question));
+        when(questionBankService.payload(any(), any())).thenAnswer(invocation -> invocation
+                .<Function<QuestionSnapshot, QuestionPayload>>getArgument(1).apply(invocation.getArgument(0)));
+
+        QuestionPayloadDTO result = questionService.getNextQuestionPayload(1L, null, null);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        result.payload().writeTo(body, result.timestamp());
+        QuestionDTO expected = questionService.mapQuestionToDTO(question);
+        expected.setTimestamp(result.timestamp());
+        assertEquals(objectMapper.writeValueAsString(expected), body.toString(StandardCharsets.UTF_8));
+        assertEquals(body.size(), result.payload().contentLength(result.timestamp()));
+        verify(sessionService, times(1)).assignQuestion(quizSession, 1L);
+    }
+
+    @Test
+    void testGetNextQuestionPayload_NoQuestionsAvailable_ThrowsException() {
+        ReflectionTestUtils.setField(questionService, "selectionMode", QuestionSelectionMode.SQL);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(questionRepository.findRandomQuestion("SCIENCE", null)).thenReturn(null);
+
+        assertThrows(QuizException.class, () -> questionService.getNextQuestionPayload(1L, Category.SCIENCE, null));
+        verify(sessionService, never()).assignQuestion(any(QuizSession.class), anyLong());
     }
 
     @Test
@@ -107,4 +216,33 @@ class QuestionServiceImplTest {
         assertEquals(Difficulty.EASY, result.getDifficulty());
         assertEquals(20, result.getTimeLimit());
     }
+
+    @Test
+    void testGetNextQuestions_ReservesEveryQuestionServed() {
+        Question second = new Question();
+        second.setId(2L);
+        second.setQuestionText("What is 3+3?");
+        second.setCategory(Category.SCIENCE);
+        second.setDifficulty(Difficulty.EASY);
+        second.setTimeLimit(20);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionDeckService.drawQuestion(quizSession, null, null))
+                .thenReturn(QuestionSnapshot.from(question), QuestionSnapshot.from(second), null);
+
+        List<QuestionDTO> result = questionService.getNextQuestions(1L, 5, null, null);
+
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getQuestionId());
+        assertEquals(2L, result.get(1).getQuestionId());
+        assertNotNull(result.get(1).getTimestamp());
+        verify(sessionService, times(1)).reserveQuestions(quizSession, List.of(1L, 2L));
+        verify(sessionService, never()).assignQuestion(any(QuizSession.class), anyLong());
+    }
+
+    @Test
+    void testGetNextQuestions_CountOutOfRange_ThrowsException() {
+        assertThrows(QuizException.class, () -> questionService.getNextQuestions(1L, 0, null, null));
+        assertThrows(QuizException.class, () -> questionService.getNextQuestions(1L, 51, null, null));
+        verify(sessionService, never()).validateAndUpdateSession(anyLong());
+    }
 }
@@ -0,0 +1,114 @@
+package com.example.quizapp.service;
+
+import com.example.quizapp.cache.SessionStore;
+import com.example.quizapp.enums.SessionValidationOutcome;
+import com.example.quizapp.model.QuizSession;
+import com.example.quizapp.service.impl.QuizMetricsServiceImpl;
+import com.example.quizapp.service.interfaces.GlobalCounterService;
+import com.example.quizapp.service.interfaces.QuestionBankService;
+import com.example.quizapp.service.interfaces.SessionDeckService;
+import com.example.quizapp.service.interfaces.SessionExpiryService;
+import com.example.quizapp.service.interfaces.UserResponseBatchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizMetricsServiceImplTest {
+
+    @Mock
+    private QuestionBankService questionBankService;
+
+    @Mock
+    private SessionDeckService sessionDeckService;
+
+    @Mock
+    private SessionExpiryService sessionExpiryService;
+
+    @Mock
+    private GlobalCounterService globalCounterService;
+
+    @Mock
+    private UserResponseBatchService userResponseBatchService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SessionStore sessionStore = new SessionStore();
+    private QuizMetricsServiceImpl quizMetricsService;
+
+    @BeforeEach
+    void setUp() {
+        quizMetricsService = new QuizMetricsServiceImpl(meterRegistry, sessionStore, questionBankService,
+                sessionDeckService, sessionExpiryService, globalCounterService, userResponseBatchService);
+        quizMetricsService.register();
+    }
+
+    @Test
+    void testAnswerSubmitted_SplitsCorrectAndIncorrect() {
+        quizMetricsService.answerSubmitted(true, TimeUnit.MILLISECONDS.toNanos(4));
+        quizMetricsService.answerSubmitted(true, TimeUnit.MILLISECONDS.toNanos(6));
+        quizMetricsService.answerSubmitted(false, TimeUnit.MILLISECONDS.toNanos(2));
+        quizMetricsService.answerBatchSubmitted(3, 1, 2, TimeUnit.MILLISECONDS.toNanos(9));
+
+        assertEquals(2, meterRegistry.get("quiz.answer.submit").tag("result", "correct").timer().count());
+        assertEquals(10, meterRegistry.get("quiz.answer.submit").tag("result", "correct").timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, meterRegistry.get("quiz.answer.submit").tag("result", "incorrect").timer().count());
+        assertEquals(5, meterRegistry.get("quiz.answers").tag("result", "correct").counter().count());
+        assertEquals(2, meterRegistry.get("quiz.answers").tag("result", "incorrect").counter().count());
+        assertEquals(2, meterRegistry.get("quiz.answers").tag("result", "rejected").counter().count());
+        assertEquals(1, meterRegistry.get("quiz.answer.batch.submit").timer().count());
+    }
+
+    @Test
+    void testSessionValidated_TimedPerOutcome() {
+        quizMetricsService.sessionValidated(SessionValidationOutcome.HIT, 1_000);
+        quizMetricsService.sessionValidated(SessionValidationOutcome.HIT, 1_000);
+        quizMetricsService.sessionValidated(SessionValidationOutcome.TIMED_OUT, 1_000);
+
+        assertEquals(2, meterRegistry.get("quiz.session.validate").tag("outcome", "hit").timer().count());
+        assertEquals(1, meterRegistry.get("quiz.session.validate").tag("outcome", "timed_out").timer().count());
+        assertEquals(0, meterRegistry.get("quiz.session.validate").tag("outcome", "expired").timer().count());
+    }
+
+    @Test
+    void testGauges_ReadCurrentValuesWhenScraped() {
+        when(globalCounterService.getActiveSessions()).thenReturn(7L);
+        when(questionBankService.size()).thenReturn(120);
+        QuizSession session = new QuizSession();
+        session.setId(1L);
+        session.setLastAccessTime(LocalDateTime.now());
+        sessionStore.put(session);
+
+        assertEquals(7, meterRegistry.get("quiz.sessions.active").gauge().value());
+        assertEquals(120, meterRegistry.get("quiz.question.bank.size").gauge().value());
+        assertEquals(1, meterRegistry.get("quiz.sessions.cached").gauge().value());
+    }
+
+    @Test
+    void testSessionStoreHitRatio_FollowsLookups() {
+        QuizSession session = new QuizSession();
+        session.setId(1L);
+        session.setLastAccessTime(LocalDateTime.now());
+        assertEquals(0, meterRegistry.get("quiz.session.store.hit.ratio").gauge().value());
+
+        sessionStore.get(1L);
+        sessionStore.put(session);
+        sessionStore.get(1L);
+        sessionStore.get(1L);
+        sessionStore.get(1L);
+
+        assertEquals(0.75, meterRegistry.get("quiz.session.store.hit.ratio").gauge().value(), 0.001);
+        assertEquals(1, meterRegistry.get("quiz.session.store.lookups").tag("result", "miss")
+                .functionCounter().count());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.quizapp.service;
+
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.model.Question;
+import com.example.quizapp.model.QuizSession;
+import com.example.quizapp.repository.QuestionRepository;
+import com.example.quizapp.repository.QuizSessionRepository;
+import com.example.quizapp.service.impl.QuestionBankServiceImpl;
+import com.example.quizapp.service.impl.SessionDeckServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionDeckServiceImplTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private QuizSessionRepository quizSessionRepository;
+
+    private SessionDeckServiceImpl sessionDeckService;
+
+    private QuizSession quizSession;
+
+    @BeforeEach
+    void setUp() {
+        List<Question> questions = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            questions.add(createQuestion(id, id <= 15 ? Category.SCIENCE : Category.HISTORY));
+        }
+        when(questionRepository.findAll()).thenReturn(questions);
+        QuestionBankServiceImpl questionBankService = new QuestionBankServiceImpl(questionRepository);
+        questionBankService.refresh();
+        sessionDeckService = new SessionDeckServiceImpl(questionBankService, quizSessionRepository);
+
+        quizSession = new QuizSession();
+        quizSession.setId(1L);
+        quizSession.setStartTime(LocalDateTime.now());
+        quizSession.setLastAccessTime(LocalDateTime.now());
+        quizSession.setActive(true);
+    }
+
+    @Test
+    void testDrawQuestion_NoRepeatsUntilDeckExhausted() {
+        Set<Long> drawn = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(drawn.add(sessionDeckService.drawQuestion(quizSession, null, null).id()));
+        }
+        assertEquals(20, drawn.size());
+
+        // Deck is reshuffled once every question has been served
+        assertNotNull(sessionDeckService.drawQuestion(quizSession, null, null));
+    }
+
+    @Test
+    void testDrawQuestion_ReshufflesOnlyRequestedBucket() {
+        Set<Long> science = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            science.add(sessionDeckService.drawQuestion(quizSession, Category.SCIENCE, null).id());
+        }
+
+        Set<Long> history = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            QuestionSnapshot question = sessionDeckService.drawQuestion(quizSession, Category.HISTORY, null);
+            assertEquals(Category.HISTORY, question.category());
+            history.add(question.id());
+        }
+        assertEquals(5, history.size());
+
+        sessionDeckService.drawQuestion(quizSession, Category.HISTORY, null);
+
+        for (int i = 0; i < 12; i++) {
+            assertTrue(science.add(sessionDeckService.drawQuestion(quizSession, Category.SCIENCE, null).id()));
+        }
+    }
+
+    @Test
+    void testFlushDecks_WritesOnlyChangedDecks() {
+        QuestionSnapshot first = sessionDeckService.drawQuestion(quizSession, null, null);
+        verifyNoInteractions(quizSessionRepository);
+
+        sessionDeckService.flushDecks();
+        sessionDeckService.flushDecks();
+
+        ArgumentCaptor<byte[]> stored = ArgumentCaptor.forClass(byte[].class);
+        verify(quizSessionRepository, times(1)).updateSeenQuestions(eq(1L), stored.capture());
+        byte[] seen = stored.getValue();
+        assertEquals(1, seen.length);
+
+        // A cold-loaded copy of the session continues the same deck
+        sessionDeckService.evict(1L);
+        QuizSession reloaded = new QuizSession();
+        reloaded.setId(1L);
+        reloaded.setSeenQuestions(seen);
+        for (int i = 0; i < 19; i++) {
+            assertNotEquals(first.id(), sessionDeckService.drawQuestion(reloaded, null, null).id());
+        }
+    }
+
+    @Test
+    void testEvict_RemovesDeck() {
+        sessionDeckService.drawQuestion(quizSession, null, null);
+        assertEquals(1, sessionDeckService.size());
+
+        sessionDeckService.evict(1L);
+
+        assertEquals(0, sessionDeckService.size());
+    }
+
+    private Question createQuestion(long id, Category category) {
+        Question question = new Question();
+        question.setId(id);
+        question.setQuestionText("Question " + id);
+        question.setOptionA("A");
+        question.setOptionB("B");
+        question.setOptionC("C");
+        question.setOptionD("D");
+        question.setCorrectAnswer("A");
+        question.setCategory(category);
+        question.setDifficulty(Difficulty.EASY);
+        question.setTimeLimit(20);
+        return question;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.quizapp.service;
+
+import com.example.quizapp.cache.SessionStore;
+import com.example.quizapp.model.QuizSession;
+import com.example.quizapp.repository.QuizSessionRepository;
+import com.example.quizapp.service.impl.SessionExpiryServiceImpl;
+import com.example.quizapp.service.interfaces.GlobalCounterService;
+import com.example.quizapp.service.interfaces.SessionDeckService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionExpiryServiceImplTest {
+
+    @Mock
+    private QuizSessionRepository quizSessionRepository;
+
+    @Mock
+    private SessionDeckService sessionDeckService;
+
+    @Mock
+    private GlobalCounterService globalCounterService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SessionStore sessionStore;
+    private SessionExpiryServiceImpl expiryService;
+
+    @BeforeEach
+    void setUp() {
+        sessionStore = new SessionStore();
+        expiryService = new SessionExpiryServiceImpl(quizSessionRepository, sessionStore,
+                sessionDeckService, globalCounterService, transactionManager);
+        ReflectionTestUtils.setField(expiryService, "sessionTimeoutMinutes", 30);
+        ReflectionTestUtils.setField(expiryService, "tickMillis", 1L);
+        ReflectionTestUtils.setField(expiryService, "chunkSize", 2);
+        expiryService.init();
+    }
+
+    private QuizSession cachedSession(long id, LocalDateTime lastAccessTime) {
+        QuizSession session = new QuizSession();
+        session.setId(id);
+        session.setActive(true);
+        session.setLastAccessTime(lastAccessTime);
+        sessionStore.put(session);
+        return session;
+    }
+
+    @Test
+    void testSweepWheel_DeactivatesIdleSessionsInChunks() throws InterruptedException {
+        when(quizSessionRepository.deactivateSessions(anyCollection()))
+                .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+        LocalDateTime idle = LocalDateTime.now().minusMinutes(31);
+        for (long id = 1; id <= 5; id++) {
+            expiryService.track(cachedSession(id, idle));
+        }
+        Thread.sleep(5);
+
+        int expired = expiryService.sweepWheel();
+
+        assertEquals(5, expired);
+        assertEquals(0, sessionStore.size());
+        assertEquals(0, expiryService.getTrackedCount());
+        assertEquals(5, expiryService.getLastSweepExpired());
+        assertEquals(5, expiryService.getTotalExpired());
+        assertEquals(1, expiryService.getSweepCount());
+        verify(quizSessionRepository, times(3)).deactivateSessions(anyCollection());
+        verify(sessionDeckService, times(5)).evict(anyLong());
+        verify(quizSessionRepository, never()).save(any(QuizSession.class));
+        verify(globalCounterService, times(1)).sessionsDeactivated(5);
+    }
+
+    @Test
+    void testSweepWheel_ReschedulesSessionsUsedSinceTracking() throws InterruptedException {
+        QuizSession session = cachedSession(1L, LocalDateTime.now().minusMinutes(31));
+        expiryService.track(session);
+        session.setLastAccessTime(LocalDateTime.now());
+        Thread.sleep(5);
+
+        int expired = expiryService.sweepWheel();
+
+        assertEquals(0, expired);
+        assertTrue(session.isActive());
+        assertEquals(1, expiryService.getTrackedCount());
+        verify(quizSessionRepository, never()).deactivateSessions(anyCollection());
+    }
+
+    @Test
+    void testSweepWheel_SessionNotYetDue_IsNotVisited() {
+        expiryService.track(cachedSession(1L, LocalDateTime.now()));
+
+        assertEquals(0, expiryService.sweepWheel());
+        assertEquals(1, expiryService.getTrackedCount());
+        verifyNoInteractions(quizSessionRepository);
+    }
+
+    @Test
+    void testExpire_DeactivatesOnNextSweep() {
+        when(quizSessionRepository.deactivateSessions(List.of(7L))).thenReturn(1);
+
+        expiryService.expire(7L);
+
+        assertEquals(1, expiryService.sweepWheel());
+        verify(sessionDeckService, times(1)).evict(7L);
+    }
+
+    @Test
+    void testSweepWheel_FailedUpdateIsRetried() {
+        when(quizSessionRepository.deactivateSessions(List.of(7L)))
+                .thenThrow(new RuntimeException("Database error"))
+                .thenReturn(1);
+        expiryService.expire(7L);
+
+        assertEquals(0, expiryService.sweepWheel());
+        assertEquals(1, expiryService.sweepWheel());
+        verify(quizSessionRepository, times(2)).deactivateSessions(List.of(7L));
+    }
+
+    @Test
+    void testSweepStoredSessions_PagesByIdAndSkipsSessionsInUse() {
+        QuizSession inUse = cachedSession(2L, LocalDateTime.now());
+        when(quizSessionRepository.findExpiredSessionIds(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(quizSessionRepository.findExpiredSessionIds(any(LocalDateTime.class), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(3L));
+        when(quizSessionRepository.deactivateSessions(anyCollection()))
+                .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+
+        int expired = expiryService.sweepStoredSessions();
+
+        assertEquals(2, expired);
+        assertTrue(inUse.isActive());
+        assertSame(inUse, sessionStore.peek(2L).getSession());
+        assertNotNull(sessionStore.peek(2L).takeDirtyAccessTime());
+        verify(quizSessionRepository, times(1)).deactivateSessions(List.of(1L));
+        verify(quizSessionRepository, times(1)).deactivateSessions(List.of(3L));
+        assertEquals(2, expiryService.getLastSweepExpired());
+    }
+}
@@ -1,23 +1,43 @@
 package com.example.quizapp.service;
 
+import com.example.quizapp.cache.LatencyHistogram;
+import com.example.quizapp.cache.QuestionSnapshot;
+import com.example.quizapp.cache.RecentOutcomes;
+import com.example.quizapp.cache.RecordedAnswer;
+import com.example.quizapp.cache.SessionStore;
 import com.example.quizapp.dto.QuizSessionDTO;
+import com.example.quizapp.dto.ResponseTimeCountDTO;
+import com.example.quizapp.enums.Category;
+import com.example.quizapp.enums.Difficulty;
+import com.example.quizapp.enums.SessionValidationOutcome;
 import com.example.quizapp.exception.QuizException;
 import com.example.quizapp.model.QuizSession;
 import com.example.quizapp.repository.QuizSessionRepository;
+import com.example.quizapp.repository.SessionAggregateRepository;
+import com.example.quizapp.repository.UserResponseRepository;
 import com.example.quizapp.service.impl.SessionServiceImpl;
+import com.example.quizapp.service.interfaces.GlobalCounterService;
+import com.example.quizapp.service.interfaces.QuizMetricsService;
+import com.example.quizapp.service.interfaces.SessionDeckService;
+import com.example.quizapp.service.interfaces.SessionExpiryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +46,27 @@ class SessionServiceImplTest {
     @Mock
     private QuizSessionRepository quizSessionRepository;
 
+    @Mock
+    private SessionAggregateRepository sessionAggregateRepository;
+
+    @Mock
+    private UserResponseRepository userResponseRepository;
+
+    @Mock
+    private SessionDeckService sessionDeckService;
+
+    @Spy
+    private SessionStore sessionStore = new SessionStore();
+
+    @Mock
+    private SessionExpiryService sessionExpiryService;
+
+    @Mock
+    private GlobalCounterService globalCounterService;
+
+    @Mock
+    private QuizMetricsService quizMetricsService;
+
     @InjectMocks
     private SessionServiceImpl sessionService;
 
@@ -67,14 +108,51 @@ class SessionServiceImplTest {
     @Test
     void testValidateAndUpdateSession_Success() {
         when(quizSessionRepository.findById(1L)).thenReturn(Optional.of(quizSession));
-        when(quizSessionRepository.save(any(QuizSession.class))).thenReturn(quizSession);
 
         QuizSession result = sessionService.validateAndUpdateSession(1L);
 
         assertNotNull(result);
         assertTrue(result.isActive());
         verify(quizSessionRepository, times(1)).findById(1L);
-        verify(quizSessionRepository, times(1)).save(any(QuizSession.class));
+        verify(quizSessionRepository, never()).save(any(QuizSession.class));
+    }
+
+    @Test
+    void testValidateAndUpdateSession_CachedSession_SkipsDatabase() {
+        when(quizSessionRepository.findById(1L)).thenReturn(Optional.of(quizSession));
+
+        QuizSession first = sessionService.validateAndUpdateSession(1L);
+        QuizSession second = sessionService.validateAndUpdateSession(1L);
+
+        assertSame(first, second);
+        verify(quizSessionRepository, times(1)).findById(1L);
+        assertEquals(1, sessionStore.getMissCount());
+        assertEquals(1, sessionStore.getHitCount());
+        verify(quizMetricsService, times(1)).sessionValidated(eq(SessionValidationOutcome.LOADED), anyLong());
+        verify(quizMetricsService, times(1)).sessionValidated(eq(SessionValidationOutcome.HIT), anyLong());
+    }
+
+    @Test
+    void testStartNewSession_CachesSession() {
+        when(quizSessionRepository.save(any(QuizSession.class))).thenReturn(quizSession);
+
+        sessionService.startNewSession();
+        sessionService.validateAndUpdateSession(1L);
+
+        verify(quizSessionRepository, never()).findById(anyLong());
+        verify(sessionExpiryService, times(1)).track(quizSession);
+        verify(globalCounterService, times(1)).sessionStarted();
+    }
+
+    @Test
+    void testCleanupInactiveSessions_DelegatesToExpirySweep() {
+        when(sessionExpiryService.sweepStoredSessions()).thenReturn(3);
+
+        sessionService.cleanupInactiveSessions();
+
+        verify(sessionExpiryService, times(1)).sweepStoredSessions();
+        verify(quizSessionRepository, never()).save(any(QuizSession.class));
+        verify(quizMetricsService, times(1)).sessionsCleanedUp(eq(3), anyLong());
     }
 
     @Test
@@ -89,6 +167,7 @@ class SessionServiceImplTest {
 
         assertThrows(QuizException.class, () -> sessionService.validateAndUpdateSession(999L));
         verify(quizSessionRepository, times(1)).findById(999L);
+        verify(quizMetricsService, times(1)).sessionValidated(eq(SessionValidationOutcome.INVALID), anyLong());
     }
 
     @Test
@@ -98,17 +177,146 @@ class SessionServiceImplTest {
 
         assertThrows(QuizException.class, () -> sessionService.validateAndUpdateSession(1L));
         verify(quizSessionRepository, times(1)).findById(1L);
+        verify(quizMetricsService, times(1)).sessionValidated(eq(SessionValidationOutcome.EXPIRED), anyLong());
     }
 
     @Test
     void testValidateAndUpdateSession_ExpiredSession_ThrowsException() {
         quizSession.setLastAccessTime(LocalDateTime.now().minusMinutes(31));
         when(quizSessionRepository.findById(1L)).thenReturn(Optional.of(quizSession));
-        when(quizSessionRepository.save(any(QuizSession.class))).thenReturn(quizSession);
 
         assertThrows(QuizException.class, () -> sessionService.validateAndUpdateSession(1L));
+        assertFalse(quizSession.isActive());
+        assertEquals(0, sessionStore.size());
         verify(quizSessionRepository, times(1)).findById(1L);
-        verify(quizSessionRepository, times(1)).save(any(QuizSession.class));
+        verify(quizSessionRepository, never()).save(any(QuizSession.class));
+        verify(sessionDeckService, times(1)).evict(1L);
+        verify(sessionExpiryService, times(1)).expire(1L);
+        verify(quizMetricsService, times(1)).sessionValidated(eq(SessionValidationOutcome.TIMED_OUT), anyLong());
+    }
+
+    @Test
+    void testRecordAnswer_UpdatesDatabaseAndCachedCounters() {
+        sessionStore.put(quizSession);
+
+        QuestionSnapshot question = new QuestionSnapshot(5L, "Q", "A", "B", "C", "D", "A",
+                Difficulty.HARD, Category.HISTORY, 20);
+        sessionService.recordAnswer(quizSession, question, true, 15_000L);
+        sessionService.recordAnswer(quizSession, question, false, 25_000L);
+        sessionService.recordAnswer(quizSession, question, true, null);
+
+        assertEquals(3, quizSession.getTotalQuestions());
+        assertEquals(2, quizSession.getCorrectAnswers());
+        verify(quizSessionRepository, times(2)).incrementCounters(1L, 1);
+        verify(quizSessionRepository, times(1)).incrementCounters(1L, 0);
+        verify(sessionAggregateRepository, times(1)).recordAnswer(1L, "HISTORY", "HARD", 1, 1, 15_000L, 1);
+        verify(sessionAggregateRepository, times(1)).recordAnswer(1L, "HISTORY", "HARD", 0, 1, 25_000L, 0);
+        verify(sessionAggregateRepository, times(1)).recordAnswer(1L, "HISTORY", "HARD", 1, 0, 0L, 0);
+        verify(globalCounterService, times(3)).answerRecorded();
+        verify(globalCounterService, times(2)).recordResponseTime(eq(Category.HISTORY), eq(Difficulty.HARD), anyLong());
+        assertEquals(2, sessionService.responseTimes(quizSession).count());
+    }
+
+    @Test
+    void testRecordAnswer_VersionMovesOnlyAfterCommit() {
+        sessionStore.put(quizSession);
+        long version = quizSession.getVersion();
+        QuestionSnapshot question = new QuestionSnapshot(5L, "Q", "A", "B", "C", "D", "A",
+                Difficulty.HARD, Category.HISTORY, 20);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sessionService.recordAnswer(quizSession, question, true, 15_000L);
+            assertEquals(version, quizSession.getVersion());
+            assertEquals(0, quizSession.getTotalQuestions());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(version + 1, quizSession.getVersion());
+        assertEquals(1, quizSession.getTotalQuestions());
+    }
+
+    @Test
+    void testRecentOutcomes_NewSession_ServedFromRingBuffer() {
+        sessionStore.put(quizSession);
+        QuestionSnapshot question = new QuestionSnapshot(5L, "Q", "A", "B", "C", "D", "A",
+                Difficulty.HARD, Category.HISTORY, 20);
+        sessionService.recordAnswer(quizSession, question, false, 10_000L);
+        sessionService.recordAnswer(quizSession, question, true, 10_000L);
+        sessionService.recordAnswer(quizSession, question, true, 10_000L);
+
+        RecentOutcomes recent = sessionService.recentOutcomes(quizSession, 3);
+
+        assertEquals(3, recent.answered());
+        assertEquals(2, recent.correct());
+        assertEquals(2, recent.currentStreak());
+        verifyNoInteractions(userResponseRepository);
+    }
+
+    @Test
+    void testRecentOutcomes_SessionLoadedWithAnswers_SeedsOnce() {
+        quizSession.setTotalQuestions(2);
+        when(quizSessionRepository.findById(1L)).thenReturn(Optional.of(quizSession));
+        when(userResponseRepository.findRecentCorrectness(eq(1L), any())).thenReturn(List.of(true, false));
+        when(userResponseRepository.countByResponseTime(1L)).thenReturn(List.of(
+                new ResponseTimeCountDTO(4, 1L), new ResponseTimeCountDTO(9, 1L)));
+        sessionService.validateAndUpdateSession(1L);
+
+        RecentOutcomes first = sessionService.recentOutcomes(quizSession, 3);
+        RecentOutcomes second = sessionService.recentOutcomes(quizSession, 3);
+        LatencyHistogram responseTimes = sessionService.responseTimes(quizSession);
+
+        assertEquals(2, first.answered());
+        assertEquals(1, first.currentStreak());
+        assertEquals(first, second);
+        assertEquals(2, responseTimes.count());
+        assertEquals(9_000, responseTimes.percentile(100), 9_000 / 16.0);
+        verify(userResponseRepository, times(1)).findRecentCorrectness(eq(1L), any());
+        verify(userResponseRepository, times(1)).countByResponseTime(1L);
+    }
+
+    @Test
+    void testResponseTimeMillis_MeasuredFromQuestionAssignment() throws InterruptedException {
+        sessionStore.put(quizSession);
+        assertNull(sessionService.responseTimeMillis(quizSession));
+
+        sessionService.assignQuestion(quizSession, 7L);
+        Thread.sleep(20);
+
+        assertTrue(sessionService.responseTimeMillis(quizSession) >= 20);
+    }
+
+    @Test
+    void testAssignQuestion_WritesCurrentQuestion() {
+        sessionStore.put(quizSession);
+
+        sessionService.assignQuestion(quizSession, 7L);
+
+        assertEquals(7L, quizSession.getCurrentQuestionId());
+        verify(quizSessionRepository, times(1)).updateCurrentQuestion(1L, 7L);
+    }
+
+    @Test
+    void testFlushAccessTimes_OnlyWritesStaleSessions() {
+        ReflectionTestUtils.setField(sessionService, "accessPersistSeconds", 60L);
+        quizSession.setLastAccessTime(LocalDateTime.now().minusMinutes(5));
+        QuizSession fresh = new QuizSession();
+        fresh.setId(2L);
+        fresh.setLastAccessTime(LocalDateTime.now());
+        fresh.setActive(true);
+        sessionStore.put(quizSession);
+        sessionStore.put(fresh);
+
+        sessionService.validateAndUpdateSession(1L);
+        sessionService.validateAndUpdateSession(2L);
+        sessionService.flushAccessTimes();
+        sessionService.flushAccessTimes();
+
+        verify(quizSessionRepository, times(1)).updateLastAccessTime(eq(1L), any(LocalDateTime.class));
+        verify(quizSessionRepository, never()).updateLastAccessTime(eq(2L), any(LocalDateTime.class));
     }
 
     @Test
@@ -116,4 +324,40 @@ class SessionServiceImplTest {
         sessionService.saveSession(quizSession);
         verify(quizSessionRepository, times(1)).save(quizSession);
     }
+
+    @Test
+    void testRecordAnswers_UpdatesCountersOncePerBatch() {
+        sessionStore.put(quizSession);
+        QuestionSnapshot hard = new QuestionSnapshot(5L, "Q", "A", "B", "C", "D", "A",
+                Difficulty.HARD, Category.HISTORY, 20);
+        QuestionSnapshot easy = new QuestionSnapshot(6L, "Q", "A", "B", "C", "D", "A",
+                Difficulty.EASY, Category.HISTORY, 20);
+
+        sessionService.recordAnswers(quizSession, List.of(
+                new RecordedAnswer(hard, true, 15_000L),
+                new RecordedAnswer(hard, false, 25_000L),
+                new RecordedAnswer(easy, true, null)));
+
+        assertEquals(3, quizSession.getTotalQuestions());
+        assertEquals(2, quizSession.getCorrectAnswers());
+        verify(quizSessionRepository, times(1)).addToCounters(1L, 3, 2);
+        verify(quizSessionRepository, never()).incrementCounters(anyLong(), anyInt());
+        verify(sessionAggregateRepository, times(1)).recordAnswers(1L, "HISTORY", "HARD", 2, 1, 2, 40_000L, 1);
+        verify(sessionAggregateRepository, times(1)).recordAnswers(1L, "HISTORY", "EASY", 1, 1, 0, 0L, 0);
+        verify(globalCounterService, times(1)).answersRecorded(3);
+        assertEquals(2, sessionService.responseTimes(quizSession).count());
+        assertEquals(2, sessionService.recentOutcomes(quizSession, 3).correct());
+    }
+
+    @Test
+    void testClaimReservedQuestion_OnlyOncePerReservation() {
+        sessionStore.put(quizSession);
+        sessionService.reserveQuestions(quizSession, List.of(5L, 6L));
+
+        assertNotNull(sessionService.claimReservedQuestion(quizSession, 5L));
+        assertNull(sessionService.claimReservedQuestion(quizSession, 5L));
+        assertNull(sessionService.claimReservedQuestion(quizSession, 7L));
+        assertNotNull(sessionService.claimReservedQuestion(quizSession, 6L));
+        verify(quizSessionRepository, never()).updateSeenQuestions(anyLong(), any());
+    }
 }
@@ -0,0 +1,114 @@
+package com.example.quizapp.service;
+
+import com.example.quizapp.cache.SessionStore;
+import com.example.quizapp.dto.QuizDashboardDTO;
+import com.example.quizapp.repository.SessionAggregateRepository;
+import com.example.quizapp.service.interfaces.AnswerService;
+import com.example.quizapp.service.interfaces.QuestionService;
+import com.example.quizapp.service.interfaces.SessionService;
+import com.example.quizapp.service.interfaces.StatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements behind the statistics endpoints against a real H2 database,
+ * so a change that reintroduces per-answer loading shows up as a failure.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statsquerycount",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "quiz.counters.reconcile-ms=3600000"
+})
+class StatisticsQueryCountTest {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private SessionStore sessionStore;
+
+    @Autowired
+    private SessionAggregateRepository sessionAggregateRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long sessionId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        sessionId = sessionService.startNewSession().getSessionId();
+        for (int i = 0; i < 4; i++) {
+            questionService.getNextQuestion(sessionId);
+            answerService.submitAnswer(sessionId, "B");
+        }
+        statistics.clear();
+    }
+
+    @Test
+    void testGetDashboard_IssuesFixedNumberOfStatements() {
+        QuizDashboardDTO dashboard = statisticsService.getDashboard(sessionId);
+
+        assertEquals(4, dashboard.getQuestionsAttempted());
+        // Only the summary rows; recent performance comes from the session's ring buffer
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testGetDashboard_ColdSession_LoadsSessionAndSeedsRecentOutcomes() {
+        sessionStore.evict(sessionId);
+
+        QuizDashboardDTO dashboard = statisticsService.getDashboard(sessionId);
+        assertEquals(3, dashboard.getRecentWindow());
+
+        // Session lookup, summary rows and the one-off ring and histogram seeds
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+
+        statistics.clear();
+        statisticsService.getDashboard(sessionId);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetDashboard_MissingSummaryRows_GroupsResponsesInSql() {
+        QuizDashboardDTO expected = statisticsService.getDashboard(sessionId);
+        sessionAggregateRepository.deleteAll();
+        statistics.clear();
+
+        QuizDashboardDTO dashboard = statisticsService.getDashboard(sessionId);
+
+        assertEquals(expected.getCategoryAccuracy(), dashboard.getCategoryAccuracy());
+        assertEquals(expected.getBestDifficulty(), dashboard.getBestDifficulty());
+        assertEquals(expected.getQuestionsAnsweredInTime(), dashboard.getQuestionsAnsweredInTime());
+        // Summary rows, GROUP BY category and GROUP BY difficulty
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testGetSessionStats_IssuesNoStatements() {
+        assertEquals(4, statisticsService.getSessionStats(sessionId).getTotalQuestions());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
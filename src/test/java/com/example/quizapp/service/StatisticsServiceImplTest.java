@@ -1,31 +1,42 @@
 package com.example.quizapp.service;
 
+import com.example.quizapp.cache.CachedSession;
+import com.example.quizapp.cache.LatencyHistogram;
+import com.example.quizapp.cache.OutcomeRing;
+import com.example.quizapp.cache.RecentOutcomes;
+import com.example.quizapp.cache.SessionStore;
+import com.example.quizapp.dto.AnswerAggregateDTO;
 import com.example.quizapp.dto.QuizDashboardDTO;
 import com.example.quizapp.dto.QuizStatsDTO;
+import com.example.quizapp.enums.AggregateDimension;
 import com.example.quizapp.enums.Category;
 import com.example.quizapp.enums.Difficulty;
-import com.example.quizapp.model.Question;
+import com.example.quizapp.exception.QuizException;
 import com.example.quizapp.model.QuizSession;
-import com.example.quizapp.model.UserResponse;
-import com.example.quizapp.repository.QuizSessionRepository;
+import com.example.quizapp.repository.SessionAggregateRepository;
 import com.example.quizapp.repository.UserResponseRepository;
 import com.example.quizapp.service.impl.StatisticsServiceImpl;
+import com.example.quizapp.service.interfaces.GlobalCounterService;
+import com.example.quizapp.service.interfaces.QuizMetricsService;
 import com.example.quizapp.service.interfaces.SessionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,19 +46,24 @@ class StatisticsServiceImplTest {
     private UserResponseRepository userResponseRepository;
 
     @Mock
-    private QuizSessionRepository quizSessionRepository;
+    private GlobalCounterService globalCounterService;
+
+    @Mock
+    private SessionAggregateRepository sessionAggregateRepository;
 
     @Mock
     private SessionService sessionService;
 
+    @Mock
+    private QuizMetricsService quizMetricsService;
+
+    @Spy
+    private SessionStore sessionStore = new SessionStore();
+
     @InjectMocks
     private StatisticsServiceImpl statisticsService;
 
     private QuizSession quizSession;
-    private Question question1;
-    private Question question2;
-    private UserResponse response1;
-    private UserResponse response2;
 
     @BeforeEach
     void setUp() {
@@ -56,43 +72,40 @@ class StatisticsServiceImplTest {
         quizSession.setStartTime(LocalDateTime.now());
         quizSession.setLastAccessTime(LocalDateTime.now());
         quizSession.setActive(true);
+        lenient().when(sessionService.getRecentCapacity()).thenReturn(50);
+        lenient().when(sessionService.responseTimes(any(QuizSession.class))).thenReturn(new LatencyHistogram());
+        lenient().when(globalCounterService.getResponseTimes(any(Category.class))).thenReturn(new LatencyHistogram());
+        lenient().when(globalCounterService.getResponseTimes(any(Difficulty.class))).thenReturn(new LatencyHistogram());
+    }
+
+    private static RecentOutcomes outcomes(int window, boolean... newestFirst) {
+        OutcomeRing ring = new OutcomeRing(50);
+        List<Boolean> list = new ArrayList<>();
+        for (boolean outcome : newestFirst) {
+            list.add(outcome);
+        }
+        ring.reset(list);
+        return ring.summarize(window);
+    }
+
+    private static AnswerAggregateDTO aggregate(AggregateDimension dimension, String bucket, int total, int correct,
+                                                int timed, long responseTimeMillisSum, int inTime) {
+        return new AnswerAggregateDTO(dimension, bucket, total, correct, timed, responseTimeMillisSum, inTime);
+    }
 
-        question1 = new Question();
-        question1.setId(1L);
-        question1.setCategory(Category.SCIENCE);
-        question1.setDifficulty(Difficulty.EASY);
-        question1.setTimeLimit(20);
-
-        question2 = new Question();
-        question2.setId(2L);
-        question2.setCategory(Category.SCIENCE);
-        question2.setDifficulty(Difficulty.MEDIUM);
-        question2.setTimeLimit(30);
-
-        response1 = new UserResponse();
-        response1.setId(1L);
-        response1.setQuizSession(quizSession);
-        response1.setQuestion(question1);
-        response1.setUserAnswer("B");
-        response1.setCorrect(true);
-        response1.setResponseTime(15);
-        response1.setAnsweredAt(LocalDateTime.now());
-
-        response2 = new UserResponse();
-        response2.setId(2L);
-        response2.setQuizSession(quizSession);
-        response2.setQuestion(question2);
-        response2.setUserAnswer("C");
-        response2.setCorrect(false);
-        response2.setResponseTime(25);
-        response2.setAnsweredAt(LocalDateTime.now());
+    // One correct EASY answer in 15s and one wrong MEDIUM answer in 25s, both SCIENCE
+    private List<AnswerAggregateDTO> twoAnswers() {
+        return List.of(
+                aggregate(AggregateDimension.CATEGORY, "SCIENCE", 2, 1, 2, 40_000, 2),
+                aggregate(AggregateDimension.DIFFICULTY, "EASY", 1, 1, 1, 15_000, 1),
+                aggregate(AggregateDimension.DIFFICULTY, "MEDIUM", 1, 0, 1, 25_000, 1));
     }
 
     @Test
     void testGetSessionStats_Success() {
-        List<UserResponse> responses = Arrays.asList(response1, response2);
+        quizSession.setTotalQuestions(2);
+        quizSession.setCorrectAnswers(1);
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
-        when(userResponseRepository.findByQuizSession(quizSession)).thenReturn(responses);
 
         QuizStatsDTO result = statisticsService.getSessionStats(1L);
 
@@ -102,13 +115,12 @@ class StatisticsServiceImplTest {
         assertEquals(1, result.getIncorrectAnswers());
         assertEquals(50.0, result.getAccuracyPercentage());
         verify(sessionService, times(1)).validateAndUpdateSession(1L);
-        verify(userResponseRepository, times(1)).findByQuizSession(quizSession);
+        verifyNoInteractions(userResponseRepository);
     }
 
     @Test
     void testGetSessionStats_NoResponses_ZeroAccuracy() {
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
-        when(userResponseRepository.findByQuizSession(quizSession)).thenReturn(Collections.emptyList());
 
         QuizStatsDTO result = statisticsService.getSessionStats(1L);
 
@@ -120,10 +132,9 @@ class StatisticsServiceImplTest {
 
     @Test
     void testGetSessionStats_AllCorrect_100PercentAccuracy() {
-        response2.setCorrect(true);
-        List<UserResponse> responses = Arrays.asList(response1, response2);
+        quizSession.setTotalQuestions(2);
+        quizSession.setCorrectAnswers(2);
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
-        when(userResponseRepository.findByQuizSession(quizSession)).thenReturn(responses);
 
         QuizStatsDTO result = statisticsService.getSessionStats(1L);
 
@@ -135,29 +146,93 @@ class StatisticsServiceImplTest {
 
     @Test
     void testGetDashboard_Success() {
-        List<UserResponse> responses = Arrays.asList(response1, response2);
+        quizSession.setTotalQuestions(2);
+        quizSession.setCorrectAnswers(1);
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
-        when(userResponseRepository.findByQuizSession(quizSession)).thenReturn(responses);
-        when(quizSessionRepository.count()).thenReturn(5L);
+        when(sessionAggregateRepository.findBySessionId(1L)).thenReturn(twoAnswers());
+        when(sessionService.recentOutcomes(quizSession, 3)).thenReturn(outcomes(3, false, true));
+        when(globalCounterService.getTotalSessions()).thenReturn(5L);
 
         QuizDashboardDTO result = statisticsService.getDashboard(1L);
 
         assertNotNull(result);
         assertEquals(5L, result.getTotalSessions());
         assertEquals(2, result.getQuestionsAttempted());
-        assertNotNull(result.getCategoryAccuracy());
-        assertNotNull(result.getBestCategory());
-        assertNotNull(result.getBestDifficulty());
+        assertEquals(50.0, result.getOverallAccuracy());
+        assertEquals(50.0, result.getCategoryAccuracy().get("SCIENCE"));
+        assertEquals("SCIENCE", result.getBestCategory());
+        assertEquals("EASY", result.getBestDifficulty());
+        assertEquals(20.0, result.getAverageResponseTime());
+        assertEquals(2, result.getQuestionsAnsweredInTime());
+        assertEquals(2, result.getTotalQuestionsWithTimer());
         verify(sessionService, times(1)).validateAndUpdateSession(1L);
-        verify(userResponseRepository, times(1)).findByQuizSession(quizSession);
-        verify(quizSessionRepository, times(1)).count();
+        verify(sessionAggregateRepository, times(1)).findBySessionId(1L);
+        verify(globalCounterService, times(1)).getTotalSessions();
+        verify(userResponseRepository, never()).findByQuizSession(any(QuizSession.class));
+        verifyNoInteractions(userResponseRepository);
+    }
+
+    @Test
+    void testGetSessionStats_CachedSession_ReusedUntilVersionChanges() {
+        CachedSession cached = sessionStore.put(quizSession);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+
+        QuizStatsDTO first = statisticsService.getSessionStats(1L);
+        QuizStatsDTO second = statisticsService.getSessionStats(1L);
+        cached.recordAnswer(true, null);
+        QuizStatsDTO afterAnswer = statisticsService.getSessionStats(1L);
+
+        assertSame(first, second);
+        assertNotSame(first, afterAnswer);
+        assertEquals(0, first.getTotalQuestions());
+        assertEquals(1, afterAnswer.getTotalQuestions());
+        assertEquals(1L, statisticsService.getVersion(quizSession));
+    }
+
+    @Test
+    void testGetDashboard_CachedSession_ReusedUntilVersionChanges() {
+        CachedSession cached = sessionStore.put(quizSession);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionAggregateRepository.findBySessionId(1L)).thenReturn(Collections.emptyList());
+        when(sessionService.recentOutcomes(eq(quizSession), anyInt())).thenReturn(outcomes(3));
+
+        QuizDashboardDTO first = statisticsService.getDashboard(1L, null);
+        QuizDashboardDTO second = statisticsService.getDashboard(1L, null);
+        QuizDashboardDTO otherWindow = statisticsService.getDashboard(1L, 5);
+        cached.recordAnswer(false, null);
+        QuizDashboardDTO afterAnswer = statisticsService.getDashboard(1L, 5);
+
+        assertSame(first, second);
+        assertNotSame(first, otherWindow);
+        assertNotSame(otherWindow, afterAnswer);
+        verify(sessionAggregateRepository, times(3)).findBySessionId(1L);
+        verify(quizMetricsService, times(4)).dashboardServed(anyLong());
+    }
+
+    @Test
+    void testGetDashboard_SummaryRowsIncomplete_GroupsResponsesInSql() {
+        quizSession.setTotalQuestions(2);
+        quizSession.setCorrectAnswers(1);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionAggregateRepository.findBySessionId(1L)).thenReturn(Collections.emptyList());
+        when(userResponseRepository.aggregateByCategory(1L)).thenReturn(twoAnswers().subList(0, 1));
+        when(userResponseRepository.aggregateByDifficulty(1L)).thenReturn(twoAnswers().subList(1, 3));
+        when(sessionService.recentOutcomes(quizSession, 3)).thenReturn(outcomes(3, false, true));
+
+        QuizDashboardDTO result = statisticsService.getDashboard(1L);
+
+        assertEquals("SCIENCE", result.getBestCategory());
+        assertEquals("EASY", result.getBestDifficulty());
+        assertEquals(20.0, result.getAverageResponseTime());
+        verify(userResponseRepository, never()).findByQuizSession(any(QuizSession.class));
     }
 
     @Test
     void testGetDashboard_EmptyResponses() {
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
-        when(userResponseRepository.findByQuizSession(quizSession)).thenReturn(Collections.emptyList());
-        when(quizSessionRepository.count()).thenReturn(5L);
+        when(sessionAggregateRepository.findBySessionId(1L)).thenReturn(Collections.emptyList());
+        when(sessionService.recentOutcomes(quizSession, 3)).thenReturn(outcomes(3));
+        when(globalCounterService.getTotalSessions()).thenReturn(5L);
 
         QuizDashboardDTO result = statisticsService.getDashboard(1L);
 
@@ -170,35 +245,114 @@ class StatisticsServiceImplTest {
 
     @Test
     void testGetDashboard_RecentPerformance_GoodStart() {
-        UserResponse response3 = new UserResponse();
-        response3.setId(3L);
-        response3.setQuizSession(quizSession);
-        response3.setQuestion(question1);
-        response3.setUserAnswer("B");
-        response3.setCorrect(true);
-        response3.setResponseTime(18);
-        response3.setAnsweredAt(LocalDateTime.now());
-        
-        List<UserResponse> responses = Arrays.asList(response1, response2, response3);
+        quizSession.setTotalQuestions(3);
+        quizSession.setCorrectAnswers(3);
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
-        when(userResponseRepository.findByQuizSession(quizSession)).thenReturn(responses);
-        when(quizSessionRepository.count()).thenReturn(5L);
+        when(sessionAggregateRepository.findBySessionId(1L)).thenReturn(twoAnswers());
+        when(sessionService.recentOutcomes(quizSession, 3)).thenReturn(outcomes(3, true, true, true));
+        when(globalCounterService.getTotalSessions()).thenReturn(5L);
 
         QuizDashboardDTO result = statisticsService.getDashboard(1L);
 
         assertNotNull(result);
-        assertNotNull(result.getRecentPerformance());
+        assertEquals("Good Start!", result.getRecentPerformance());
+        assertEquals(3, result.getCurrentStreak());
+        assertEquals(100.0, result.getRecentAccuracy());
+    }
+
+    @Test
+    void testGetDashboard_CustomWindow_UsesLatestAnswers() {
+        quizSession.setTotalQuestions(6);
+        quizSession.setCorrectAnswers(3);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionAggregateRepository.findBySessionId(1L)).thenReturn(Collections.emptyList());
+        // Newest first: the session started badly and has recovered
+        when(sessionService.recentOutcomes(quizSession, 4))
+                .thenReturn(outcomes(4, true, true, false, false, false, true));
+
+        QuizDashboardDTO result = statisticsService.getDashboard(1L, 4);
+
+        assertEquals(4, result.getRecentWindow());
+        assertEquals(50.0, result.getRecentAccuracy());
+        assertEquals(2, result.getCurrentStreak());
+        assertEquals(100.0, result.getRecentTrend());
+        assertEquals("Keep Practicing", result.getRecentPerformance());
+    }
+
+    @Test
+    void testGetDashboard_WindowAboveCapacity_IsCapped() {
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionAggregateRepository.findBySessionId(1L)).thenReturn(Collections.emptyList());
+        when(sessionService.recentOutcomes(quizSession, 50)).thenReturn(outcomes(50));
+
+        QuizDashboardDTO result = statisticsService.getDashboard(1L, 500);
+
+        assertEquals(50, result.getRecentWindow());
+    }
+
+    @Test
+    void testGetDashboard_InvalidWindow_ThrowsException() {
+        assertThrows(QuizException.class, () -> statisticsService.getDashboard(1L, 0));
+        verify(sessionService, never()).validateAndUpdateSession(anyLong());
     }
 
     @Test
     void testGetDashboard_RecentPerformance_NotEnoughData() {
+        quizSession.setTotalQuestions(1);
         when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
-        when(userResponseRepository.findByQuizSession(quizSession)).thenReturn(Collections.singletonList(response1));
-        when(quizSessionRepository.count()).thenReturn(5L);
+        when(sessionAggregateRepository.findBySessionId(1L)).thenReturn(Collections.emptyList());
+        when(sessionService.recentOutcomes(quizSession, 3)).thenReturn(outcomes(3, true));
+        when(globalCounterService.getTotalSessions()).thenReturn(5L);
 
         QuizDashboardDTO result = statisticsService.getDashboard(1L);
 
         assertNotNull(result);
         assertEquals("Not enough data (need 3 questions)", result.getRecentPerformance());
+        verify(sessionService, times(1)).recentOutcomes(quizSession, 3);
+    }
+
+    @Test
+    void testGetDashboard_AnswersWithoutMeasuredTime_ExcludedFromTimeStats() {
+        quizSession.setTotalQuestions(3);
+        quizSession.setCorrectAnswers(1);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionAggregateRepository.findBySessionId(1L)).thenReturn(List.of(
+                aggregate(AggregateDimension.CATEGORY, "SCIENCE", 3, 1, 2, 30_000, 1),
+                aggregate(AggregateDimension.DIFFICULTY, "EASY", 3, 1, 2, 30_000, 1)));
+        when(sessionService.recentOutcomes(quizSession, 3)).thenReturn(outcomes(3, false, true, false));
+
+        QuizDashboardDTO result = statisticsService.getDashboard(1L);
+
+        assertEquals(15.0, result.getAverageResponseTime());
+        assertEquals(1, result.getQuestionsAnsweredInTime());
+        assertEquals(2, result.getTotalQuestionsWithTimer());
+    }
+
+    @Test
+    void testGetDashboard_ReportsSessionAndGlobalLatencyPercentiles() {
+        LatencyHistogram session = new LatencyHistogram();
+        for (long millis = 1_000; millis <= 100_000; millis += 1_000) {
+            session.record(millis);
+        }
+        LatencyHistogram science = new LatencyHistogram();
+        science.record(8_000);
+        quizSession.setTotalQuestions(100);
+        when(sessionService.validateAndUpdateSession(1L)).thenReturn(quizSession);
+        when(sessionAggregateRepository.findBySessionId(1L)).thenReturn(Collections.emptyList());
+        when(sessionService.recentOutcomes(quizSession, 3)).thenReturn(outcomes(3));
+        when(sessionService.responseTimes(quizSession)).thenReturn(session);
+        when(globalCounterService.getResponseTimes(Category.SCIENCE)).thenReturn(science);
+
+        QuizDashboardDTO result = statisticsService.getDashboard(1L);
+
+        // Reported values are bucket upper bounds, at most 1/16 above the true percentile
+        assertEquals(100, result.getResponseTimePercentiles().getCount());
+        assertEquals(50_000, result.getResponseTimePercentiles().getP50(), 50_000 / 16.0);
+        assertEquals(90_000, result.getResponseTimePercentiles().getP90(), 90_000 / 16.0);
+        assertEquals(99_000, result.getResponseTimePercentiles().getP99(), 99_000 / 16.0);
+        assertTrue(result.getResponseTimePercentiles().getP50() >= 50_000);
+        assertEquals(1, result.getCategoryResponseTimes().size());
+        assertEquals(1, result.getCategoryResponseTimes().get("SCIENCE").getCount());
+        assertTrue(result.getDifficultyResponseTimes().isEmpty());
     }
 }
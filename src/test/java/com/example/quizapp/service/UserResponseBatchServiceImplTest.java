@@ -0,0 +1,166 @@
+package com.example.quizapp.service;
+
+import com.example.quizapp.exception.QuizException;
+import com.example.quizapp.model.UserResponse;
+import com.example.quizapp.repository.UserResponseRepository;
+import com.example.quizapp.service.impl.UserResponseBatchServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserResponseBatchServiceImplTest {
+
+    @Mock
+    private UserResponseRepository userResponseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserResponseBatchServiceImpl batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new UserResponseBatchServiceImpl(userResponseRepository, transactionManager);
+        ReflectionTestUtils.setField(batchService, "maxBatchSize", 10);
+        ReflectionTestUtils.setField(batchService, "lingerMillis", 50L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.stop();
+    }
+
+    @Test
+    void testSave_ConcurrentSubmissionsShareOneBatch() throws Exception {
+        when(userResponseRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        batchService.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        CountDownLatch ready = new CountDownLatch(10);
+        List<Future<UserResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                ready.await();
+                return batchService.save(new UserResponse());
+            }));
+        }
+        for (Future<UserResponse> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(10, batchService.getWrittenCount());
+        assertTrue(batchService.getFlushCount() < 10);
+        assertTrue(batchService.getAverageBatchSize() > 1.0);
+        verify(transactionManager, atLeastOnce()).commit(any());
+    }
+
+    @Test
+    void testSave_FailedBatchPropagatesToCaller() {
+        when(userResponseRepository.saveAll(anyList())).thenThrow(new RuntimeException("Database error"));
+        when(userResponseRepository.save(any())).thenThrow(new RuntimeException("Database error"));
+        batchService.start();
+
+        assertThrows(QuizException.class, () -> batchService.save(new UserResponse()));
+        assertEquals(0, batchService.getWrittenCount());
+        assertEquals(1, batchService.getFlushCount());
+    }
+
+    @Test
+    void testSave_FailedBatchFailsOnlyTheOffendingResponse() throws Exception {
+        UserResponse bad = new UserResponse();
+        when(userResponseRepository.saveAll(anyList())).thenThrow(new RuntimeException("Constraint violation"));
+        when(userResponseRepository.save(any())).thenAnswer(invocation -> {
+            UserResponse response = invocation.getArgument(0);
+            if (response == bad) {
+                throw new RuntimeException("Constraint violation");
+            }
+            return response;
+        });
+        batchService.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        CountDownLatch ready = new CountDownLatch(3);
+        List<Future<UserResponse>> results = new ArrayList<>();
+        for (UserResponse response : List.of(new UserResponse(), bad, new UserResponse())) {
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                ready.await();
+                return batchService.save(response);
+            }));
+        }
+        int failed = 0;
+        for (Future<UserResponse> result : results) {
+            try {
+                assertNotNull(result.get(5, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                assertInstanceOf(QuizException.class, e.getCause());
+                failed++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, failed);
+        assertEquals(2, batchService.getWrittenCount());
+    }
+
+    @Test
+    void testSave_TimedOutResponseIsWithdrawnWhileQueued() throws Exception {
+        ReflectionTestUtils.setField(batchService, "maxBatchSize", 1);
+        ReflectionTestUtils.setField(batchService, "timeoutMillis", 300L);
+        CountDownLatch writing = new CountDownLatch(1);
+        when(userResponseRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            Thread.sleep(450);
+            return invocation.getArgument(0);
+        });
+        batchService.start();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<UserResponse> first = executor.submit(() -> batchService.save(new UserResponse()));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // Still queued behind the slow write when its caller gives up
+        assertThrows(QuizException.class, () -> batchService.save(new UserResponse()));
+        // Already being written, so its caller waits past the timeout for the commit
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        batchService.stop();
+
+        verify(userResponseRepository, times(1)).saveAll(anyList());
+        assertEquals(1, batchService.getWrittenCount());
+    }
+
+    @Test
+    void testSave_Disabled_SavesDirectly() {
+        ReflectionTestUtils.setField(batchService, "enabled", false);
+        UserResponse response = new UserResponse();
+        when(userResponseRepository.save(response)).thenReturn(response);
+        batchService.start();
+
+        assertSame(response, batchService.save(response));
+        verify(userResponseRepository, never()).saveAll(anyList());
+        verifyNoInteractions(transactionManager);
+    }
+}
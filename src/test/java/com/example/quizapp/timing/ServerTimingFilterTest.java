@@ -0,0 +1,79 @@
+package com.example.quizapp.timing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter(500);
+
+    @Test
+    void testDoFilter_AddsServerTimingHeaderAndKeepsBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quiz/stats");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            RequestTiming.current().serializationStarted();
+            res.getOutputStream().write("{\"ok\":true}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        String header = response.getHeader(RequestTiming.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("db;dur=0.000;desc=\"0 statements\", app;dur="), header);
+        assertTrue(header.contains(", ser;dur="), header);
+        assertTrue(header.contains(", total;dur="), header);
+        assertEquals("{\"ok\":true}", response.getContentAsString());
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void testDoFilter_CountsStatementsRunThroughTimingDataSource() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        TimingDataSource timingDataSource = new TimingDataSource(dataSource);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/quiz/dashboard"), response, (req, res) -> {
+            try (Connection timed = timingDataSource.getConnection();
+                 PreparedStatement first = timed.prepareStatement("SELECT 1");
+                 PreparedStatement second = timed.prepareStatement("SELECT 2")) {
+                first.executeQuery();
+                second.executeQuery();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(response.getHeader(RequestTiming.HEADER).contains("desc=\"2 statements\""));
+        verify(statement, times(2)).executeQuery();
+    }
+
+    @Test
+    void testTimingDataSource_OutsideRequest_DoesNotRecord() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        try (Connection timed = new TimingDataSource(dataSource).getConnection()) {
+            timed.prepareStatement("SELECT 1").executeQuery();
+        }
+
+        assertNull(RequestTiming.current());
+        verify(statement).executeQuery();
+        verify(connection).close();
+    }
+}